@@ -0,0 +1,35 @@
+package org.tao.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.tao.config.SignatureAutoConfiguration;
+
+/**
+ * 基准测试使用的非 Web Spring Boot 上下文，加载 signature-kit 的自动配置与 BenchmarkController
+ * <p>
+ * 打包为单个 jar 后各依赖的 spring.factories 会相互覆盖，因此显式导入 SignatureAutoConfiguration
+ */
+@SpringBootApplication
+@Import(SignatureAutoConfiguration.class)
+public class BenchmarkApplication {
+
+    public static final String SERVICE_CODE = "bench";
+    public static final String SECRET_KEY = "bench-secret-key";
+    public static final String CUSTOM_RETURN_TYPE = "custom";
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        String[] properties = new String[extraProperties.length + 4];
+        properties[0] = "signature.secret-keys." + SERVICE_CODE + "=" + SECRET_KEY;
+        properties[1] = "signature.return-jsons." + CUSTOM_RETURN_TYPE + "={\"success\":false,\"errCode\":\"SIGN_ERROR\",\"errMsg\":\"${message}\",\"data\":null}";
+        properties[2] = "logging.level.org.tao=OFF";
+        properties[3] = "spring.main.banner-mode=off";
+        System.arraycopy(extraProperties, 0, properties, 4, extraProperties.length);
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,36 @@
+package org.tao.benchmark;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+
+import java.util.Map;
+
+@RestController
+public class BenchmarkController {
+
+    @PostMapping("/small")
+    @SignatureChecker(serviceCode = BenchmarkApplication.SERVICE_CODE)
+    public String small(@SignatureParam SmallRequest request) {
+        return "ok";
+    }
+
+    @PostMapping("/large")
+    @SignatureChecker(serviceCode = BenchmarkApplication.SERVICE_CODE)
+    public String large(@SignatureParam LargeRequest request) {
+        return "ok";
+    }
+
+    @PostMapping("/map")
+    @SignatureChecker(serviceCode = BenchmarkApplication.SERVICE_CODE)
+    public String map(@SignatureParam Map<String, Object> request) {
+        return "ok";
+    }
+
+    @PostMapping("/custom")
+    @SignatureChecker(serviceCode = BenchmarkApplication.SERVICE_CODE, returnType = BenchmarkApplication.CUSTOM_RETURN_TYPE)
+    public String custom(@SignatureParam SmallRequest request) {
+        return "ok";
+    }
+}
@@ -0,0 +1,55 @@
+package org.tao.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.utils.SignatureUtil;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端生成 requestId、时间戳与签名，对比 UUID + 字符串拼接的手写方式
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ClientSignerBenchmark {
+
+    private ClientSigner signer;
+
+    @Setup
+    public void setup() {
+        signer = new ClientSigner(BenchmarkApplication.SERVICE_CODE, BenchmarkApplication.SECRET_KEY);
+    }
+
+    @Benchmark
+    public SignedFields sign() {
+        return signer.sign();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SignedFields signContended() {
+        return signer.sign();
+    }
+
+    @Benchmark
+    public String signLegacy() {
+        String requestId = UUID.randomUUID().toString();
+        return SignatureUtil.generateSignature(requestId, String.valueOf(System.currentTimeMillis()), BenchmarkApplication.SECRET_KEY);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String signLegacyContended() {
+        return signLegacy();
+    }
+}
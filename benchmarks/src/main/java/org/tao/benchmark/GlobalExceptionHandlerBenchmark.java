@@ -0,0 +1,60 @@
+package org.tao.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.tao.consts.SignatureConst;
+import org.tao.exception.GlobalExceptionHandler;
+import org.tao.exception.SignatureValidationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验签失败时的拒绝响应构建，对比默认返回与 returnJsons 自定义返回
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private GlobalExceptionHandler handler;
+    private SignatureValidationException defaultException;
+    private SignatureValidationException customException;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start();
+        handler = context.getBean(GlobalExceptionHandler.class);
+        defaultException = new SignatureValidationException(SignatureConst.DEFAULT_RETURN_TYPE, "签名校验不通过！");
+        customException = new SignatureValidationException(BenchmarkApplication.CUSTOM_RETURN_TYPE, "签名校验不通过！");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object defaultReturn() {
+        return handler.handleSignatureValidationException(defaultException);
+    }
+
+    @Benchmark
+    public Object customReturn() {
+        return handler.handleSignatureValidationException(customException);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object customReturnContended() {
+        return handler.handleSignatureValidationException(customException);
+    }
+}
@@ -0,0 +1,96 @@
+package org.tao.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SignatureDigest;
+import org.tao.algorithm.SignatureKey;
+import org.tao.algorithm.VerifiedSignatureCache;
+import org.tao.utils.SignatureUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 公钥验签：线程复用 Signature 与每次 getInstance 的对比，以及验签缓存命中时的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PublicKeyVerifyBenchmark {
+
+    private static final String REQUEST_ID = "6f1c2a9e0b7d4e3f8a5b1c2d3e4f5a6b";
+    private static final long TIMESTAMP = 1743217200000L;
+
+    @Param({"ED25519", "ECDSA-SHA256", "RSA-SHA256"})
+    private String algorithm;
+
+    private String jcaName;
+    private PublicKey publicKey;
+    private SignatureKey key;
+    private VerifiedSignatureCache cache;
+    private String signature;
+    private byte[] signatureBytes;
+    private byte[] message;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator;
+        if ("ED25519".equals(algorithm)) {
+            jcaName = "Ed25519";
+            generator = KeyPairGenerator.getInstance("Ed25519");
+        } else if ("ECDSA-SHA256".equals(algorithm)) {
+            jcaName = "SHA256withECDSA";
+            generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(256);
+        } else {
+            jcaName = "SHA256withRSA";
+            generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+        }
+        KeyPair keyPair = generator.generateKeyPair();
+        publicKey = keyPair.getPublic();
+        message = (REQUEST_ID + TIMESTAMP).getBytes(StandardCharsets.UTF_8);
+        Signature signer = Signature.getInstance(jcaName);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(message);
+        signatureBytes = signer.sign();
+        signature = Base64.getEncoder().encodeToString(signatureBytes);
+
+        String pem = Base64.getEncoder().encodeToString(publicKey.getEncoded());
+        key = SignatureAlgorithms.get(algorithm).createKey(pem);
+        cache = new VerifiedSignatureCache(1024);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return SignatureUtil.verifySignature(key, REQUEST_ID, TIMESTAMP, signature);
+    }
+
+    @Benchmark
+    public boolean verifyCached() {
+        SignatureDigest digest = key.digest(cache);
+        digest.update(REQUEST_ID);
+        digest.update(TIMESTAMP);
+        return digest.verify(signature);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() throws Exception {
+        Signature verifier = Signature.getInstance(jcaName);
+        verifier.initVerify(publicKey);
+        verifier.update(message);
+        return verifier.verify(Base64.getDecoder().decode(signature));
+    }
+}
@@ -0,0 +1,104 @@
+package org.tao.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.tao.aspect.SignatureAspect;
+import org.tao.utils.SignatureUtil;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SignatureAspect.validateSignature 完整校验流程（签名通过），对比小 DTO、大 DTO 与 Map 参数
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SignatureAspectBenchmark {
+
+    // 大 DTO 的明细条数
+    @Param({"500"})
+    public int largeItems;
+
+    private ConfigurableApplicationContext context;
+    private SignatureAspect aspect;
+    private StubJoinPoint smallJoinPoint;
+    private StubJoinPoint largeJoinPoint;
+    private StubJoinPoint mapJoinPoint;
+
+    @Setup
+    public void setup() throws Exception {
+        context = BenchmarkApplication.start("signature.expire-minutes=600");
+        aspect = context.getBean(SignatureAspect.class);
+        BenchmarkController controller = new BenchmarkController();
+        long timestamp = System.currentTimeMillis();
+
+        SmallRequest small = new SmallRequest();
+        sign(small, "small-request-id", timestamp);
+        smallJoinPoint = joinPoint(controller, "small", SmallRequest.class, small);
+
+        LargeRequest large = LargeRequest.create(largeItems);
+        sign(large, "large-request-id", timestamp);
+        largeJoinPoint = joinPoint(controller, "large", LargeRequest.class, large);
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("requestId", "map-request-id");
+        map.put("timestamp", timestamp);
+        map.put("signature", SignatureUtil.generateSignature("map-request-id", String.valueOf(timestamp), BenchmarkApplication.SECRET_KEY));
+        mapJoinPoint = joinPoint(controller, "map", Map.class, map);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void sign(SmallRequest request, String requestId, long timestamp) {
+        request.setRequestId(requestId);
+        request.setTimestamp(timestamp);
+        request.setSignature(SignatureUtil.generateSignature(requestId, String.valueOf(timestamp), BenchmarkApplication.SECRET_KEY));
+    }
+
+    private static StubJoinPoint joinPoint(Object target, String name, Class<?> type, Object arg) throws NoSuchMethodException {
+        Method method = BenchmarkController.class.getMethod(name, type);
+        return new StubJoinPoint(target, method, arg);
+    }
+
+    @Benchmark
+    public Object smallDto() throws Throwable {
+        return aspect.validateSignature(smallJoinPoint);
+    }
+
+    @Benchmark
+    public Object largeDto() throws Throwable {
+        return aspect.validateSignature(largeJoinPoint);
+    }
+
+    @Benchmark
+    public Object mapParam() throws Throwable {
+        return aspect.validateSignature(mapJoinPoint);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object smallDtoContended() throws Throwable {
+        return aspect.validateSignature(smallJoinPoint);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object largeDtoContended() throws Throwable {
+        return aspect.validateSignature(largeJoinPoint);
+    }
+}
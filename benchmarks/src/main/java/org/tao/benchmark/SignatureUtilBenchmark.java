@@ -0,0 +1,102 @@
+package org.tao.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SigningKey;
+import org.tao.utils.SignatureUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SignatureUtil 生成与校验签名，requestId 长度模拟不同大小的签名输入；
+ * 字符串拼接的旧接口固定使用 MD5，只按签名输入长度运行
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SignatureUtilBenchmark {
+
+    @Benchmark
+    public boolean verify(KeyState state) {
+        return SignatureUtil.verifySignature(state.key, state.requestId, state.timestamp, state.signature);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean verifyContended(KeyState state) {
+        return SignatureUtil.verifySignature(state.key, state.requestId, state.timestamp, state.signature);
+    }
+
+    @Benchmark
+    public String generate(KeyState state) {
+        return SignatureUtil.generateSignature(state.key, state.requestId, state.timestamp);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy(LegacyState state) {
+        return SignatureUtil.verifySignature(state.requestId + state.timestamp, BenchmarkApplication.SECRET_KEY, state.signature);
+    }
+
+    @Benchmark
+    public String generateLegacy(LegacyState state) {
+        return SignatureUtil.generateSignature(state.requestId, state.timestampStr, BenchmarkApplication.SECRET_KEY);
+    }
+
+    private static String requestId(int payloadSize) {
+        StringBuilder builder = new StringBuilder(payloadSize);
+        for (int i = 0; i < payloadSize; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+
+    @State(Scope.Benchmark)
+    public static class KeyState {
+
+        @Param({"MD5", "HMAC-SHA256", "HMAC-SHA512"})
+        public String algorithm;
+
+        @Param({"32", "1024", "16384"})
+        public int payloadSize;
+
+        private SigningKey key;
+        private String requestId;
+        private long timestamp;
+        private String signature;
+
+        @Setup
+        public void setup() {
+            requestId = requestId(payloadSize);
+            timestamp = System.currentTimeMillis();
+            key = (SigningKey) SignatureAlgorithms.get(algorithm).createKey(BenchmarkApplication.SECRET_KEY);
+            signature = SignatureUtil.generateSignature(key, requestId, timestamp);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyState {
+
+        @Param({"32", "1024", "16384"})
+        public int payloadSize;
+
+        private String requestId;
+        private long timestamp;
+        private String timestampStr;
+        private String signature;
+
+        @Setup
+        public void setup() {
+            requestId = requestId(payloadSize);
+            timestamp = System.currentTimeMillis();
+            timestampStr = String.valueOf(timestamp);
+            signature = SignatureUtil.generateSignature(requestId, timestampStr, BenchmarkApplication.SECRET_KEY);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.tao.harness;
+
+/**
+ * 压测接口，对应 HarnessController 的三个 @SignatureChecker 方法
+ */
+public enum Endpoint {
+
+    SMALL("small", "/small"),
+    LARGE("large", "/large"),
+    CUSTOM("custom", "/custom");
+
+    private final String code;
+    private final String path;
+
+    Endpoint(String code, String path) {
+        this.code = code;
+        this.path = path;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,63 @@
+package org.tao.harness;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.tao.config.SignatureAutoConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测使用的内嵌 Tomcat 应用，监听随机端口
+ * <p>
+ * 关闭 signature-kit 时排除 SignatureAutoConfiguration，@SignatureChecker 注解不生效，用于得到同一接口不验签时的基线
+ */
+@SpringBootApplication
+public class HarnessApplication {
+
+    public static final String SERVICE_CODE = "harness";
+    public static final String SECRET_KEY = "harness-secret-key";
+    public static final String CUSTOM_RETURN_TYPE = "custom";
+
+    public static ConfigurableApplicationContext start(boolean kitEnabled, String... extraProperties) {
+        List<String> properties = new ArrayList<>();
+        properties.add("server.port=0");
+        properties.add("spring.main.banner-mode=off");
+        // 过期、伪造请求会持续触发验签失败日志，压测时关闭
+        properties.add("logging.level.org.tao=OFF");
+        properties.add("logging.level.org.springframework=WARN");
+        properties.add("signature.secret-keys." + SERVICE_CODE + "=" + SECRET_KEY);
+        properties.add("signature.return-jsons." + CUSTOM_RETURN_TYPE + "={\"success\":false,\"errCode\":\"SIGN_ERROR\",\"errMsg\":\"${message}\",\"data\":null}");
+        if (!kitEnabled) {
+            properties.add("spring.autoconfigure.exclude=" + SignatureAutoConfiguration.class.getName());
+        }
+        for (String property : extraProperties) {
+            properties.add(property);
+        }
+        return new SpringApplicationBuilder(HarnessApplication.class)
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    /**
+     * Tomcat 默认每条 keep-alive 连接处理 100 个请求后关闭，压测客户端会不断重建连接，这里取消该限制
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> keepAliveCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("maxKeepAliveRequests", "-1"));
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public static void stop(ConfigurableApplicationContext context) {
+        SpringApplication.exit(context);
+    }
+}
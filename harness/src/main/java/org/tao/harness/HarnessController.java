@@ -0,0 +1,29 @@
+package org.tao.harness;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+
+@RestController
+public class HarnessController {
+
+    @PostMapping("/small")
+    @SignatureChecker(serviceCode = HarnessApplication.SERVICE_CODE)
+    public String small(@RequestBody @SignatureParam SmallRequest request) {
+        return "ok";
+    }
+
+    @PostMapping("/large")
+    @SignatureChecker(serviceCode = HarnessApplication.SERVICE_CODE)
+    public String large(@RequestBody @SignatureParam LargeRequest request) {
+        return "ok";
+    }
+
+    @PostMapping("/custom")
+    @SignatureChecker(serviceCode = HarnessApplication.SERVICE_CODE, returnType = HarnessApplication.CUSTOM_RETURN_TYPE)
+    public String custom(@RequestBody @SignatureParam SmallRequest request) {
+        return "ok";
+    }
+}
@@ -0,0 +1,108 @@
+package org.tao.harness;
+
+import com.alibaba.fastjson2.JSONObject;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压测入口
+ * <pre>
+ * java -jar harness.jar [--kit=both|on|off] [--threads=8] [--warmup=10] [--duration=30] [--rate=0]
+ *                       [--mix=valid:90,expired:5,forged:5] [--endpoints=small:60,large:20,custom:20]
+ *                       [--large-items=500] [--out=target/harness]
+ * java -jar harness.jar compare base.json current.json
+ * </pre>
+ * kit=both 时开启、关闭 signature-kit 分别在新的 JVM 中运行，结束后输出两份报告的对比；
+ * 响应与预期不一致（有效请求被拒绝或无效请求被放行）或出现 I/O 异常时以非 0 状态码退出
+ */
+public class HarnessMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            if (args.length != 3) {
+                System.err.println("用法：compare base.json current.json");
+                System.exit(1);
+            }
+            HarnessReport.compare(HarnessReport.read(Paths.get(args[1])), HarnessReport.read(Paths.get(args[2])), System.out);
+            return;
+        }
+        HarnessOptions options = HarnessOptions.parse(args);
+        if ("both".equals(options.getKit())) {
+            System.exit(runBoth(options, args));
+        }
+        // HttpURLConnection 默认每个地址只缓存 5 个空闲连接，线程更多时会不断新建连接
+        System.setProperty("http.maxConnections", String.valueOf(Math.max(5, options.getThreads())));
+        JSONObject report = run(options, "on".equals(options.getKit()));
+        boolean failed = report.getLongValue("errors") > 0 || report.getLongValue("unexpected") > 0;
+        System.exit(failed ? 2 : 0);
+    }
+
+    /**
+     * 开启、关闭 signature-kit 分别在新的 JVM 中压测，避免先运行的一方替后运行的一方完成 JIT 预热
+     */
+    private static int runBoth(HarnessOptions options, String[] args) throws Exception {
+        // 删除上次的报告，避免子进程失败时与旧报告对比
+        Files.deleteIfExists(reportFile(options, true));
+        Files.deleteIfExists(reportFile(options, false));
+        int exitCode = 0;
+        for (String kit : new String[]{"on", "off"}) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(HarnessMain.class.getName());
+            for (String arg : args) {
+                if (!arg.startsWith("--kit=")) {
+                    command.add(arg);
+                }
+            }
+            command.add("--kit=" + kit);
+            int code = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (code != 0) {
+                System.err.println("[kit=" + kit + "] 压测进程退出码 " + code);
+                exitCode = Math.max(exitCode, code);
+            }
+        }
+        Path on = reportFile(options, true);
+        Path off = reportFile(options, false);
+        if (Files.exists(on) && Files.exists(off)) {
+            System.out.println();
+            System.out.println("signature-kit 开销（base 为关闭，current 为开启）：");
+            HarnessReport.compare(HarnessReport.read(off), HarnessReport.read(on), System.out);
+        }
+        return exitCode;
+    }
+
+    private static Path reportFile(HarnessOptions options, boolean kitEnabled) {
+        return Paths.get(options.getOut(), "report-kit-" + (kitEnabled ? "on" : "off") + ".json");
+    }
+
+    private static JSONObject run(HarnessOptions options, boolean kitEnabled) throws Exception {
+        ConfigurableApplicationContext context = HarnessApplication.start(kitEnabled);
+        try {
+            LoadGenerator generator = new LoadGenerator(HarnessApplication.port(context), options,
+                    new RequestFactory(options.getLargeItems()), kitEnabled);
+            if (options.getWarmupSeconds() > 0) {
+                System.out.printf("[kit=%s] 预热 %ds%n", kitEnabled ? "on" : "off", options.getWarmupSeconds());
+                generator.run(options.getWarmupSeconds());
+            }
+            System.out.printf("[kit=%s] 压测 %ds，%d 线程%n", kitEnabled ? "on" : "off", options.getDurationSeconds(), options.getThreads());
+            LoadResult result = generator.run(options.getDurationSeconds());
+            JSONObject report = HarnessReport.create(result, options, kitEnabled);
+            Path file = reportFile(options, kitEnabled);
+            HarnessReport.write(report, file);
+            HarnessReport.print(report, System.out);
+            System.out.println("报告已写入 " + file.toAbsolutePath());
+            return report;
+        } finally {
+            HarnessApplication.stop(context);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.tao.harness;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 命令行参数，格式为 --name=value
+ */
+public final class HarnessOptions {
+
+    private static final List<String> KIT_MODES = Arrays.asList("both", "on", "off");
+
+    // both 时开启、关闭 signature-kit 各在一个新的 JVM 中压测，并输出两者对比
+    private String kit = "both";
+    private int threads = 8;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 30;
+    // 目标总吞吐（请求/秒），0 表示闭环压测（每个线程收到响应后立即发送下一个请求）
+    private int rate = 0;
+    private int largeItems = 500;
+    private String mix = "valid:90,expired:5,forged:5";
+    private String endpoints = "small:60,large:20,custom:20";
+    private String out = "target/harness";
+
+    public static HarnessOptions parse(String[] args) {
+        HarnessOptions options = new HarnessOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("参数格式错误，应为 --name=value，arg => " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "kit":
+                    if (!KIT_MODES.contains(value)) {
+                        throw new IllegalArgumentException("kit 只能为 " + KIT_MODES + "，value => " + value);
+                    }
+                    options.kit = value;
+                    break;
+                case "threads":
+                    options.threads = positive(name, value);
+                    break;
+                case "warmup":
+                    options.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    options.durationSeconds = positive(name, value);
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "large-items":
+                    options.largeItems = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    options.mix = value;
+                    break;
+                case "endpoints":
+                    options.endpoints = value;
+                    break;
+                case "out":
+                    options.out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数，name => " + name);
+            }
+        }
+        // 提前校验权重配置
+        options.trafficMix();
+        options.endpointMix();
+        return options;
+    }
+
+    private static int positive(String name, String value) {
+        int result = Integer.parseInt(value);
+        if (result <= 0) {
+            throw new IllegalArgumentException(name + " 必须大于 0，value => " + value);
+        }
+        return result;
+    }
+
+    public WeightedMix<TrafficType> trafficMix() {
+        return WeightedMix.parse(mix, TrafficType.class, TrafficType::getCode);
+    }
+
+    public WeightedMix<Endpoint> endpointMix() {
+        return WeightedMix.parse(endpoints, Endpoint.class, Endpoint::getCode);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("threads", threads);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("durationSeconds", durationSeconds);
+        map.put("rate", rate);
+        map.put("largeItems", largeItems);
+        map.put("mix", mix);
+        map.put("endpoints", endpoints);
+        return map;
+    }
+
+    public String getKit() {
+        return kit;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getLargeItems() {
+        return largeItems;
+    }
+
+    public String getOut() {
+        return out;
+    }
+}
@@ -0,0 +1,155 @@
+package org.tao.harness;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压测报告：JSON 格式，延迟单位为微秒，可与其他版本的报告逐项对比
+ */
+public final class HarnessReport {
+
+    private static final String KIT_POM_PROPERTIES = "META-INF/maven/org.tao/signature-kit/pom.properties";
+    private static final String[] COMPARED_FIELDS = {"throughput", "p50", "p99", "p999", "max"};
+
+    private HarnessReport() {
+    }
+
+    public static JSONObject create(LoadResult result, HarnessOptions options, boolean kitEnabled) {
+        double seconds = result.getElapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        JSONObject report = new JSONObject();
+        report.put("kit", kitEnabled ? "on" : "off");
+        report.put("createdAt", Instant.now().toString());
+        report.put("version", kitVersion());
+        report.put("java", System.getProperty("java.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("options", options.toMap());
+        report.put("elapsedSeconds", round(seconds));
+        report.put("errors", result.getErrors());
+        report.put("unexpected", result.getUnexpected());
+        report.put("total", summary(result.getTotal(), seconds));
+        Map<String, Object> traffic = new LinkedHashMap<>();
+        for (TrafficType type : TrafficType.values()) {
+            Map<String, Object> summary = summary(result.getTraffic(type), seconds);
+            summary.put("unexpected", result.getUnexpected(type));
+            traffic.put(type.getCode(), summary);
+        }
+        report.put("traffic", traffic);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint.getCode(), summary(result.getEndpoint(endpoint), seconds));
+        }
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    /**
+     * 被压测的 signature-kit 版本，读取依赖 jar 中 Maven 写入的 pom.properties
+     */
+    private static String kitVersion() {
+        Properties properties = new Properties();
+        try (InputStream in = HarnessReport.class.getClassLoader().getResourceAsStream(KIT_POM_PROPERTIES)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException ignored) {
+            // 版本仅用于标识报告
+        }
+        return properties.getProperty("version", "unknown");
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        long count = histogram.getTotalCount();
+        summary.put("count", count);
+        summary.put("throughput", round(count / seconds));
+        if (count > 0) {
+            summary.put("mean", round(histogram.getMean()));
+            summary.put("p50", histogram.getValueAtPercentile(50));
+            summary.put("p90", histogram.getValueAtPercentile(90));
+            summary.put("p99", histogram.getValueAtPercentile(99));
+            summary.put("p999", histogram.getValueAtPercentile(99.9));
+            summary.put("max", histogram.getMaxValue());
+        }
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    public static void write(JSONObject report, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, JSON.toJSONString(report, JSONWriter.Feature.PrettyFormat).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JSONObject read(Path file) throws IOException {
+        return JSON.parseObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    public static void print(JSONObject report, PrintStream out) {
+        out.printf("kit=%s elapsed=%ss errors=%d unexpected=%d%n", report.get("kit"), report.get("elapsedSeconds"),
+                report.getLongValue("errors"), report.getLongValue("unexpected"));
+        out.printf("%-16s %10s %12s %8s %8s %8s %8s %8s%n", "", "count", "throughput", "p50", "p90", "p99", "p999", "max");
+        printRow(out, "total", report.getJSONObject("total"));
+        for (String section : new String[]{"traffic", "endpoints"}) {
+            JSONObject rows = report.getJSONObject(section);
+            for (String name : rows.keySet()) {
+                printRow(out, section + "." + name, rows.getJSONObject(name));
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, JSONObject row) {
+        out.printf("%-16s %10d %12.1f %8d %8d %8d %8d %8d%n", name, row.getLongValue("count"), row.getDoubleValue("throughput"),
+                row.getLongValue("p50"), row.getLongValue("p90"), row.getLongValue("p99"), row.getLongValue("p999"), row.getLongValue("max"));
+    }
+
+    /**
+     * 逐项输出 current 相对 base 的变化，吞吐越高越好，延迟越低越好
+     */
+    public static void compare(JSONObject base, JSONObject current, PrintStream out) {
+        out.printf("base: kit=%s version=%s createdAt=%s%n", base.get("kit"), base.get("version"), base.get("createdAt"));
+        out.printf("current: kit=%s version=%s createdAt=%s%n", current.get("kit"), current.get("version"), current.get("createdAt"));
+        if (!base.getJSONObject("options").equals(current.getJSONObject("options"))) {
+            out.println("警告：两份报告的压测参数不同，结果不可直接比较");
+        }
+        out.printf("%-16s %-10s %12s %12s %9s%n", "", "metric", "base", "current", "change");
+        compareRow(out, "total", base.getJSONObject("total"), current.getJSONObject("total"));
+        for (String section : new String[]{"traffic", "endpoints"}) {
+            JSONObject baseRows = base.getJSONObject(section);
+            JSONObject currentRows = current.getJSONObject(section);
+            for (String name : baseRows.keySet()) {
+                if (currentRows.containsKey(name)) {
+                    compareRow(out, section + "." + name, baseRows.getJSONObject(name), currentRows.getJSONObject(name));
+                }
+            }
+        }
+    }
+
+    private static void compareRow(PrintStream out, String name, JSONObject base, JSONObject current) {
+        if (base.getLongValue("count") == 0 || current.getLongValue("count") == 0) {
+            return;
+        }
+        for (String field : COMPARED_FIELDS) {
+            double before = base.getDoubleValue(field);
+            double after = current.getDoubleValue(field);
+            String change = before == 0 ? "n/a" : String.format("%+.1f%%", (after - before) * 100 / before);
+            out.printf("%-16s %-10s %12.1f %12.1f %9s%n", name, field, before, after, change);
+            name = "";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.tao.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 模拟批量下单等大请求体：签名字段之外附带数百条明细
+ */
+public class LargeRequest extends SmallRequest {
+
+    private String customerName;
+    private String address;
+    private List<Item> items = new ArrayList<>();
+
+    public static LargeRequest create(int itemCount) {
+        LargeRequest request = new LargeRequest();
+        request.setOrderNo("ORDER-000000001");
+        request.setCustomerName("harness customer");
+        request.setAddress("No. 1, Harness Road, Load District");
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setSku("SKU-" + i);
+            item.setName("item name " + i);
+            item.setQuantity(i % 7 + 1);
+            item.setPrice(1999L + i);
+            request.getItems().add(item);
+        }
+        return request;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+
+        private String sku;
+        private String name;
+        private Integer quantity;
+        private Long price;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Long getPrice() {
+            return price;
+        }
+
+        public void setPrice(Long price) {
+            this.price = price;
+        }
+    }
+}
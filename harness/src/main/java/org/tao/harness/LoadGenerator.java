@@ -0,0 +1,151 @@
+package org.tao.harness;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多线程 HTTP 压测，每个线程复用 keep-alive 连接，按权重混合接口与请求类型
+ * <p>
+ * 指定目标吞吐时按固定间隔计划发送时间，延迟从计划时间开始计算，服务端变慢导致的排队时间也计入延迟，
+ * 避免协调遗漏（coordinated omission）掩盖长尾；未指定时为闭环压测，延迟从实际发送开始计算
+ */
+public final class LoadGenerator {
+
+    private static final byte[] ACCEPTED_BODY = "ok".getBytes(StandardCharsets.UTF_8);
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final URL[] urls = new URL[Endpoint.values().length];
+    private final RequestFactory requestFactory;
+    private final WeightedMix<TrafficType> trafficMix;
+    private final WeightedMix<Endpoint> endpointMix;
+    private final int threads;
+    private final int rate;
+    // 关闭 signature-kit 时所有请求都应通过
+    private final boolean kitEnabled;
+
+    public LoadGenerator(int port, HarnessOptions options, RequestFactory requestFactory, boolean kitEnabled) throws MalformedURLException {
+        for (Endpoint endpoint : Endpoint.values()) {
+            urls[endpoint.ordinal()] = new URL("http", "127.0.0.1", port, endpoint.getPath());
+        }
+        this.requestFactory = requestFactory;
+        this.trafficMix = options.trafficMix();
+        this.endpointMix = options.endpointMix();
+        this.threads = options.getThreads();
+        this.rate = options.getRate();
+        this.kitEnabled = kitEnabled;
+    }
+
+    public LoadResult run(int seconds) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        // 每个线程两次计划发送之间的间隔
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) * threads / rate : 0;
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            // 各线程的计划时间错开，避免同时发送
+            Worker worker = new Worker(start + intervalNanos * i / threads, intervalNanos, deadline);
+            Thread thread = new Thread(worker, "harness-load-" + i);
+            worker.thread = thread;
+            workers.add(worker);
+            thread.start();
+        }
+        LoadResult result = new LoadResult();
+        for (Worker worker : workers) {
+            worker.thread.join();
+            result.merge(worker.result);
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final LoadResult result = new LoadResult();
+        private final long intervalNanos;
+        private final long deadline;
+        private long nextNanos;
+        private Thread thread;
+        private final byte[] buffer = new byte[8192];
+
+        private Worker(long firstNanos, long intervalNanos, long deadline) {
+            this.nextNanos = firstNanos;
+            this.intervalNanos = intervalNanos;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                long intended = intervalNanos > 0 ? nextNanos : System.nanoTime();
+                if (intended >= deadline) {
+                    return;
+                }
+                if (intervalNanos > 0) {
+                    nextNanos += intervalNanos;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                TrafficType type = trafficMix.next(random);
+                Endpoint endpoint = endpointMix.next(random);
+                // 闭环压测时请求体生成不计入延迟
+                byte[] body = requestFactory.create(endpoint, type);
+                long sendNanos = intervalNanos > 0 ? intended : System.nanoTime();
+                try {
+                    boolean accepted = send(urls[endpoint.ordinal()], body);
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sendNanos);
+                    result.record(type, endpoint, latencyMicros, accepted == (!kitEnabled || type.isAccepted()));
+                } catch (IOException e) {
+                    result.recordError();
+                }
+            }
+        }
+
+        /**
+         * 发送请求并读完响应体，以便连接回到 keep-alive 缓存
+         *
+         * @return 响应是否为接口的正常返回
+         */
+        private boolean send(URL url, byte[] body) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setRequestMethod("POST");
+            // 不使用 setFixedLengthStreamingMode：流式模式下请求头与请求体分两次写出，受 Nagle 与延迟 ACK 影响延迟明显升高，
+            // 默认模式先缓冲请求体，与请求头一次写出
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            int length = 0;
+            boolean matches = true;
+            if (in != null) {
+                try (InputStream stream = in) {
+                    int n;
+                    while ((n = stream.read(buffer)) > 0) {
+                        for (int i = 0; i < n && matches; i++) {
+                            matches = length + i < ACCEPTED_BODY.length && buffer[i] == ACCEPTED_BODY[length + i];
+                        }
+                        length += n;
+                    }
+                }
+            }
+            return status == HttpURLConnection.HTTP_OK && matches && length == ACCEPTED_BODY.length;
+        }
+    }
+}
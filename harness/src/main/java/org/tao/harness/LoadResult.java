@@ -0,0 +1,93 @@
+package org.tao.harness;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 一次压测的延迟直方图与计数，单位为微秒；各压测线程分别记录，结束后合并
+ */
+public final class LoadResult {
+
+    // 最大可记录延迟 60 秒，3 位有效数字
+    private static final long HIGHEST_TRACKABLE_MICROS = 60_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram[] traffic = histograms(TrafficType.values().length);
+    private final Histogram[] endpoints = histograms(Endpoint.values().length);
+    // 响应与预期不一致（有效请求被拒绝、无效请求被放行）的次数，按 TrafficType 下标
+    private final long[] unexpected = new long[TrafficType.values().length];
+    // 连接失败、超时等 I/O 异常次数
+    private long errors;
+    private long elapsedNanos;
+
+    private static Histogram[] histograms(int size) {
+        Histogram[] histograms = new Histogram[size];
+        for (int i = 0; i < size; i++) {
+            histograms[i] = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        }
+        return histograms;
+    }
+
+    void record(TrafficType type, Endpoint endpoint, long latencyMicros, boolean expected) {
+        long value = Math.min(Math.max(latencyMicros, 1), HIGHEST_TRACKABLE_MICROS);
+        traffic[type.ordinal()].recordValue(value);
+        endpoints[endpoint.ordinal()].recordValue(value);
+        if (!expected) {
+            unexpected[type.ordinal()]++;
+        }
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void merge(LoadResult other) {
+        for (int i = 0; i < traffic.length; i++) {
+            traffic[i].add(other.traffic[i]);
+            unexpected[i] += other.unexpected[i];
+        }
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i].add(other.endpoints[i]);
+        }
+        errors += other.errors;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Histogram getTotal() {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        for (Histogram histogram : traffic) {
+            total.add(histogram);
+        }
+        return total;
+    }
+
+    public Histogram getTraffic(TrafficType type) {
+        return traffic[type.ordinal()];
+    }
+
+    public Histogram getEndpoint(Endpoint endpoint) {
+        return endpoints[endpoint.ordinal()];
+    }
+
+    public long getUnexpected(TrafficType type) {
+        return unexpected[type.ordinal()];
+    }
+
+    public long getUnexpected() {
+        long sum = 0;
+        for (long count : unexpected) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
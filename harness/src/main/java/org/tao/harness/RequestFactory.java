@@ -0,0 +1,65 @@
+package org.tao.harness;
+
+import com.alibaba.fastjson2.JSON;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.utils.SignatureUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 生成压测请求体：业务字段在启动时序列化一次，每个请求只拼接新的 requestId、timestamp、signature
+ * <p>
+ * 过期请求使用早于有效期的时间戳并正确签名，只会被时间戳校验拒绝；伪造请求的时间戳有效、签名错误
+ */
+public final class RequestFactory {
+
+    // 比默认有效期（5 分钟）早 1 分钟
+    private static final long EXPIRED_OFFSET_MILLIS = TimeUnit.MINUTES.toMillis(6);
+
+    private final ClientSigner signer = new ClientSigner(HarnessApplication.SERVICE_CODE, HarnessApplication.SECRET_KEY);
+    // 去掉开头 { 的业务字段 JSON，按 Endpoint 下标
+    private final String[] payloads = new String[Endpoint.values().length];
+
+    public RequestFactory(int largeItems) {
+        SmallRequest small = new SmallRequest();
+        small.setOrderNo("ORDER-000000001");
+        String smallJson = JSON.toJSONString(small);
+        String largeJson = JSON.toJSONString(LargeRequest.create(largeItems));
+        payloads[Endpoint.SMALL.ordinal()] = smallJson.substring(1);
+        payloads[Endpoint.LARGE.ordinal()] = largeJson.substring(1);
+        payloads[Endpoint.CUSTOM.ordinal()] = smallJson.substring(1);
+    }
+
+    public byte[] create(Endpoint endpoint, TrafficType type) {
+        SignedFields fields = signer.sign();
+        String requestId = fields.getRequestId();
+        long timestamp = fields.getTimestamp();
+        String signature = fields.getSignature();
+        if (type == TrafficType.EXPIRED) {
+            timestamp -= EXPIRED_OFFSET_MILLIS;
+            signature = SignatureUtil.generateSignature(requestId, String.valueOf(timestamp), HarnessApplication.SECRET_KEY);
+        } else if (type == TrafficType.FORGED) {
+            signature = forge(signature);
+        }
+        String payload = payloads[endpoint.ordinal()];
+        StringBuilder body = new StringBuilder(payload.length() + 128)
+                .append("{\"requestId\":\"").append(requestId)
+                .append("\",\"timestamp\":").append(timestamp)
+                .append(",\"signature\":\"").append(signature).append('"');
+        // 业务字段为空时 payload 只剩 }
+        if (payload.length() > 1) {
+            body.append(',');
+        }
+        return body.append(payload).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 翻转签名首字符，保证与正确签名不同且仍是合法的十六进制
+     */
+    private static String forge(String signature) {
+        char first = signature.charAt(0);
+        return (first == '0' ? '1' : '0') + signature.substring(1);
+    }
+}
@@ -0,0 +1,28 @@
+package org.tao.harness;
+
+/**
+ * 请求类型：签名有效、时间戳过期（签名本身正确）、签名伪造
+ */
+public enum TrafficType {
+
+    VALID("valid", true),
+    EXPIRED("expired", false),
+    FORGED("forged", false);
+
+    private final String code;
+    // 开启 signature-kit 时是否应当通过校验
+    private final boolean accepted;
+
+    TrafficType(String code, boolean accepted) {
+        this.code = code;
+        this.accepted = accepted;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+}
@@ -0,0 +1,81 @@
+package org.tao.harness;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 按权重随机选择请求类型或接口，配置格式为 code:权重,code:权重，例如 valid:90,expired:5,forged:5
+ */
+public final class WeightedMix<T extends Enum<T>> {
+
+    private final Map<T, Integer> weights;
+    private final T[] values;
+    // 累计权重，与 values 一一对应
+    private final int[] bounds;
+    private final int total;
+
+    private WeightedMix(Map<T, Integer> weights, T[] values, int[] bounds, int total) {
+        this.weights = weights;
+        this.values = values;
+        this.bounds = bounds;
+        this.total = total;
+    }
+
+    public static <T extends Enum<T>> WeightedMix<T> parse(String spec, Class<T> type, Function<T, String> code) {
+        Map<T, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("权重格式错误，应为 code:weight，part => " + part);
+            }
+            T value = null;
+            for (T candidate : type.getEnumConstants()) {
+                if (code.apply(candidate).equalsIgnoreCase(pair[0].trim())) {
+                    value = candidate;
+                }
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("未知的类型，code => " + pair[0]);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("权重不能为负数，part => " + part);
+            }
+            if (weight > 0) {
+                weights.put(value, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("权重之和必须大于 0，spec => " + spec);
+        }
+        List<T> values = new ArrayList<>(weights.keySet());
+        int[] bounds = new int[values.size()];
+        int total = 0;
+        for (int i = 0; i < values.size(); i++) {
+            total += weights.get(values.get(i));
+            bounds[i] = total;
+        }
+        @SuppressWarnings("unchecked")
+        T[] array = values.toArray((T[]) Array.newInstance(type, values.size()));
+        return new WeightedMix<>(weights, array, bounds, total);
+    }
+
+    public T next(ThreadLocalRandom random) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < bounds.length; i++) {
+            if (r < bounds[i]) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    public Map<T, Integer> getWeights() {
+        return weights;
+    }
+}
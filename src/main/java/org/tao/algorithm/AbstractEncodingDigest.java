@@ -0,0 +1,72 @@
+package org.tao.algorithm;
+
+/**
+ * 摘要器的编码基类，子类只需实现字节写入与验签
+ * <p>
+ * 字符串按 UTF-8 直接编码进复用的缓冲区，数字直接写入十进制字符，稳定状态下不产生任何对象分配
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public abstract class AbstractEncodingDigest implements SignatureDigest {
+
+    // 编码缓冲区，需至少容纳一个 long 的十进制字符（20 字节）和一个 4 字节 UTF-8 字符
+    private final byte[] buffer = new byte[128];
+
+    @Override
+    public void update(CharSequence input) {
+        byte[] buf = buffer;
+        int pos = 0;
+        int length = input.length();
+        for (int i = 0; i < length; i++) {
+            if (pos > buf.length - 4) {
+                update(buf, 0, pos);
+                pos = 0;
+            }
+            char c = input.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(low = input.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    // 与 String.getBytes(UTF_8) 一致，孤立的代理字符替换为 '?'
+                    buf[pos++] = '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (pos > 0) {
+            update(buf, 0, pos);
+        }
+    }
+
+    @Override
+    public void update(long value) {
+        byte[] buf = buffer;
+        int pos = 20;
+        // 按负数处理，避免 Long.MIN_VALUE 取反溢出
+        long v = value < 0 ? value : -value;
+        do {
+            buf[--pos] = (byte) ('0' - (v % 10));
+            v /= 10;
+        } while (v != 0);
+        if (value < 0) {
+            buf[--pos] = '-';
+        }
+        update(buf, pos, 20 - pos);
+    }
+}
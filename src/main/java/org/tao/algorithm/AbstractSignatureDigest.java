@@ -0,0 +1,78 @@
+package org.tao.algorithm;
+
+/**
+ * 输出十六进制签名的摘要器基类，子类只需实现字节写入与结束摘要
+ * <p>
+ * 字符串与数字的编码见 AbstractEncodingDigest，
+ * 校验时将客户端签名解码到复用的缓冲区后按常量时间比较，稳定状态下不产生任何对象分配
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public abstract class AbstractSignatureDigest extends AbstractEncodingDigest implements SigningDigest {
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private final byte[] result;
+    private final byte[] expected;
+
+    protected AbstractSignatureDigest(int digestLength) {
+        this.result = new byte[digestLength];
+        this.expected = new byte[digestLength];
+    }
+
+    /**
+     * 结束摘要，将结果写入 out 并重置状态
+     */
+    protected abstract void finish(byte[] out);
+
+    @Override
+    public String sign() {
+        byte[] digest = result;
+        finish(digest);
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_CHARS[digest[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean verify(CharSequence signature) {
+        byte[] digest = result;
+        finish(digest);
+        if (signature == null || signature.length() != digest.length * 2) {
+            return false;
+        }
+        // 解码与比较都不提前退出，耗时与签名内容无关
+        byte[] decoded = expected;
+        int invalid = 0;
+        for (int i = 0; i < decoded.length; i++) {
+            int high = hexValue(signature.charAt(i * 2));
+            int low = hexValue(signature.charAt(i * 2 + 1));
+            invalid |= (high | low) & 0x100;
+            decoded[i] = (byte) ((high << 4) | (low & 0xF));
+        }
+        int diff = 0;
+        for (int i = 0; i < digest.length; i++) {
+            diff |= digest[i] ^ decoded[i];
+        }
+        return (diff | invalid) == 0;
+    }
+
+    /**
+     * 十六进制字符转数值，非法字符返回带 0x100 标记的值
+     */
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return 0x100;
+    }
+}
@@ -0,0 +1,146 @@
+package org.tao.algorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * HMAC 签名算法（RFC 2104）
+ * <p>
+ * 每个密钥只计算一次补齐后的 ipad/opad 块，各线程持有自己的 MessageDigest，
+ * 结束摘要时写入复用的缓冲区。JDK 的 Mac.doFinal 每次都会在内部分配临时数组，因此这里直接基于 MessageDigest 实现
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class HmacSignatureAlgorithm implements SignatureAlgorithm {
+
+    public static final HmacSignatureAlgorithm HMAC_SHA256 = new HmacSignatureAlgorithm("HMAC-SHA256", "SHA-256", 64);
+    public static final HmacSignatureAlgorithm HMAC_SHA512 = new HmacSignatureAlgorithm("HMAC-SHA512", "SHA-512", 128);
+
+    private static final byte IPAD = 0x36;
+    private static final byte OPAD = 0x5c;
+
+    private final String name;
+    private final String digestName;
+    private final int blockSize;
+
+    public HmacSignatureAlgorithm(String name, String digestName, int blockSize) {
+        this.name = name;
+        this.digestName = digestName;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SigningKey createKey(String secret) {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length > blockSize) {
+            key = newMessageDigest().digest(key);
+        }
+        byte[] innerPad = new byte[blockSize];
+        byte[] outerPad = new byte[blockSize];
+        for (int i = 0; i < blockSize; i++) {
+            byte b = i < key.length ? key[i] : 0;
+            innerPad[i] = (byte) (b ^ IPAD);
+            outerPad[i] = (byte) (b ^ OPAD);
+        }
+        return new HmacKey(this, innerPad, outerPad);
+    }
+
+    private MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(digestName);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("[签名算法] 当前 JDK 不支持 " + digestName, e);
+        }
+    }
+
+    private static final class HmacKey implements SigningKey {
+
+        private final HmacSignatureAlgorithm algorithm;
+        private final byte[] innerPad;
+        private final byte[] outerPad;
+        private final ThreadLocal<HmacDigest> digests;
+
+        private HmacKey(HmacSignatureAlgorithm algorithm, byte[] innerPad, byte[] outerPad) {
+            this.algorithm = algorithm;
+            this.innerPad = innerPad;
+            this.outerPad = outerPad;
+            this.digests = ThreadLocal.withInitial(this::newDigest);
+        }
+
+        @Override
+        public SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public SigningDigest digest() {
+            HmacDigest digest = digests.get();
+            digest.reset();
+            return digest;
+        }
+
+        @Override
+        public HmacDigest newDigest() {
+            HmacDigest digest = new HmacDigest(algorithm.newMessageDigest(), algorithm.newMessageDigest(), innerPad, outerPad);
+            digest.reset();
+            return digest;
+        }
+    }
+
+    private static final class HmacDigest extends AbstractSignatureDigest {
+
+        private final MessageDigest inner;
+        private final MessageDigest outer;
+        private final byte[] innerPad;
+        private final byte[] outerPad;
+        private final byte[] innerResult;
+
+        private HmacDigest(MessageDigest inner, MessageDigest outer, byte[] innerPad, byte[] outerPad) {
+            super(inner.getDigestLength());
+            this.inner = inner;
+            this.outer = outer;
+            this.innerPad = innerPad;
+            this.outerPad = outerPad;
+            this.innerResult = new byte[inner.getDigestLength()];
+        }
+
+        private void reset() {
+            inner.reset();
+            inner.update(innerPad);
+        }
+
+        @Override
+        public void update(byte input) {
+            inner.update(input);
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int len) {
+            inner.update(input, offset, len);
+        }
+
+        @Override
+        protected void finish(byte[] out) {
+            try {
+                inner.digest(innerResult, 0, innerResult.length);
+                outer.reset();
+                outer.update(outerPad);
+                outer.update(innerResult);
+                outer.digest(out, 0, out.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("[签名算法] " + inner.getAlgorithm() + " 摘要计算失败", e);
+            } finally {
+                reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.tao.algorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * MD5(data + secretKey)，兼容历史签名方式
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class Md5SignatureAlgorithm implements SignatureAlgorithm {
+
+    public static final String NAME = "MD5";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public SigningKey createKey(String secret) {
+        return new Md5Key(this, secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Md5Key implements SigningKey {
+
+        private final SignatureAlgorithm algorithm;
+        private final byte[] secret;
+        private final ThreadLocal<Md5Digest> digests;
+
+        private Md5Key(SignatureAlgorithm algorithm, byte[] secret) {
+            this.algorithm = algorithm;
+            this.secret = secret;
+            this.digests = ThreadLocal.withInitial(this::newDigest);
+        }
+
+        @Override
+        public SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public SigningDigest digest() {
+            Md5Digest digest = digests.get();
+            digest.messageDigest.reset();
+            return digest;
+        }
+
+        @Override
+        public Md5Digest newDigest() {
+            try {
+                return new Md5Digest(MessageDigest.getInstance(NAME), secret);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("[签名算法] 当前 JDK 不支持 MD5", e);
+            }
+        }
+    }
+
+    private static final class Md5Digest extends AbstractSignatureDigest {
+
+        private final MessageDigest messageDigest;
+        private final byte[] secret;
+
+        private Md5Digest(MessageDigest messageDigest, byte[] secret) {
+            super(messageDigest.getDigestLength());
+            this.messageDigest = messageDigest;
+            this.secret = secret;
+        }
+
+        @Override
+        public void update(byte input) {
+            messageDigest.update(input);
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int len) {
+            messageDigest.update(input, offset, len);
+        }
+
+        @Override
+        protected void finish(byte[] out) {
+            messageDigest.update(secret);
+            try {
+                messageDigest.digest(out, 0, out.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("[签名算法] MD5 摘要计算失败", e);
+            }
+        }
+    }
+}
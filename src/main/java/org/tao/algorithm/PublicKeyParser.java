@@ -0,0 +1,119 @@
+package org.tao.algorithm;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.KeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 解析 PEM（-----BEGIN PUBLIC KEY-----）、JWK 或 Base64 编码的 X.509 公钥
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+final class PublicKeyParser {
+
+    private static final String PEM_BEGIN = "-----BEGIN PUBLIC KEY-----";
+    private static final String PEM_END = "-----END PUBLIC KEY-----";
+    // Ed25519 公钥的 X.509 SubjectPublicKeyInfo 前缀，后接 32 字节公钥
+    private static final byte[] ED25519_PREFIX = {0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00};
+
+    private PublicKeyParser() {
+    }
+
+    /**
+     * @param text      公钥配置
+     * @param keyType   JWK 的 kty，用于校验公钥与算法是否匹配
+     * @param keyFactory KeyFactory 算法名称
+     */
+    static PublicKey parse(String text, String keyType, String keyFactory) {
+        String trimmed = text.trim();
+        try {
+            KeySpec spec = trimmed.startsWith("{") ? parseJwk(trimmed, keyType) : new X509EncodedKeySpec(parsePem(trimmed));
+            return KeyFactory.getInstance(keyFactory).generatePublic(spec);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("[签名算法] " + keyFactory + " 公钥解析失败，请检查配置！", e);
+        }
+    }
+
+    private static byte[] parsePem(String text) {
+        String body = text;
+        if (body.startsWith(PEM_BEGIN)) {
+            int end = body.indexOf(PEM_END);
+            if (end < 0) {
+                throw new IllegalArgumentException("PEM 缺少结束行");
+            }
+            body = body.substring(PEM_BEGIN.length(), end);
+        } else if (body.startsWith("-----")) {
+            throw new IllegalArgumentException("仅支持 -----BEGIN PUBLIC KEY----- 格式的 PEM 公钥");
+        }
+        return Base64.getMimeDecoder().decode(body);
+    }
+
+    private static KeySpec parseJwk(String text, String keyType) throws GeneralSecurityException {
+        JSONObject jwk = JSON.parseObject(text);
+        String kty = jwk.getString("kty");
+        if (!keyType.equals(kty)) {
+            throw new IllegalArgumentException("JWK kty 与签名算法不匹配，kty => " + kty);
+        }
+        switch (kty) {
+            case "RSA":
+                return new RSAPublicKeySpec(unsigned(jwk, "n"), unsigned(jwk, "e"));
+            case "EC":
+                return new ECPublicKeySpec(new ECPoint(unsigned(jwk, "x"), unsigned(jwk, "y")), curve(jwk.getString("crv")));
+            case "OKP":
+                if (!"Ed25519".equals(jwk.getString("crv"))) {
+                    throw new IllegalArgumentException("不支持的 OKP 曲线，crv => " + jwk.getString("crv"));
+                }
+                byte[] x = decode(jwk, "x");
+                byte[] encoded = new byte[ED25519_PREFIX.length + x.length];
+                System.arraycopy(ED25519_PREFIX, 0, encoded, 0, ED25519_PREFIX.length);
+                System.arraycopy(x, 0, encoded, ED25519_PREFIX.length, x.length);
+                return new X509EncodedKeySpec(encoded);
+            default:
+                throw new IllegalArgumentException("不支持的 JWK kty => " + kty);
+        }
+    }
+
+    private static ECParameterSpec curve(String crv) throws GeneralSecurityException {
+        String name;
+        if ("P-256".equals(crv)) {
+            name = "secp256r1";
+        } else if ("P-384".equals(crv)) {
+            name = "secp384r1";
+        } else if ("P-521".equals(crv)) {
+            name = "secp521r1";
+        } else {
+            throw new IllegalArgumentException("不支持的 EC 曲线，crv => " + crv);
+        }
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(name));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    private static BigInteger unsigned(JSONObject jwk, String field) {
+        return new BigInteger(1, decode(jwk, field));
+    }
+
+    private static byte[] decode(JSONObject jwk, String field) {
+        String value = jwk.getString(field);
+        if (StringUtils.isEmpty(value)) {
+            throw new IllegalArgumentException("JWK 缺少字段 " + field);
+        }
+        return Base64.getUrlDecoder().decode(value);
+    }
+}
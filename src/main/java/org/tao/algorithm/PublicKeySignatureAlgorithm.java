@@ -0,0 +1,298 @@
+package org.tao.algorithm;
+
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+
+/**
+ * 公钥验签算法（Ed25519、ECDSA、RSA），签名为 Base64（标准或 URL 安全字母表，可省略填充）
+ * <p>
+ * 被签名的消息与对称算法相同（requestId + timestamp、排序参数或请求体），字段提取与时间戳校验不变。
+ * 公钥在密钥加载时解析一次，各线程持有自己已完成 initVerify 的 Signature，验签时不再查找 Provider；
+ * ECDSA 签名同时接受 DER 与 JWS 使用的 r||s 定长格式。
+ * 验签方通过 SignatureKey#digest(VerifiedSignatureCache) 传入缓存后，验签通过的（公钥、消息、签名）组合被缓存，重试请求直接命中
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class PublicKeySignatureAlgorithm implements SignatureAlgorithm {
+
+    public static final PublicKeySignatureAlgorithm ED25519 = new PublicKeySignatureAlgorithm("ED25519", "Ed25519", "Ed25519", "OKP");
+    public static final PublicKeySignatureAlgorithm ECDSA_SHA256 = new PublicKeySignatureAlgorithm("ECDSA-SHA256", "SHA256withECDSA", "EC", "EC");
+    public static final PublicKeySignatureAlgorithm RSA_SHA256 = new PublicKeySignatureAlgorithm("RSA-SHA256", "SHA256withRSA", "RSA", "RSA");
+
+    private final String name;
+    private final String signatureName;
+    private final String keyFactory;
+    private final String keyType;
+
+    /**
+     * @param signatureName java.security.Signature 算法名称
+     * @param keyFactory    java.security.KeyFactory 算法名称
+     * @param keyType       对应的 JWK kty
+     */
+    public PublicKeySignatureAlgorithm(String name, String signatureName, String keyFactory, String keyType) {
+        this.name = name;
+        this.signatureName = signatureName;
+        this.keyFactory = keyFactory;
+        this.keyType = keyType;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isAsymmetric() {
+        return true;
+    }
+
+    /**
+     * @param secret PEM、JWK 或 Base64 编码的 X.509 公钥
+     */
+    @Override
+    public SignatureKey createKey(String secret) {
+        PublicKeySignatureKey key = new PublicKeySignatureKey(this, PublicKeyParser.parse(secret, keyType, keyFactory));
+        // 启动时即确认当前 JDK 支持该算法且公钥类型匹配
+        key.newDigest();
+        return key;
+    }
+
+    private Signature newSignature(PublicKey publicKey) {
+        try {
+            Signature signature = Signature.getInstance(signatureName);
+            signature.initVerify(publicKey);
+            return signature;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("[签名算法] 当前 JDK 不支持 " + signatureName, e);
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException("[签名算法] 公钥与签名算法 " + name + " 不匹配，请检查配置！", e);
+        }
+    }
+
+    private static final class PublicKeySignatureKey implements SignatureKey {
+
+        private final PublicKeySignatureAlgorithm algorithm;
+        private final PublicKey publicKey;
+        // ECDSA r||s 格式中 r、s 各自的字节数，非 ECDSA 时为 0
+        private final int ecFieldBytes;
+        private final ThreadLocal<PublicKeyDigest> digests;
+
+        private PublicKeySignatureKey(PublicKeySignatureAlgorithm algorithm, PublicKey publicKey) {
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+            this.ecFieldBytes = publicKey instanceof ECPublicKey
+                    ? (((ECPublicKey) publicKey).getParams().getCurve().getField().getFieldSize() + 7) / 8 : 0;
+            this.digests = ThreadLocal.withInitial(this::createDigest);
+        }
+
+        @Override
+        public SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public SignatureDigest digest() {
+            return digest(null);
+        }
+
+        @Override
+        public SignatureDigest newDigest() {
+            return newDigest(null);
+        }
+
+        @Override
+        public SignatureDigest digest(VerifiedSignatureCache cache) {
+            PublicKeyDigest digest = digests.get();
+            digest.reset(cache);
+            return digest;
+        }
+
+        @Override
+        public SignatureDigest newDigest(VerifiedSignatureCache cache) {
+            PublicKeyDigest digest = createDigest();
+            digest.reset(cache);
+            return digest;
+        }
+
+        private PublicKeyDigest createDigest() {
+            return new PublicKeyDigest(this, algorithm.newSignature(publicKey));
+        }
+    }
+
+    /**
+     * 消息边写入边交给 Signature（Ed25519 由 JDK 内部缓存完整消息），传入验签缓存时同时写入 SHA-256 摘要；
+     * 只持有公钥，仅实现验签
+     */
+    private static final class PublicKeyDigest extends AbstractEncodingDigest {
+
+        private final PublicKeySignatureKey key;
+        private final Signature verifier;
+        // 开启验签缓存后首次使用时创建
+        private MessageDigest messageDigest;
+        // 本次验签使用的缓存，reset 时传入，未开启时为 null
+        private VerifiedSignatureCache cache;
+        // Signature 中有未完成验签的数据（如上次使用时签名格式错误提前返回），复用前需重新初始化
+        private boolean dirty;
+
+        private PublicKeyDigest(PublicKeySignatureKey key, Signature verifier) {
+            this.key = key;
+            this.verifier = verifier;
+        }
+
+        private void reset(VerifiedSignatureCache cache) {
+            if (dirty) {
+                reinit();
+            }
+            this.cache = cache;
+            if (cache != null) {
+                messageDigest().reset();
+            }
+        }
+
+        @Override
+        public void update(byte input) {
+            try {
+                verifier.update(input);
+            } catch (SignatureException e) {
+                throw new IllegalStateException("[签名算法] Signature 未初始化", e);
+            }
+            dirty = true;
+            if (cache != null) {
+                messageDigest.update(input);
+            }
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int len) {
+            try {
+                verifier.update(input, offset, len);
+            } catch (SignatureException e) {
+                throw new IllegalStateException("[签名算法] Signature 未初始化", e);
+            }
+            dirty = true;
+            if (cache != null) {
+                messageDigest.update(input, offset, len);
+            }
+        }
+
+        @Override
+        public boolean verify(CharSequence signature) {
+            try {
+                byte[] decoded = decode(signature);
+                if (decoded == null) {
+                    return false;
+                }
+                byte[] digest = null;
+                if (cache != null) {
+                    digest = messageDigest.digest();
+                    if (cache.contains(key, digest, decoded)) {
+                        return true;
+                    }
+                }
+                // verify 返回后 Signature 回到初始化后的状态，可直接复用
+                boolean passed = verifier.verify(decoded);
+                dirty = false;
+                if (passed && cache != null) {
+                    cache.put(key, digest, decoded);
+                }
+                return passed;
+            } catch (SignatureException e) {
+                // 签名格式错误，重新初始化以保证 Signature 处于可复用状态
+                reinit();
+                return false;
+            }
+        }
+
+        private void reinit() {
+            try {
+                verifier.initVerify(key.publicKey);
+            } catch (InvalidKeyException ignored) {
+                // 创建时已校验过公钥
+            }
+            dirty = false;
+        }
+
+        private MessageDigest messageDigest() {
+            if (messageDigest == null) {
+                try {
+                    messageDigest = MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("[签名算法] 当前 JDK 不支持 SHA-256", e);
+                }
+            }
+            return messageDigest;
+        }
+
+        /**
+         * 解码 Base64 签名，ECDSA 的 r||s 格式转为 DER，格式错误时返回 null
+         */
+        private byte[] decode(CharSequence signature) {
+            if (signature == null || signature.length() == 0) {
+                return null;
+            }
+            String value = signature.toString();
+            byte[] decoded;
+            try {
+                decoded = value.indexOf('-') >= 0 || value.indexOf('_') >= 0
+                        ? Base64.getUrlDecoder().decode(value) : Base64.getDecoder().decode(value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            int n = key.ecFieldBytes;
+            if (n > 0 && decoded.length == n * 2 && !isDerSequence(decoded)) {
+                return toDer(decoded, n);
+            }
+            return decoded;
+        }
+
+        private static boolean isDerSequence(byte[] value) {
+            if (value.length < 3 || value[0] != 0x30) {
+                return false;
+            }
+            return (value[1] & 0xFF) == value.length - 2 || (value[1] == (byte) 0x81 && (value[2] & 0xFF) == value.length - 3);
+        }
+
+        private static byte[] toDer(byte[] raw, int n) {
+            byte[] r = derInteger(raw, 0, n);
+            byte[] s = derInteger(raw, n, n);
+            int bodyLength = r.length + s.length;
+            // P-521 的签名长度超过 127 字节，长度字段需使用两字节形式
+            int header = bodyLength > 127 ? 3 : 2;
+            byte[] der = new byte[header + bodyLength];
+            der[0] = 0x30;
+            if (header == 3) {
+                der[1] = (byte) 0x81;
+                der[2] = (byte) bodyLength;
+            } else {
+                der[1] = (byte) bodyLength;
+            }
+            System.arraycopy(r, 0, der, header, r.length);
+            System.arraycopy(s, 0, der, header + r.length, s.length);
+            return der;
+        }
+
+        private static byte[] derInteger(byte[] raw, int offset, int n) {
+            int start = offset;
+            int end = offset + n;
+            while (start < end - 1 && raw[start] == 0) {
+                start++;
+            }
+            // 最高位为 1 时补 0，保证按正数解析
+            int pad = (raw[start] & 0x80) != 0 ? 1 : 0;
+            int len = end - start + pad;
+            byte[] out = new byte[2 + len];
+            out[0] = 0x02;
+            out[1] = (byte) len;
+            System.arraycopy(raw, start, out, 2 + pad, end - start);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.tao.algorithm;
+
+/**
+ * 签名算法 SPI
+ * <p>
+ * 自定义算法实现该接口，并在 META-INF/services/org.tao.algorithm.SignatureAlgorithm 中声明，
+ * 即可通过 signature.algorithm、signature.algorithms 或 @SignatureChecker#algorithm 按名称选用
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SignatureAlgorithm {
+
+    /**
+     * 算法名称，按名称选用时忽略大小写
+     */
+    String getName();
+
+    /**
+     * 将密钥解析为可复用的密钥对象，启动时调用一次
+     *
+     * @param secret 密钥
+     * @return 密钥对象
+     */
+    SignatureKey createKey(String secret);
+
+    /**
+     * 是否为公钥验签算法，公钥算法的密钥配置在 signature.public-keys 中，且不能被对称算法当作密钥使用
+     */
+    default boolean isAsymmetric() {
+        return false;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.tao.algorithm;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 签名算法注册表，内置 MD5、HMAC-SHA256、HMAC-SHA512 与公钥算法 ED25519、ECDSA-SHA256、RSA-SHA256，并通过 ServiceLoader 加载自定义算法
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignatureAlgorithms {
+
+    public static final SignatureAlgorithm MD5 = new Md5SignatureAlgorithm();
+
+    private static final Map<String, SignatureAlgorithm> ALGORITHMS = new ConcurrentHashMap<>();
+
+    static {
+        register(MD5);
+        register(HmacSignatureAlgorithm.HMAC_SHA256);
+        register(HmacSignatureAlgorithm.HMAC_SHA512);
+        register(PublicKeySignatureAlgorithm.ED25519);
+        register(PublicKeySignatureAlgorithm.ECDSA_SHA256);
+        register(PublicKeySignatureAlgorithm.RSA_SHA256);
+        for (SignatureAlgorithm algorithm : ServiceLoader.load(SignatureAlgorithm.class, SignatureAlgorithms.class.getClassLoader())) {
+            register(algorithm);
+        }
+    }
+
+    private SignatureAlgorithms() {
+    }
+
+    public static void register(SignatureAlgorithm algorithm) {
+        ALGORITHMS.put(algorithm.getName().toUpperCase(Locale.ROOT), algorithm);
+    }
+
+    /**
+     * 按名称获取签名算法
+     *
+     * @param name 算法名称，忽略大小写
+     * @return 签名算法
+     * @throws IllegalStateException 算法不存在
+     */
+    public static SignatureAlgorithm get(String name) {
+        SignatureAlgorithm algorithm = ALGORITHMS.get(name.toUpperCase(Locale.ROOT));
+        if (algorithm == null) {
+            throw new IllegalStateException("[签名算法] 不支持的签名算法 " + name + "，请检查配置！");
+        }
+        return algorithm;
+    }
+}
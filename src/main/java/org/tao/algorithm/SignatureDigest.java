@@ -0,0 +1,36 @@
+package org.tao.algorithm;
+
+/**
+ * 增量验签摘要器，非线程安全；verify 之后自动重置，可继续复用
+ * <p>
+ * 公钥算法只持有公钥，摘要器只能验签；需要生成签名时使用 SigningKey 返回的 SigningDigest
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SignatureDigest {
+
+    void update(byte input);
+
+    void update(byte[] input, int offset, int len);
+
+    /**
+     * 按 UTF-8 编码写入字符串
+     */
+    void update(CharSequence input);
+
+    /**
+     * 按十进制字符串写入数字，与 String.valueOf(long) 的结果一致
+     */
+    void update(long value);
+
+    /**
+     * 结束摘要并与客户端签名比较
+     *
+     * @param signature 客户端传递的签名
+     * @return 是否校验通过
+     */
+    boolean verify(CharSequence signature);
+
+}
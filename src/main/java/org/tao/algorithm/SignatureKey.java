@@ -0,0 +1,42 @@
+package org.tao.algorithm;
+
+/**
+ * 解析后的密钥，持有该密钥预计算好的摘要状态，线程安全
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SignatureKey {
+
+    SignatureAlgorithm getAlgorithm();
+
+    /**
+     * 获取当前线程复用的摘要器，返回前已重置，不可跨线程使用，也不可在 sign/verify 之前交给其他调用方
+     */
+    SignatureDigest digest();
+
+    /**
+     * 创建独立的摘要器，用于跨越多次调用（如边读请求体边计算）的场景
+     */
+    SignatureDigest newDigest();
+
+    /**
+     * 获取当前线程复用的摘要器，验签通过的结果记录在 cache 中，重试同一请求时直接命中；不支持缓存的算法忽略 cache
+     *
+     * @param cache 验签缓存，为 null 时不使用缓存
+     */
+    default SignatureDigest digest(VerifiedSignatureCache cache) {
+        return digest();
+    }
+
+    /**
+     * 创建使用验签缓存的独立摘要器，不支持缓存的算法忽略 cache
+     *
+     * @param cache 验签缓存，为 null 时不使用缓存
+     */
+    default SignatureDigest newDigest(VerifiedSignatureCache cache) {
+        return newDigest();
+    }
+
+}
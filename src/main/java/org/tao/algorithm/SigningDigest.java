@@ -0,0 +1,17 @@
+package org.tao.algorithm;
+
+/**
+ * 可生成签名的摘要器，由对称算法的 SigningKey 提供；sign/verify 之后自动重置，可继续复用
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SigningDigest extends SignatureDigest {
+
+    /**
+     * 结束摘要并返回签名字符串
+     */
+    String sign();
+
+}
@@ -0,0 +1,18 @@
+package org.tao.algorithm;
+
+/**
+ * 可同时用于签名与验签的密钥（如 MD5、HMAC 等对称算法），客户端签名器只接受该类型的密钥
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SigningKey extends SignatureKey {
+
+    @Override
+    SigningDigest digest();
+
+    @Override
+    SigningDigest newDigest();
+
+}
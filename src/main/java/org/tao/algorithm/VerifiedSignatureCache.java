@@ -0,0 +1,86 @@
+package org.tao.algorithm;
+
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 最近验签通过的（公钥、消息摘要、签名）缓存，调用方幂等重试同一请求时跳过公钥验签
+ * <p>
+ * 直接映射的定长数组，按消息摘要与签名定位槽位，冲突时直接覆盖，无锁、容量固定；
+ * 命中需公钥为同一对象且消息 SHA-256 与签名完全一致，密钥刷新后旧条目不会再命中。
+ * 只跳过签名计算，时间戳与防重放校验照常进行；缓存属于各自的应用上下文，由验签方获取摘要器时传入
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class VerifiedSignatureCache {
+
+    private final int mask;
+    private final AtomicReferenceArray<Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedSignatureCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalStateException("[验签缓存配置校验] size 必须大于 0，请检查配置！");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.entries = new AtomicReferenceArray<>(size);
+    }
+
+    boolean contains(SignatureKey key, byte[] messageDigest, byte[] signature) {
+        int hash = hash(messageDigest, signature);
+        Entry entry = entries.get(hash & mask);
+        boolean hit = entry != null && entry.key == key && entry.hash == hash
+                && MessageDigest.isEqual(entry.messageDigest, messageDigest) && MessageDigest.isEqual(entry.signature, signature);
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return hit;
+    }
+
+    /**
+     * 记录验签通过的组合，数组由调用方新建，之后不再修改
+     */
+    void put(SignatureKey key, byte[] messageDigest, byte[] signature) {
+        int hash = hash(messageDigest, signature);
+        entries.set(hash & mask, new Entry(key, hash, messageDigest, signature));
+    }
+
+    private static int hash(byte[] messageDigest, byte[] signature) {
+        // 消息摘要为 SHA-256，前 4 字节已足够分散
+        int hash = (messageDigest[0] & 0xFF) | (messageDigest[1] & 0xFF) << 8 | (messageDigest[2] & 0xFF) << 16 | messageDigest[3] << 24;
+        for (int i = 0; i < signature.length && i < 8; i++) {
+            hash = hash * 31 + signature[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static final class Entry {
+        private final SignatureKey key;
+        private final int hash;
+        private final byte[] messageDigest;
+        private final byte[] signature;
+
+        private Entry(SignatureKey key, int hash, byte[] messageDigest, byte[] signature) {
+            this.key = key;
+            this.hash = hash;
+            this.messageDigest = messageDigest;
+            this.signature = signature;
+        }
+    }
+}
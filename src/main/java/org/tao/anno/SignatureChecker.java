@@ -1,6 +1,7 @@
 package org.tao.anno;
 
 import org.tao.consts.SignatureConst;
+import org.tao.enums.SignatureModeEnum;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -17,12 +18,18 @@ public @interface SignatureChecker {
     // 签名生成密钥
     String secretKey() default SignatureConst.EMPTY_STR;
 
+    // 签名算法，未指定时使用 signatureProperties 中该服务编码配置的算法
+    String algorithm() default SignatureConst.EMPTY_STR;
+
     // 签名过期时间，单位为分钟
     int expireMinutes() default -1;
 
     // 默认为true，表示需要验证签名
     boolean required() default true;
 
+    // 鉴权参数来源，HEADER、BODY 模式从 signatureProperties.header 配置的请求头中读取，BODY 模式签名同时覆盖请求体
+    SignatureModeEnum mode() default SignatureModeEnum.PARAMS;
+
     // 返回值类型
     String returnType() default SignatureConst.DEFAULT_RETURN_TYPE;
 
@@ -12,7 +12,7 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SignatureParam {
 
-    // 0:标识serviceCode 1:标识请求参数
+    // 0:标识serviceCode 1:标识请求参数 2:标识批量请求参数（集合或数组）
     SignatureParamTypeEnum type() default SignatureParamTypeEnum.PARAMS;
 
     String requestIdField() default SignatureConst.EMPTY_STR;
@@ -21,4 +21,6 @@ public @interface SignatureParam {
 
     String signatureField() default SignatureConst.EMPTY_STR;
 
+    String keyIdField() default SignatureConst.EMPTY_STR;
+
 }
@@ -0,0 +1,68 @@
+package org.tao.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 定长的多生产者、单消费者环形缓冲区，无锁；缓冲区已满时 offer 直接返回 false，不等待
+ * <p>
+ * 每个槽位带一个序号：序号等于写入位置时槽位空闲，等于写入位置 + 1 时数据已写入可读取，
+ * 生产者通过 CAS 抢占写入位置，消费者读取后将序号推进一圈
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+final class AuditRingBuffer {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    // 槽位数据的可见性由 sequences 的写入与读取保证
+    private final SignatureAuditRecord[] records;
+    private final AtomicLong tail = new AtomicLong();
+    // 仅由消费者线程读写
+    private long head;
+
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.records = new SignatureAuditRecord[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(SignatureAuditRecord record) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    records[index] = record;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 消费者还未读取上一圈的数据，缓冲区已满
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 仅由消费者线程调用，缓冲区为空时返回 null
+     */
+    SignatureAuditRecord poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        SignatureAuditRecord record = records[index];
+        records[index] = null;
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return record;
+    }
+}
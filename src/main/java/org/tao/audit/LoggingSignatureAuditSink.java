@@ -0,0 +1,23 @@
+package org.tao.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 默认的审计输出，写入名为 signature.audit 的日志，便于单独配置输出文件与级别
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class LoggingSignatureAuditSink implements SignatureAuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger("signature.audit");
+
+    @Override
+    public void write(SignatureAuditRecord record) {
+        logger.info("[验签审计] endpoint => {}, serviceCode => {}, requestId => {}, reason => {}, client => {}, latencyMicros => {}, payload => {}",
+                record.getEndpoint(), record.getServiceCode(), record.getRequestId(), record.getReason(), record.getClient(),
+                record.getLatencyNanos() / 1000, record.getPayload());
+    }
+}
@@ -0,0 +1,110 @@
+package org.tao.audit;
+
+import com.alibaba.fastjson2.JSON;
+import org.tao.enums.SignatureFailureReasonEnum;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次验签失败的审计记录
+ * <p>
+ * 请求参数在请求线程中序列化并截断后保存，请求返回后参数对象可能被控制器修改或复用，不能留给后台线程序列化；
+ * 只有通过采样与限流的记录才会序列化，接口名称由后台线程在写入 SignatureAuditSink 之前生成
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignatureAuditRecord {
+
+    private final long timestamp;
+    private final String serviceCode;
+    private final String requestId;
+    private final SignatureFailureReasonEnum reason;
+    private final Method method;
+    private final long latencyNanos;
+    private final String client;
+    // 未开启请求参数采集时为 null
+    private final String payload;
+
+    private String endpoint;
+
+    SignatureAuditRecord(long timestamp, String serviceCode, Object requestId, SignatureFailureReasonEnum reason, Method method,
+                         long latencyNanos, String client, String payload) {
+        this.timestamp = timestamp;
+        this.serviceCode = serviceCode;
+        this.requestId = requestId == null ? null : requestId.toString();
+        this.reason = reason;
+        this.method = method;
+        this.latencyNanos = latencyNanos;
+        this.client = client;
+        this.payload = payload;
+    }
+
+    /**
+     * 序列化并截断请求参数，在请求线程中调用
+     */
+    static String snapshot(Object payloadSource, int maxPayloadChars) {
+        if (payloadSource == null) {
+            return null;
+        }
+        String json;
+        try {
+            json = payloadSource instanceof CharSequence ? payloadSource.toString() : JSON.toJSONString(payloadSource);
+        } catch (Exception e) {
+            return "(序列化失败: " + e.getMessage() + ")";
+        }
+        return json.length() > maxPayloadChars ? json.substring(0, maxPayloadChars) + "...(" + json.length() + ")" : json;
+    }
+
+    /**
+     * 在后台线程中生成接口名称
+     */
+    void resolve() {
+        this.endpoint = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    /**
+     * 失败时间，毫秒时间戳
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getServiceCode() {
+        return serviceCode;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public SignatureFailureReasonEnum getReason() {
+        return reason;
+    }
+
+    /**
+     * 接口名称，格式为 类名#方法名
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 从开始验签到失败的耗时，单位为纳秒
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    /**
+     * 截断后的请求参数 JSON，未开启采集或请求体模式时为 null
+     */
+    public String getPayload() {
+        return payload;
+    }
+}
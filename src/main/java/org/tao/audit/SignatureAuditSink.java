@@ -0,0 +1,19 @@
+package org.tao.audit;
+
+/**
+ * 审计记录的输出目标，由后台线程单线程调用，实现无需考虑并发；自定义实现注册为 Bean 后替换默认的日志输出
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SignatureAuditSink {
+
+    void write(SignatureAuditRecord record);
+
+    /**
+     * 一批记录写入完毕，缓冲区暂时为空时调用
+     */
+    default void flush() {
+    }
+}
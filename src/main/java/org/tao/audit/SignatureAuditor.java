@@ -0,0 +1,215 @@
+package org.tao.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.plan.SignaturePlan;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 验签失败审计：请求线程按失败原因采样、限速后将记录写入无锁环形缓冲区，后台线程批量取出并写入 SignatureAuditSink
+ * <p>
+ * 开启 capturePayload 时，通过采样与限速的记录在请求线程上将请求参数序列化为 JSON 并截断到 maxPayloadChars（参数在请求结束后可能被修改），
+ * 其余格式化与 I/O 均在后台线程进行；缓冲区已满时直接丢弃并计数，被采样、限速丢弃的记录同样计数，可通过 Micrometer 观察
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureAuditor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureAuditor.class);
+
+    private static final SignatureFailureReasonEnum[] REASONS = SignatureFailureReasonEnum.values();
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+    // 缓冲区为空时后台线程的等待时长
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SignatureAuditSink sink;
+    private final AuditRingBuffer buffer;
+    private final boolean capturePayload;
+    private final int maxPayloadChars;
+    // 按失败原因下标的采样率与每秒条数
+    private final double[] sampleRates = new double[REASONS.length];
+    private final int[] rateLimits = new int[REASONS.length];
+    // 按失败原因下标的限速窗口，高 32 位为秒数，低 32 位为该秒已记录的条数
+    private final AtomicLongArray windows = new AtomicLongArray(REASONS.length);
+
+    private final LongAdder bufferFullDropped = new LongAdder();
+    private final LongAdder sampledDropped = new LongAdder();
+    private final LongAdder rateLimitedDropped = new LongAdder();
+    private final LongAdder sinkErrors = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread drainThread;
+
+    public SignatureAuditor(SignatureProperties.Audit audit, SignatureAuditSink sink) {
+        if (audit.getBufferSize() <= 0 || audit.getMaxPayloadChars() <= 0) {
+            throw new IllegalStateException("[审计配置校验] bufferSize、maxPayloadChars 必须大于 0，请检查配置！");
+        }
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer(audit.getBufferSize());
+        this.capturePayload = audit.isCapturePayload();
+        this.maxPayloadChars = audit.getMaxPayloadChars();
+        for (SignatureFailureReasonEnum reason : REASONS) {
+            sampleRates[reason.ordinal()] = audit.getSampleRate();
+            rateLimits[reason.ordinal()] = audit.getRateLimit();
+        }
+        for (Map.Entry<String, Double> entry : audit.getSampleRates().entrySet()) {
+            sampleRates[reason(entry.getKey()).ordinal()] = entry.getValue();
+        }
+        for (Map.Entry<String, Integer> entry : audit.getRateLimits().entrySet()) {
+            rateLimits[reason(entry.getKey()).ordinal()] = entry.getValue();
+        }
+    }
+
+    private static SignatureFailureReasonEnum reason(String name) {
+        for (SignatureFailureReasonEnum reason : REASONS) {
+            if (reason.name().equalsIgnoreCase(name)) {
+                return reason;
+            }
+        }
+        throw new IllegalStateException("[审计配置校验] 未知的失败原因，reason => " + name);
+    }
+
+    @PostConstruct
+    public void start() {
+        drainThread = new Thread(this::drain, "signature-audit");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainThread);
+        drainThread.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * 是否需要采集请求参数，调用方据此决定是否传入 payload
+     */
+    public boolean isCapturePayload() {
+        return capturePayload;
+    }
+
+    /**
+     * 记录一次验签失败，不阻塞；开启 capturePayload 时被记录的请求参数在调用线程上序列化
+     *
+     * @param startNanos 开始验签时的 System.nanoTime()
+     * @param payload    请求参数，未开启采集时忽略
+     */
+    public void record(SignaturePlan plan, String serviceCode, Object requestId, SignatureFailureReasonEnum reason, long startNanos,
+                       String client, Object payload) {
+        int index = reason.ordinal();
+        double sampleRate = sampleRates[index];
+        if (sampleRate < 1.0 && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            sampledDropped.increment();
+            return;
+        }
+        if (!tryAcquire(index)) {
+            rateLimitedDropped.increment();
+            return;
+        }
+        SignatureAuditRecord record = new SignatureAuditRecord(System.currentTimeMillis(), serviceCode, requestId, reason, plan.getMethod(),
+                System.nanoTime() - startNanos, client, capturePayload ? SignatureAuditRecord.snapshot(payload, maxPayloadChars) : null);
+        if (!buffer.offer(record)) {
+            bufferFullDropped.increment();
+        }
+    }
+
+    private boolean tryAcquire(int index) {
+        int limit = rateLimits[index];
+        if (limit <= 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long window = windows.get(index);
+            long next;
+            if ((window >>> 32) != second) {
+                next = (second << 32) | 1;
+            } else if ((window & COUNT_MASK) >= limit) {
+                return false;
+            } else {
+                next = window + 1;
+            }
+            if (windows.compareAndSet(index, window, next)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        boolean pending = false;
+        while (true) {
+            SignatureAuditRecord record = buffer.poll();
+            if (record != null) {
+                write(record);
+                pending = true;
+                continue;
+            }
+            if (pending) {
+                flush();
+                pending = false;
+            }
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void write(SignatureAuditRecord record) {
+        try {
+            record.resolve();
+            sink.write(record);
+        } catch (Throwable e) {
+            sinkErrors.increment();
+            logger.warn("[验签审计] 写入审计记录失败，message => {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        try {
+            sink.flush();
+        } catch (Throwable e) {
+            sinkErrors.increment();
+            logger.warn("[验签审计] 刷新审计输出失败，message => {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 缓冲区已满丢弃的记录数
+     */
+    public long getBufferFullDropped() {
+        return bufferFullDropped.sum();
+    }
+
+    /**
+     * 未被采样丢弃的记录数
+     */
+    public long getSampledDropped() {
+        return sampledDropped.sum();
+    }
+
+    /**
+     * 超过每秒条数丢弃的记录数
+     */
+    public long getRateLimitedDropped() {
+        return rateLimitedDropped.sum();
+    }
+
+    public long getSinkErrors() {
+        return sinkErrors.sum();
+    }
+}
@@ -0,0 +1,94 @@
+package org.tao.client;
+
+import org.springframework.util.StringUtils;
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SignatureKey;
+import org.tao.algorithm.SigningDigest;
+import org.tao.algorithm.SigningKey;
+
+/**
+ * 客户端签名器：创建时解析一次密钥，签名时复用当前线程的摘要器，requestId 与 timestamp 分别来自 RequestIdGenerator 与 CoarseClock
+ * <p>
+ * 签名规则与服务端一致：参数与请求头模式签名 requestId + timestamp，请求体模式在其后追加请求体原始字节
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class ClientSigner {
+
+    private final String serviceCode;
+    // 服务端为该服务编码配置了多把密钥时携带，否则为 null
+    private final String keyId;
+    private final SigningKey signatureKey;
+    private final RequestIdGenerator requestIdGenerator;
+    private final CoarseClock clock;
+
+    public ClientSigner(String serviceCode, String secretKey) {
+        this(serviceCode, null, secretKey, SignatureAlgorithms.MD5.getName());
+    }
+
+    /**
+     * @param algorithm 签名算法名称，需与服务端为该服务编码配置的算法一致，仅支持对称算法
+     */
+    public ClientSigner(String serviceCode, String keyId, String secretKey, String algorithm) {
+        this(serviceCode, keyId, secretKey, algorithm, new RequestIdGenerator(), CoarseClock.shared());
+    }
+
+    public ClientSigner(String serviceCode, String keyId, String secretKey, String algorithm, RequestIdGenerator requestIdGenerator, CoarseClock clock) {
+        if (StringUtils.isEmpty(serviceCode) || StringUtils.isEmpty(secretKey)) {
+            throw new IllegalStateException("[客户端签名] serviceCode、secretKey 不能为空，请检查配置！");
+        }
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithms.get(algorithm);
+        // 公钥签名算法在服务端只持有公钥，客户端需使用私钥自行签名
+        if (signatureAlgorithm.isAsymmetric()) {
+            throw new IllegalStateException("[客户端签名] 不支持公钥签名算法 " + signatureAlgorithm.getName() + "，请使用私钥自行签名！");
+        }
+        SignatureKey key = signatureAlgorithm.createKey(secretKey);
+        // 自定义算法的密钥只能验签时同样无法签名
+        if (!(key instanceof SigningKey)) {
+            throw new IllegalStateException("[客户端签名] 签名算法 " + signatureAlgorithm.getName() + " 的密钥仅支持验签，无法生成签名！");
+        }
+        this.serviceCode = serviceCode;
+        this.keyId = StringUtils.isEmpty(keyId) ? null : keyId;
+        this.signatureKey = (SigningKey) key;
+        this.requestIdGenerator = requestIdGenerator;
+        this.clock = clock;
+    }
+
+    /**
+     * 生成参数模式与请求头模式的鉴权参数
+     */
+    public SignedFields sign() {
+        String requestId = requestIdGenerator.nextId();
+        long timestamp = clock.millis();
+        SigningDigest digest = signatureKey.digest();
+        digest.update(requestId);
+        digest.update(timestamp);
+        return new SignedFields(requestId, timestamp, digest.sign());
+    }
+
+    /**
+     * 生成请求体模式的鉴权参数
+     *
+     * @param body 实际发送的请求体字节
+     */
+    public SignedFields sign(byte[] body, int offset, int len) {
+        String requestId = requestIdGenerator.nextId();
+        long timestamp = clock.millis();
+        SigningDigest digest = signatureKey.digest();
+        digest.update(requestId);
+        digest.update(timestamp);
+        digest.update(body, offset, len);
+        return new SignedFields(requestId, timestamp, digest.sign());
+    }
+
+    public String getServiceCode() {
+        return serviceCode;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+}
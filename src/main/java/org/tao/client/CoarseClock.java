@@ -0,0 +1,60 @@
+package org.tao.client;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 粗粒度时钟：后台线程按固定间隔刷新当前毫秒数，签名时读取 volatile 字段，不调用 System.currentTimeMillis()
+ * <p>
+ * 服务端的有效期以分钟计，毫秒级误差不影响校验
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class CoarseClock {
+
+    private static final long DEFAULT_TICK_MILLIS = 10;
+
+    private static volatile CoarseClock shared;
+
+    private final long tickNanos;
+    private volatile long now = System.currentTimeMillis();
+
+    public CoarseClock(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalStateException("[客户端签名] tickMillis 必须大于 0！");
+        }
+        this.tickNanos = tickMillis * 1_000_000L;
+        Thread thread = new Thread(this::tick, "signature-coarse-clock");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 进程内共享的时钟，刷新间隔为 10 毫秒
+     */
+    public static CoarseClock shared() {
+        CoarseClock clock = shared;
+        if (clock == null) {
+            synchronized (CoarseClock.class) {
+                clock = shared;
+                if (clock == null) {
+                    clock = new CoarseClock(DEFAULT_TICK_MILLIS);
+                    shared = clock;
+                }
+            }
+        }
+        return clock;
+    }
+
+    public long millis() {
+        return now;
+    }
+
+    private void tick() {
+        while (true) {
+            LockSupport.parkNanos(tickNanos);
+            now = System.currentTimeMillis();
+        }
+    }
+}
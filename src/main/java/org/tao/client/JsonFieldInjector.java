@@ -0,0 +1,90 @@
+package org.tao.client;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 将鉴权参数拼接到已序列化的 JSON 对象请求体开头，不解析也不重新序列化请求体
+ * <p>
+ * 请求体本身不应包含同名字段，否则服务端反序列化时以请求体中靠后的值为准
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+final class JsonFieldInjector {
+
+    // 预编码的 "requestId":" 等字段前缀
+    private final byte[] requestIdPrefix;
+    private final byte[] timestampPrefix;
+    private final byte[] signaturePrefix;
+    // 未携带密钥编号时为 null
+    private final byte[] keyIdField;
+
+    JsonFieldInjector(String requestIdField, String timestampField, String signatureField, String keyIdField, String keyId) {
+        this.requestIdPrefix = ("{\"" + requestIdField + "\":\"").getBytes(StandardCharsets.UTF_8);
+        this.timestampPrefix = ("\",\"" + timestampField + "\":").getBytes(StandardCharsets.UTF_8);
+        this.signaturePrefix = (",\"" + signatureField + "\":\"").getBytes(StandardCharsets.UTF_8);
+        this.keyIdField = keyId == null ? null : ("\",\"" + keyIdField + "\":\"" + keyId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param body JSON 对象请求体
+     * @return 在左花括号之后插入鉴权参数的新请求体
+     */
+    byte[] inject(byte[] body, int offset, int len, SignedFields fields) {
+        int end = offset + len;
+        int open = skipWhitespace(body, offset, end);
+        if (open == end || body[open] != '{') {
+            throw new IllegalStateException("[客户端签名] 参数模式的请求体必须是 JSON 对象！");
+        }
+        int rest = open + 1;
+        int next = skipWhitespace(body, rest, end);
+        if (next == end) {
+            throw new IllegalStateException("[客户端签名] 参数模式的请求体必须是 JSON 对象！");
+        }
+        boolean empty = body[next] == '}';
+        String requestId = fields.getRequestId();
+        String timestamp = Long.toString(fields.getTimestamp());
+        String signature = fields.getSignature();
+
+        int size = requestIdPrefix.length + requestId.length() + timestampPrefix.length + timestamp.length()
+                + signaturePrefix.length + signature.length() + 1 + (keyIdField == null ? 0 : keyIdField.length)
+                + (empty ? 0 : 1) + (end - rest);
+        byte[] out = new byte[size];
+        int pos = put(out, 0, requestIdPrefix);
+        pos = putAscii(out, pos, requestId);
+        pos = put(out, pos, timestampPrefix);
+        pos = putAscii(out, pos, timestamp);
+        pos = put(out, pos, signaturePrefix);
+        pos = putAscii(out, pos, signature);
+        if (keyIdField != null) {
+            pos = put(out, pos, keyIdField);
+        }
+        out[pos++] = '"';
+        if (!empty) {
+            out[pos++] = ',';
+        }
+        System.arraycopy(body, rest, out, pos, end - rest);
+        return out;
+    }
+
+    private static int skipWhitespace(byte[] body, int from, int end) {
+        while (from < end && (body[from] == ' ' || body[from] == '\t' || body[from] == '\r' || body[from] == '\n')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int put(byte[] out, int pos, byte[] bytes) {
+        System.arraycopy(bytes, 0, out, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    // requestId、时间戳与签名（十六进制或 Base64）均为 ASCII 字符
+    private static int putAscii(byte[] out, int pos, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            out[pos++] = (byte) value.charAt(i);
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,46 @@
+package org.tao.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁、单调递增的 requestId 生成器，不使用 UUID.randomUUID（其 SecureRandom 在高并发下存在竞争）
+ * <p>
+ * requestId 由 8 位十六进制的进程标识与 16 位十六进制的计数器组成；计数器以启动时的毫秒数左移 16 位为初始值，
+ * 每毫秒平均生成不超过 65536 个时，重启后的计数器不会回到已使用过的区间。进程标识在创建时随机生成，用于区分多个实例
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class RequestIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int COUNTER_CHARS = 16;
+
+    private final char[] prefix;
+    private final AtomicLong counter;
+
+    public RequestIdGenerator() {
+        this(Integer.toHexString(ThreadLocalRandom.current().nextInt() | 0x10000000));
+    }
+
+    /**
+     * @param nodeId 实例标识，多个实例使用同一密钥时需保证不同
+     */
+    public RequestIdGenerator(String nodeId) {
+        this.prefix = nodeId.toCharArray();
+        this.counter = new AtomicLong(System.currentTimeMillis() << 16);
+    }
+
+    public String nextId() {
+        long value = counter.incrementAndGet();
+        char[] chars = new char[prefix.length + COUNTER_CHARS];
+        System.arraycopy(prefix, 0, chars, 0, prefix.length);
+        for (int i = chars.length - 1; i >= prefix.length; i--) {
+            chars[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,73 @@
+package org.tao.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureModeEnum;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate 签名拦截器
+ * <ul>
+ *     <li>HEADER：鉴权参数写入请求头</li>
+ *     <li>BODY：签名覆盖请求体原始字节，鉴权参数写入请求头</li>
+ *     <li>PARAMS：鉴权参数拼接到 JSON 对象请求体中</li>
+ * </ul>
+ * 请求头名称与字段名使用 SignatureProperties 的配置，与服务端保持一致；服务编码始终写入请求头
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureClientInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ClientSigner signer;
+    private final SignatureModeEnum mode;
+    private final SignatureProperties.Header header;
+    // 非 PARAMS 模式时为 null
+    private final JsonFieldInjector injector;
+
+    public SignatureClientInterceptor(ClientSigner signer, SignatureModeEnum mode) {
+        this(signer, mode, new SignatureProperties());
+    }
+
+    public SignatureClientInterceptor(ClientSigner signer, SignatureModeEnum mode, SignatureProperties properties) {
+        if (mode == SignatureModeEnum.CANONICAL) {
+            throw new IllegalStateException("[客户端签名] 暂不支持排序参数签名模式！");
+        }
+        this.signer = signer;
+        this.mode = mode;
+        this.header = properties.getHeader();
+        this.injector = mode == SignatureModeEnum.PARAMS ? new JsonFieldInjector(properties.getRequestIdField(), properties.getTimestampField(),
+                properties.getSignatureField(), properties.getKeyIdField(), signer.getKeyId()) : null;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        headers.set(header.getServiceCode(), signer.getServiceCode());
+        if (mode == SignatureModeEnum.PARAMS) {
+            byte[] signedBody = injector.inject(body, 0, body.length, signer.sign());
+            if (headers.getContentLength() >= 0) {
+                headers.setContentLength(signedBody.length);
+            }
+            return execution.execute(request, signedBody);
+        }
+        SignedFields fields = mode == SignatureModeEnum.BODY ? signer.sign(body, 0, body.length) : signer.sign();
+        writeHeaders(headers, header, fields, signer.getKeyId());
+        return execution.execute(request, body);
+    }
+
+    static void writeHeaders(HttpHeaders headers, SignatureProperties.Header header, SignedFields fields, String keyId) {
+        headers.set(header.getRequestId(), fields.getRequestId());
+        headers.set(header.getTimestamp(), Long.toString(fields.getTimestamp()));
+        headers.set(header.getSignature(), fields.getSignature());
+        if (keyId != null) {
+            headers.set(header.getKeyId(), keyId);
+        }
+    }
+}
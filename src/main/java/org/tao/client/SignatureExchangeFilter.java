@@ -0,0 +1,106 @@
+package org.tao.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureModeEnum;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient 签名过滤器，模式与 SignatureClientInterceptor 相同
+ * <p>
+ * 请求头模式直接写入请求头；请求体模式与参数模式在编码器写出请求体时合并 DataBuffer，
+ * 签名或拼接鉴权参数后再写出，请求头在写出请求体之前设置
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureExchangeFilter implements ExchangeFilterFunction {
+
+    private final ClientSigner signer;
+    private final SignatureModeEnum mode;
+    private final SignatureProperties.Header header;
+    // 非 PARAMS 模式时为 null
+    private final JsonFieldInjector injector;
+
+    public SignatureExchangeFilter(ClientSigner signer, SignatureModeEnum mode) {
+        this(signer, mode, new SignatureProperties());
+    }
+
+    public SignatureExchangeFilter(ClientSigner signer, SignatureModeEnum mode, SignatureProperties properties) {
+        if (mode == SignatureModeEnum.CANONICAL) {
+            throw new IllegalStateException("[客户端签名] 暂不支持排序参数签名模式！");
+        }
+        this.signer = signer;
+        this.mode = mode;
+        this.header = properties.getHeader();
+        this.injector = mode == SignatureModeEnum.PARAMS ? new JsonFieldInjector(properties.getRequestIdField(), properties.getTimestampField(),
+                properties.getSignatureField(), properties.getKeyIdField(), signer.getKeyId()) : null;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        ClientRequest.Builder builder = ClientRequest.from(request).header(header.getServiceCode(), signer.getServiceCode());
+        if (mode == SignatureModeEnum.HEADER) {
+            builder.headers(headers -> SignatureClientInterceptor.writeHeaders(headers, header, signer.sign(), signer.getKeyId()));
+        } else {
+            builder.body((outputMessage, context) -> request.body().insert(new SigningRequest(outputMessage), context));
+        }
+        return next.exchange(builder.build());
+    }
+
+    /**
+     * 合并编码后的请求体，签名后写出
+     */
+    private final class SigningRequest extends ClientHttpRequestDecorator {
+
+        SigningRequest(ClientHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.<DataBuffer>from(body)).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                return super.writeWith(Mono.just(bufferFactory().wrap(sign(bytes))));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMap(Flux::from));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            if (mode == SignatureModeEnum.PARAMS) {
+                return Mono.error(new IllegalStateException("[客户端签名] 参数模式的请求体必须是 JSON 对象！"));
+            }
+            sign(new byte[0]);
+            return super.setComplete();
+        }
+
+        private byte[] sign(byte[] body) {
+            if (mode == SignatureModeEnum.BODY) {
+                SignatureClientInterceptor.writeHeaders(getHeaders(), header, signer.sign(body, 0, body.length), signer.getKeyId());
+                return body;
+            }
+            byte[] signedBody = injector.inject(body, 0, body.length, signer.sign());
+            if (getHeaders().getContentLength() >= 0) {
+                getHeaders().setContentLength(signedBody.length);
+            }
+            return signedBody;
+        }
+    }
+}
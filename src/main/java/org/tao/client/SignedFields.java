@@ -0,0 +1,33 @@
+package org.tao.client;
+
+/**
+ * 一次签名生成的鉴权参数
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignedFields {
+
+    private final String requestId;
+    private final long timestamp;
+    private final String signature;
+
+    SignedFields(String requestId, long timestamp, String signature) {
+        this.requestId = requestId;
+        this.timestamp = timestamp;
+        this.signature = signature;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+}
@@ -1,11 +1,49 @@
 package org.tao.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.tao.algorithm.VerifiedSignatureCache;
 import org.tao.aspect.SignatureAspect;
+import org.tao.audit.LoggingSignatureAuditSink;
+import org.tao.audit.SignatureAuditSink;
+import org.tao.audit.SignatureAuditor;
+import org.tao.exception.GlobalExceptionHandler;
+import org.tao.exception.RejectionTemplates;
+import org.tao.init.AnnotationValidationProcessor;
+import org.tao.key.FileSecretKeyProvider;
+import org.tao.key.PropertiesSecretKeyProvider;
+import org.tao.key.SecretKeyProvider;
+import org.tao.metrics.MicrometerSignatureMetricsListener;
+import org.tao.metrics.SignatureMetrics;
+import org.tao.metrics.SignatureAuditMeterBinder;
+import org.tao.plan.SignaturePlanRegistry;
+import org.tao.reactive.ReactiveSignatureWebFilter;
+import org.tao.replay.ClusterNonceStore;
+import org.tao.replay.LocalNonceStore;
+import org.tao.replay.NonceStore;
+import org.tao.replay.ReplayStore;
+import org.tao.throttle.FailureThrottle;
+import org.tao.verify.SignatureVerifier;
+import org.tao.web.SignatureBodyFilter;
+import org.tao.web.SignatureInterceptor;
 
 
 /**
@@ -16,8 +54,10 @@ import org.tao.aspect.SignatureAspect;
 
 
 @Configuration
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @EnableConfigurationProperties(SignatureProperties.class)
-@ComponentScan(basePackages = {"org.tao"})
+@Import({SignaturePlanRegistry.class, SignatureVerifier.class, SignatureMetrics.class, RejectionTemplates.class,
+        GlobalExceptionHandler.class, AnnotationValidationProcessor.class})
 public class SignatureAutoConfiguration {
 
     @Bean
@@ -26,6 +66,150 @@ public class SignatureAutoConfiguration {
         return new SignatureAspect();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(SecretKeyProvider.class)
+    @ConditionalOnProperty(prefix = "signature", name = "key-file")
+    public FileSecretKeyProvider fileSecretKeyProvider(SignatureProperties signatureProperties) {
+        return new FileSecretKeyProvider(signatureProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SecretKeyProvider.class)
+    public PropertiesSecretKeyProvider propertiesSecretKeyProvider(SignatureProperties signatureProperties, Environment environment) {
+        return new PropertiesSecretKeyProvider(signatureProperties, environment);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "signature.replay", name = "enabled", havingValue = "true")
+    public static class SignatureReplayConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(NonceStore.class)
+        @ConditionalOnProperty(prefix = "signature.replay.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+        public LocalNonceStore localNonceStore(SignatureProperties signatureProperties) {
+            return new LocalNonceStore(signatureProperties.getReplay());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(NonceStore.class)
+        @ConditionalOnProperty(prefix = "signature.replay.cluster", name = "enabled", havingValue = "true")
+        public ClusterNonceStore clusterNonceStore(SignatureProperties signatureProperties, ObjectProvider<ReplayStore> replayStore) {
+            // 未注册 ReplayStore 时启动失败，不静默退化为进程内实现
+            return new ClusterNonceStore(signatureProperties.getReplay(), replayStore.getIfAvailable());
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "signature.throttle", name = "enabled", havingValue = "true")
+    public FailureThrottle failureThrottle(SignatureProperties signatureProperties) {
+        return new FailureThrottle(signatureProperties.getThrottle());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "signature.verified-cache", name = "enabled", havingValue = "true")
+    public VerifiedSignatureCache verifiedSignatureCache(SignatureProperties signatureProperties) {
+        // 由 SignatureVerifier 在获取摘要器时传入，不同应用上下文互不共享
+        return new VerifiedSignatureCache(signatureProperties.getVerifiedCache().getSize());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "signature.audit", name = "enabled", havingValue = "true")
+    public static class SignatureAuditConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SignatureAuditSink signatureAuditSink() {
+            return new LoggingSignatureAuditSink();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SignatureAuditor signatureAuditor(SignatureProperties signatureProperties, SignatureAuditSink signatureAuditSink) {
+            return new SignatureAuditor(signatureProperties.getAudit(), signatureAuditSink);
+        }
+
+        @Configuration
+        @ConditionalOnClass(MeterRegistry.class)
+        @ConditionalOnProperty(prefix = "signature.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public static class SignatureAuditMetricsConfiguration {
+
+            @Bean
+            @ConditionalOnBean(MeterRegistry.class)
+            public SignatureAuditMeterBinder signatureAuditMeterBinder(SignatureAuditor signatureAuditor) {
+                return new SignatureAuditMeterBinder(signatureAuditor);
+            }
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "signature.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static class SignatureMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public MicrometerSignatureMetricsListener micrometerSignatureMetricsListener(MeterRegistry meterRegistry, SignatureProperties signatureProperties) {
+            return new MicrometerSignatureMetricsListener(meterRegistry, signatureProperties.getMetrics());
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(WebMvcConfigurer.class)
+    public static class SignatureWebMvcConfiguration implements WebMvcConfigurer {
+
+        private final ObjectProvider<SignatureInterceptor> signatureInterceptors;
+
+        public SignatureWebMvcConfiguration(ObjectProvider<SignatureInterceptor> signatureInterceptors) {
+            this.signatureInterceptors = signatureInterceptors;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SignatureInterceptor signatureInterceptor() {
+            return new SignatureInterceptor();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "signatureBodyFilter")
+        public FilterRegistrationBean<SignatureBodyFilter> signatureBodyFilter(SignatureProperties signatureProperties) {
+            FilterRegistrationBean<SignatureBodyFilter> registration = new FilterRegistrationBean<>(new SignatureBodyFilter(signatureProperties));
+            // 需先于其他可能读取请求体的过滤器执行
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            return registration;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            // 自定义的 SignatureInterceptor Bean 同样注册到全部路径，拦截器对同一请求只校验一次
+            signatureInterceptors.orderedStream().forEach(registry::addInterceptor);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(WebFilter.class)
+    public static class SignatureWebFluxConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveSignatureWebFilter reactiveSignatureWebFilter(SignaturePlanRegistry signaturePlanRegistry, SignatureVerifier signatureVerifier,
+                                                                     SignatureProperties signatureProperties, RejectionTemplates rejectionTemplates,
+                                                                     SignatureMetrics signatureMetrics,
+                                                                     @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                                                                     ObjectProvider<FailureThrottle> failureThrottle,
+                                                                     ObjectProvider<NonceStore> nonceStore) {
+            // 集群防重放在请求线程上同步等待共享存储，不能在 Netty 事件循环线程上执行
+            if (nonceStore.getIfAvailable() instanceof ClusterNonceStore) {
+                throw new IllegalStateException("[防重放配置校验] 集群防重放仅支持 Servlet 应用，WebFlux 应用请关闭 signature.replay.cluster.enabled！");
+            }
+            return new ReactiveSignatureWebFilter(signaturePlanRegistry, signatureVerifier, signatureProperties, rejectionTemplates,
+                    signatureMetrics, handlerMapping, failureThrottle.getIfAvailable());
+        }
+    }
+
 
 }
 
@@ -1,8 +1,14 @@
 package org.tao.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.tao.enums.CanonicalArrayEnum;
+import org.tao.enums.CanonicalNestedEnum;
+import org.tao.enums.ReplayFailurePolicyEnum;
+import org.tao.enums.ReplayOverflowPolicyEnum;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ConfigurationProperties(prefix = "signature")
@@ -11,10 +17,44 @@ public class SignatureProperties {
     private String requestIdField = "requestId";
     private String timestampField = "timestamp";
     private String signatureField = "signature";
+    // 密钥编号字段，同一服务编码配置多个密钥（keySets）时按该字段选择密钥
+    private String keyIdField = "keyId";
     private Integer expireMinutes = 5;
+    // 默认签名算法，可选 MD5、HMAC-SHA256、HMAC-SHA512、ED25519、ECDSA-SHA256、RSA-SHA256 或自定义算法名称
+    private String algorithm = "MD5";
 
     private Map<String, String> secretKeys = new HashMap<>();
     private Map<String, String> returnJsons = new HashMap<>();
+    // 按返回类型指定验签失败时的 HTTP 状态码，未配置时为 500，返回类型 default 对应默认返回
+    private Map<String, Integer> returnStatuses = new HashMap<>();
+    // 按服务编码单独指定签名算法
+    private Map<String, String> algorithms = new HashMap<>();
+    // 按服务编码配置多个同时生效的密钥，key 为密钥编号，用于密钥轮换
+    private Map<String, Map<String, String>> keySets = new HashMap<>();
+    // 按服务编码配置调用方公钥（PEM、JWK 或 Base64 编码的 X.509），需同时在 algorithms 中指定公钥签名算法
+    private Map<String, String> publicKeys = new HashMap<>();
+    // 密钥文件路径（properties 格式，与 secret-keys、key-sets 配置项相同），配置后从文件加载密钥并监听文件变更
+    private String keyFile;
+    // 忽略编译期生成的验签方法索引，启动时反射扫描全部 Bean；部分验签接口所在模块未经注解处理器编译时开启
+    private boolean ignoreIndex = false;
+
+    private Replay replay = new Replay();
+
+    private Header header = new Header();
+
+    private Body body = new Body();
+
+    private Canonical canonical = new Canonical();
+
+    private Metrics metrics = new Metrics();
+
+    private Throttle throttle = new Throttle();
+
+    private Batch batch = new Batch();
+
+    private Audit audit = new Audit();
+
+    private VerifiedCache verifiedCache = new VerifiedCache();
 
     public Map<String, String> getSecretKeys() {
         return secretKeys;
@@ -24,6 +64,46 @@ public class SignatureProperties {
         this.secretKeys = secretKeys;
     }
 
+    public String getKeyIdField() {
+        return keyIdField;
+    }
+
+    public void setKeyIdField(String keyIdField) {
+        this.keyIdField = keyIdField;
+    }
+
+    public Map<String, Map<String, String>> getKeySets() {
+        return keySets;
+    }
+
+    public void setKeySets(Map<String, Map<String, String>> keySets) {
+        this.keySets = keySets;
+    }
+
+    public Map<String, String> getPublicKeys() {
+        return publicKeys;
+    }
+
+    public void setPublicKeys(Map<String, String> publicKeys) {
+        this.publicKeys = publicKeys;
+    }
+
+    public String getKeyFile() {
+        return keyFile;
+    }
+
+    public void setKeyFile(String keyFile) {
+        this.keyFile = keyFile;
+    }
+
+    public boolean isIgnoreIndex() {
+        return ignoreIndex;
+    }
+
+    public void setIgnoreIndex(boolean ignoreIndex) {
+        this.ignoreIndex = ignoreIndex;
+    }
+
     public Integer getExpireMinutes() {
         return expireMinutes;
     }
@@ -63,4 +143,642 @@ public class SignatureProperties {
     public void setReturnJsons(Map<String, String> returnJsons) {
         this.returnJsons = returnJsons;
     }
+
+    public Map<String, Integer> getReturnStatuses() {
+        return returnStatuses;
+    }
+
+    public void setReturnStatuses(Map<String, Integer> returnStatuses) {
+        this.returnStatuses = returnStatuses;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Map<String, String> getAlgorithms() {
+        return algorithms;
+    }
+
+    public void setAlgorithms(Map<String, String> algorithms) {
+        this.algorithms = algorithms;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    public void setReplay(Replay replay) {
+        this.replay = replay;
+    }
+
+    public Header getHeader() {
+        return header;
+    }
+
+    public void setHeader(Header header) {
+        this.header = header;
+    }
+
+    public Body getBody() {
+        return body;
+    }
+
+    public void setBody(Body body) {
+        this.body = body;
+    }
+
+    public Canonical getCanonical() {
+        return canonical;
+    }
+
+    public void setCanonical(Canonical canonical) {
+        this.canonical = canonical;
+    }
+
+    public Throttle getThrottle() {
+        return throttle;
+    }
+
+    public void setThrottle(Throttle throttle) {
+        this.throttle = throttle;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public void setAudit(Audit audit) {
+        this.audit = audit;
+    }
+
+    public VerifiedCache getVerifiedCache() {
+        return verifiedCache;
+    }
+
+    public void setVerifiedCache(VerifiedCache verifiedCache) {
+        this.verifiedCache = verifiedCache;
+    }
+
+    /**
+     * 公钥验签结果缓存配置，仅对公钥签名算法生效
+     */
+    public static class VerifiedCache {
+
+        // 是否缓存最近验签通过的（公钥、消息、签名）组合，调用方幂等重试时跳过公钥验签
+        private boolean enabled = false;
+        // 缓存槽位数，向上取整为 2 的幂，冲突时覆盖旧条目
+        private int size = 4096;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+    }
+
+    /**
+     * 验签失败审计配置，key 为 SignatureFailureReasonEnum 的名称
+     */
+    public static class Audit {
+
+        // 是否开启审计，开启后验签失败不再同步打印日志，改为写入缓冲区由后台线程输出
+        private boolean enabled = false;
+        // 缓冲区容量，向上取整为 2 的幂，已满时丢弃新记录
+        private Integer bufferSize = 8192;
+        // 默认采样率，0 ~ 1
+        private Double sampleRate = 1.0;
+        // 按失败原因的采样率，未配置时使用 sampleRate
+        private Map<String, Double> sampleRates = new HashMap<>();
+        // 每种失败原因每秒最多记录的条数，0 表示不限制
+        private Integer rateLimit = 1000;
+        // 按失败原因的每秒条数，未配置时使用 rateLimit
+        private Map<String, Integer> rateLimits = new HashMap<>();
+        // 是否记录请求参数（参数模式的 @SignatureParam 参数），可能包含敏感信息，默认关闭
+        private boolean capturePayload = false;
+        // 请求参数 JSON 的最大字符数，超出部分截断
+        private Integer maxPayloadChars = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(Integer bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(Double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Map<String, Double> getSampleRates() {
+            return sampleRates;
+        }
+
+        public void setSampleRates(Map<String, Double> sampleRates) {
+            this.sampleRates = sampleRates;
+        }
+
+        public Integer getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(Integer rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public Map<String, Integer> getRateLimits() {
+            return rateLimits;
+        }
+
+        public void setRateLimits(Map<String, Integer> rateLimits) {
+            this.rateLimits = rateLimits;
+        }
+
+        public boolean isCapturePayload() {
+            return capturePayload;
+        }
+
+        public void setCapturePayload(boolean capturePayload) {
+            this.capturePayload = capturePayload;
+        }
+
+        public Integer getMaxPayloadChars() {
+            return maxPayloadChars;
+        }
+
+        public void setMaxPayloadChars(Integer maxPayloadChars) {
+            this.maxPayloadChars = maxPayloadChars;
+        }
+    }
+
+    /**
+     * 批量验签配置
+     */
+    public static class Batch {
+
+        // 元素数量达到该值时并行校验，否则在当前线程逐条校验
+        private Integer parallelThreshold = 64;
+        // 并行校验的线程数，0 表示使用 ForkJoinPool.commonPool()
+        private Integer parallelism = Runtime.getRuntime().availableProcessors();
+        // 任一元素校验失败后不再校验剩余元素，切面直接拒绝整个请求
+        private boolean failFast = true;
+
+        public Integer getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(Integer parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public boolean isFailFast() {
+            return failFast;
+        }
+
+        public void setFailFast(boolean failFast) {
+            this.failFast = failFast;
+        }
+    }
+
+    /**
+     * 验签失败限流配置
+     */
+    public static class Throttle {
+
+        // 是否开启验签失败限流
+        private boolean enabled = false;
+        // 窗口内失败次数达到该值后封禁
+        private Integer threshold = 20;
+        // 失败计数窗口，单位为秒
+        private Integer windowSeconds = 60;
+        // 封禁时长，单位为秒，封禁期间该调用方的请求不再验签直接拒绝
+        private Integer blockSeconds = 300;
+        // 最多同时跟踪的 服务编码 + 调用方 数量，向上取整为 2 的幂
+        private Integer capacity = 65536;
+        // 读取调用方地址的请求头（如 X-Forwarded-For，取第一个地址），为空时使用 remoteAddr
+        private String clientHeader;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Integer threshold) {
+            this.threshold = threshold;
+        }
+
+        public Integer getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        public void setWindowSeconds(Integer windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+
+        public Integer getBlockSeconds() {
+            return blockSeconds;
+        }
+
+        public void setBlockSeconds(Integer blockSeconds) {
+            this.blockSeconds = blockSeconds;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+
+        public String getClientHeader() {
+            return clientHeader;
+        }
+
+        public void setClientHeader(String clientHeader) {
+            this.clientHeader = clientHeader;
+        }
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 验签指标配置，classpath 中存在 Micrometer 且容器中有 MeterRegistry 时生效
+     */
+    public static class Metrics {
+
+        // 是否输出 Micrometer 指标
+        private boolean enabled = true;
+        // 是否记录各阶段耗时
+        private boolean timingEnabled = true;
+        // 阶段耗时是否输出直方图分桶，用于服务端聚合分位数
+        private boolean percentileHistogram = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isTimingEnabled() {
+            return timingEnabled;
+        }
+
+        public void setTimingEnabled(boolean timingEnabled) {
+            this.timingEnabled = timingEnabled;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    /**
+     * 排序参数签名（@SignatureChecker(mode = CANONICAL)）的拼接规则
+     */
+    public static class Canonical {
+
+        // 签名字段本身是否排除在拼接串之外
+        private boolean excludeSignatureField = true;
+        // 额外排除的字段
+        private List<String> excludeFields = new ArrayList<>();
+        // 是否跳过空值（null、空字符串、空数组与集合）
+        private boolean skipEmpty = true;
+        // 嵌套对象的处理方式
+        private CanonicalNestedEnum nested = CanonicalNestedEnum.JSON;
+        // 数组与集合的处理方式
+        private CanonicalArrayEnum array = CanonicalArrayEnum.JOIN;
+
+        public boolean isExcludeSignatureField() {
+            return excludeSignatureField;
+        }
+
+        public void setExcludeSignatureField(boolean excludeSignatureField) {
+            this.excludeSignatureField = excludeSignatureField;
+        }
+
+        public List<String> getExcludeFields() {
+            return excludeFields;
+        }
+
+        public void setExcludeFields(List<String> excludeFields) {
+            this.excludeFields = excludeFields;
+        }
+
+        public boolean isSkipEmpty() {
+            return skipEmpty;
+        }
+
+        public void setSkipEmpty(boolean skipEmpty) {
+            this.skipEmpty = skipEmpty;
+        }
+
+        public CanonicalNestedEnum getNested() {
+            return nested;
+        }
+
+        public void setNested(CanonicalNestedEnum nested) {
+            this.nested = nested;
+        }
+
+        public CanonicalArrayEnum getArray() {
+            return array;
+        }
+
+        public void setArray(CanonicalArrayEnum array) {
+            this.array = array;
+        }
+    }
+
+    /**
+     * 请求头模式（@SignatureChecker(mode = HEADER)）读取的请求头名称
+     */
+    public static class Header {
+
+        private String requestId = "X-Request-Id";
+        private String timestamp = "X-Timestamp";
+        private String signature = "X-Signature";
+        private String serviceCode = "X-Service-Code";
+        private String keyId = "X-Key-Id";
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public String getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(String timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        public void setSignature(String signature) {
+            this.signature = signature;
+        }
+
+        public String getServiceCode() {
+            return serviceCode;
+        }
+
+        public void setServiceCode(String serviceCode) {
+            this.serviceCode = serviceCode;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+    }
+
+    /**
+     * 请求体模式（@SignatureChecker(mode = BODY)）配置
+     */
+    public static class Body {
+
+        // WebFlux 下签名比较前暂存的请求体上限，单位为字节，超过时直接拒绝；Servlet 下边读边计算摘要，不暂存请求体
+        private Integer maxInMemorySize = 256 * 1024;
+
+        public Integer getMaxInMemorySize() {
+            return maxInMemorySize;
+        }
+
+        public void setMaxInMemorySize(Integer maxInMemorySize) {
+            this.maxInMemorySize = maxInMemorySize;
+        }
+    }
+
+    /**
+     * 防重放配置
+     */
+    public static class Replay {
+
+        // 是否开启 requestId 防重放
+        private boolean enabled = false;
+        // 防重放窗口，单位为分钟，不能小于 expireMinutes，否则启动失败；超前的时间戳另外允许最大时钟偏差（5 分钟）
+        private Integer windowMinutes = 10;
+        // 时间桶宽度，单位为秒，按请求时间戳落桶，整桶过期淘汰
+        private Integer bucketSeconds = 10;
+        // 窗口内最多记录的 requestId 数量，按桶平均分配
+        private Integer capacity = 1000000;
+        // 桶容量已满时的处理策略，默认拒绝请求
+        private ReplayOverflowPolicyEnum overflowPolicy = ReplayOverflowPolicyEnum.REJECT;
+
+        private Cluster cluster = new Cluster();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getWindowMinutes() {
+            return windowMinutes;
+        }
+
+        public void setWindowMinutes(Integer windowMinutes) {
+            this.windowMinutes = windowMinutes;
+        }
+
+        public Integer getBucketSeconds() {
+            return bucketSeconds;
+        }
+
+        public void setBucketSeconds(Integer bucketSeconds) {
+            this.bucketSeconds = bucketSeconds;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Integer capacity) {
+            this.capacity = capacity;
+        }
+
+        public ReplayOverflowPolicyEnum getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(ReplayOverflowPolicyEnum overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Cluster getCluster() {
+            return cluster;
+        }
+
+        public void setCluster(Cluster cluster) {
+            this.cluster = cluster;
+        }
+
+        public static class Cluster {
+
+            // 是否通过 ReplayStore 在集群内共享 requestId，需注册 ReplayStore Bean，否则启动失败；仅支持 Servlet 应用
+            private boolean enabled = false;
+            // 等待共享存储返回的最长时间，单位为毫秒
+            private long timeoutMillis = 50;
+            // 共享存储超时或异常时的处理策略，默认拒绝请求
+            private ReplayFailurePolicyEnum failurePolicy = ReplayFailurePolicyEnum.FAIL_CLOSED;
+            // 单次调用 ReplayStore 的最大 key 数量
+            private int batchSize = 256;
+            // 并发调用 ReplayStore 的后台线程数，即同时进行中的批次数
+            private int pipelines = 2;
+            // 等待写入的请求数上限，超出时按 failurePolicy 处理
+            private int queueCapacity = 65536;
+            // 共享存储中 key 的前缀
+            private String keyPrefix = "signature:replay:";
+            // 是否开启本节点的 Bloom 过滤器，判断为可能见过的 requestId 直接拒绝，不访问共享存储
+            private boolean bloomEnabled = true;
+            // Bloom 过滤器的误判率，即正常请求被误判为重放的概率，按 capacity 估算内存
+            private double bloomFpp = 0.000001;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getTimeoutMillis() {
+                return timeoutMillis;
+            }
+
+            public void setTimeoutMillis(long timeoutMillis) {
+                this.timeoutMillis = timeoutMillis;
+            }
+
+            public ReplayFailurePolicyEnum getFailurePolicy() {
+                return failurePolicy;
+            }
+
+            public void setFailurePolicy(ReplayFailurePolicyEnum failurePolicy) {
+                this.failurePolicy = failurePolicy;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getPipelines() {
+                return pipelines;
+            }
+
+            public void setPipelines(int pipelines) {
+                this.pipelines = pipelines;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public String getKeyPrefix() {
+                return keyPrefix;
+            }
+
+            public void setKeyPrefix(String keyPrefix) {
+                this.keyPrefix = keyPrefix;
+            }
+
+            public boolean isBloomEnabled() {
+                return bloomEnabled;
+            }
+
+            public void setBloomEnabled(boolean bloomEnabled) {
+                this.bloomEnabled = bloomEnabled;
+            }
+
+            public double getBloomFpp() {
+                return bloomFpp;
+            }
+
+            public void setBloomFpp(double bloomFpp) {
+                this.bloomFpp = bloomFpp;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -6,4 +6,7 @@ public class SignatureConst {
 
     public static final String EMPTY_STR = "";
 
+    // 允许调用端时间领先服务器的最大毫秒数
+    public static final long MAX_CLOCK_SKEW_MILLIS = 5 * 60 * 1000;
+
 }
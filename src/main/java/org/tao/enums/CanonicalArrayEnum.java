@@ -0,0 +1,22 @@
+package org.tao.enums;
+
+public enum CanonicalArrayEnum {
+
+    JOIN(1, "数组与集合元素以英文逗号拼接，嵌套对象元素序列化为 JSON"),
+    JSON(2, "数组与集合序列化为 JSON 字符串参与签名"),
+    SKIP(3, "数组与集合不参与签名");
+
+    private Integer code;
+    private String desc;
+
+    CanonicalArrayEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
@@ -0,0 +1,21 @@
+package org.tao.enums;
+
+public enum CanonicalNestedEnum {
+
+    JSON(1, "嵌套对象按 key 排序序列化为 JSON 字符串参与签名"),
+    SKIP(2, "嵌套对象不参与签名");
+
+    private Integer code;
+    private String desc;
+
+    CanonicalNestedEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
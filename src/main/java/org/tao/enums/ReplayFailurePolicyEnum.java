@@ -0,0 +1,21 @@
+package org.tao.enums;
+
+public enum ReplayFailurePolicyEnum {
+
+    FAIL_CLOSED(1, "拒绝请求"),
+    FAIL_OPEN(2, "放行请求，仅由本节点的 Bloom 过滤器判断重放");
+
+    private Integer code;
+    private String desc;
+
+    ReplayFailurePolicyEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
@@ -0,0 +1,21 @@
+package org.tao.enums;
+
+public enum ReplayOverflowPolicyEnum {
+
+    REJECT(1, "拒绝请求"),
+    ALLOW(2, "放行请求，不记录 requestId");
+
+    private Integer code;
+    private String desc;
+
+    ReplayOverflowPolicyEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
@@ -0,0 +1,33 @@
+package org.tao.enums;
+
+public enum SignatureFailureReasonEnum {
+
+    MISSING_SERVICE_CODE(1, "缺失服务编码"),
+    MISSING_SECRET(2, "缺失服务编码对应的密钥"),
+    MISSING_FIELDS(3, "缺失鉴权参数"),
+    CLOCK_SKEW(4, "调用端时间超前于服务器时间"),
+    EXPIRED(5, "请求已过期"),
+    BAD_SIGNATURE(6, "签名不匹配"),
+    REPLAYED(7, "重复请求"),
+    REPLAY_OVERFLOW(8, "防重放容量已满"),
+    INVALID_CONFIG(9, "验签配置无效"),
+    BODY_READ_ERROR(10, "读取请求体失败"),
+    SYSTEM_ERROR(11, "系统异常"),
+    THROTTLED(12, "失败次数过多，已被限流"),
+    REPLAY_STORE_UNAVAILABLE(13, "防重放共享存储不可用"),
+    BODY_TOO_LARGE(14, "请求体超过大小限制");
+
+    private Integer code;
+    private String desc;
+
+    SignatureFailureReasonEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
@@ -0,0 +1,23 @@
+package org.tao.enums;
+
+public enum SignatureModeEnum {
+
+    PARAMS(1, "从 @SignatureParam 标记的方法参数中读取鉴权参数"),
+    HEADER(2, "从请求头中读取鉴权参数，在读取请求体之前校验"),
+    BODY(3, "从请求头中读取鉴权参数，签名覆盖 requestId + timestamp + 请求体，读取请求体时计算摘要"),
+    CANONICAL(4, "从 @SignatureParam 标记的方法参数中读取鉴权参数，签名覆盖全部参数按 key 排序拼接的 k=v&... 串");
+
+    private Integer code;
+    private String desc;
+
+    SignatureModeEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
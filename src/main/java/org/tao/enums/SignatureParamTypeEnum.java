@@ -3,7 +3,8 @@ package org.tao.enums;
 public enum SignatureParamTypeEnum {
 
     SERVICE_CODE(1, "服务编码"),
-    PARAMS(2, "参数");
+    PARAMS(2, "参数"),
+    BATCH(3, "批量参数，集合中每个元素单独签名");
 
     private Integer code;
     private String desc;
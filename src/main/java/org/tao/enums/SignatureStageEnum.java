@@ -0,0 +1,23 @@
+package org.tao.enums;
+
+public enum SignatureStageEnum {
+
+    EXTRACT(1, "从方法参数中提取鉴权参数"),
+    KEY_LOOKUP(2, "查找密钥"),
+    TIMESTAMP(3, "校验时间戳"),
+    DIGEST(4, "计算并比较签名");
+
+    private Integer code;
+    private String desc;
+
+    SignatureStageEnum(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+
+}
@@ -0,0 +1,125 @@
+package org.tao.exception;
+
+import com.alibaba.fastjson2.JSON;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的拒绝响应模板：启动时将 returnJsons 模板按 ${message} 切分并编码为 UTF-8 字节，
+ * 运行期只做字节拼接；同一提示信息的响应（不可变）缓存，之后直接返回同一对象
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class RejectionTemplate {
+
+    public static final String MESSAGE_PLACEHOLDER = "${message}";
+
+    // 提示信息通常为固定文案，超出数量后不再缓存，避免动态信息占用内存
+    private static final int MAX_CACHED_MESSAGES = 256;
+
+    private static final HttpHeaders JSON_HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private final HttpStatus status;
+    // 模板按占位符切分后的片段，片段之间插入提示信息
+    private final byte[][] segments;
+    private final Map<String, ResponseEntity<byte[]>> rendered = new ConcurrentHashMap<>();
+
+    private RejectionTemplate(HttpStatus status, byte[][] segments) {
+        this.status = status;
+        this.segments = segments;
+    }
+
+    /**
+     * 编译模板，模板需为合法的 JSON 对象，占位符需位于字符串值中
+     *
+     * @param template JSON 模板
+     * @param status   HTTP 状态码
+     */
+    public static RejectionTemplate compile(String template, HttpStatus status) {
+        // 统一为紧凑格式，保留字段顺序
+        String compact = JSON.toJSONString(JSON.parseObject(template));
+        List<byte[]> segments = new ArrayList<>();
+        int from = 0;
+        int index;
+        while ((index = compact.indexOf(MESSAGE_PLACEHOLDER, from)) >= 0) {
+            segments.add(compact.substring(from, index).getBytes(StandardCharsets.UTF_8));
+            from = index + MESSAGE_PLACEHOLDER.length();
+        }
+        segments.add(compact.substring(from).getBytes(StandardCharsets.UTF_8));
+        return new RejectionTemplate(status, segments.toArray(new byte[0][]));
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * 渲染响应体，返回的数组可能被多个请求共享，调用方不可修改
+     */
+    public byte[] render(String message) {
+        return response(message).getBody();
+    }
+
+    /**
+     * 渲染完整响应，ResponseEntity 会复制请求头，因此整体缓存而不是每次创建
+     */
+    public ResponseEntity<byte[]> response(String message) {
+        String key = message == null ? "" : message;
+        ResponseEntity<byte[]> response = rendered.get(key);
+        if (response != null) {
+            return response;
+        }
+        response = new ResponseEntity<>(doRender(key), JSON_HEADERS, status);
+        if (rendered.size() < MAX_CACHED_MESSAGES) {
+            rendered.putIfAbsent(key, response);
+        }
+        return response;
+    }
+
+    private byte[] doRender(String message) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        byte[] escaped = escape(message);
+        int length = escaped.length * (segments.length - 1);
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        byte[] result = new byte[length];
+        int pos = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                System.arraycopy(escaped, 0, result, pos, escaped.length);
+                pos += escaped.length;
+            }
+            System.arraycopy(segments[i], 0, result, pos, segments[i].length);
+            pos += segments[i].length;
+        }
+        return result;
+    }
+
+    /**
+     * 按 JSON 字符串内容转义，不含首尾引号
+     */
+    private static byte[] escape(String message) {
+        byte[] quoted = JSON.toJSONString(message).getBytes(StandardCharsets.UTF_8);
+        return Arrays.copyOfRange(quoted, 1, quoted.length - 1);
+    }
+}
@@ -0,0 +1,44 @@
+package org.tao.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.tao.consts.SignatureConst;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按返回类型保存预编译的拒绝响应模板，由 AnnotationValidationProcessor.preCheck 在启动时注册
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+@Component
+public class RejectionTemplates {
+
+    public static final String DEFAULT_TEMPLATE = "{\"code\":500,\"message\":\"" + RejectionTemplate.MESSAGE_PLACEHOLDER + "\"}";
+
+    private final Map<String, RejectionTemplate> templates = new ConcurrentHashMap<>();
+
+    public RejectionTemplates() {
+        templates.put(SignatureConst.DEFAULT_RETURN_TYPE, RejectionTemplate.compile(DEFAULT_TEMPLATE, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    public void register(String returnType, RejectionTemplate template) {
+        templates.put(returnType, template);
+    }
+
+    /**
+     * 获取返回类型对应的模板
+     *
+     * @return 模板，未注册时返回 null
+     */
+    public RejectionTemplate get(String returnType) {
+        return templates.get(returnType);
+    }
+
+    public RejectionTemplate getDefault() {
+        return templates.get(SignatureConst.DEFAULT_RETURN_TYPE);
+    }
+}
@@ -1,17 +1,39 @@
 package org.tao.exception;
 
 import org.tao.consts.SignatureConst;
+import org.tao.enums.SignatureFailureReasonEnum;
 
 public class SignatureValidationException extends RuntimeException {
 
     private String returnType = SignatureConst.DEFAULT_RETURN_TYPE;
 
+    private SignatureFailureReasonEnum reason = SignatureFailureReasonEnum.SYSTEM_ERROR;
+
     public SignatureValidationException(String returnType, String message) {
         super(message);
         this.returnType = returnType;
     }
 
+    public SignatureValidationException(String returnType, SignatureFailureReasonEnum reason, String message) {
+        super(message);
+        this.returnType = returnType;
+        this.reason = reason;
+    }
+
+    /**
+     * 不记录堆栈的异常，可预先创建并在多个请求间复用
+     */
+    protected SignatureValidationException(String returnType, SignatureFailureReasonEnum reason, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.returnType = returnType;
+        this.reason = reason;
+    }
+
     public String getReturnType() {
         return returnType;
     }
+
+    public SignatureFailureReasonEnum getReason() {
+        return reason;
+    }
 }
@@ -0,0 +1,352 @@
+package org.tao.extract;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.reader.ObjectReader;
+import com.alibaba.fastjson2.writer.FieldWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+import org.tao.algorithm.SignatureDigest;
+import org.tao.enums.CanonicalArrayEnum;
+import org.tao.enums.CanonicalNestedEnum;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 将 @SignatureParam 标记的参数按 key 排序拼接为 k1=v1&k2=v2... 并直接写入摘要，不生成拼接字符串
+ * <p>
+ * 普通对象按类解析一次属性并排序，预编码 "key=" 字节；Map 参数每次请求按 key 排序；
+ * 普通对象的属性与字段名取自 fastjson 序列化视图（含 @JSONField、@JSONType(naming)、@JsonProperty 重命名，
+ * 不含 @JSONField(serialize = false)、@JsonIgnore 忽略的属性），并只保留可从请求中反序列化的属性，只有 getter 的计算属性不参与签名；
+ * 基本类型的属性在请求未携带时无法与签名方一致，启动时拒绝；嵌套对象写入 key 逐层排序的紧凑 JSON。
+ * 排序规则为 String.compareTo，字符串按 UTF-8 写入，整数按十进制写入，Date 写入毫秒时间戳，其他类型使用 toString()
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class CanonicalParamWriter {
+
+    private static final Comparator<Map.Entry<?, ?>> ENTRY_ORDER = Comparator.comparing(entry -> String.valueOf(entry.getKey()));
+
+    private final Set<String> excludedFields;
+    private final boolean skipEmpty;
+    private final CanonicalNestedEnum nested;
+    private final CanonicalArrayEnum array;
+
+    // 每个类排序后的属性，null 表示该类需要走 JSON 方式；属性为基本类型时抛出 IllegalStateException
+    private final ClassValue<Property[]> properties = new ClassValue<Property[]>() {
+        @Override
+        protected Property[] computeValue(Class<?> type) {
+            return createProperties(type);
+        }
+    };
+
+    public CanonicalParamWriter(Collection<String> excludedFields, boolean skipEmpty, CanonicalNestedEnum nested, CanonicalArrayEnum array) {
+        this.excludedFields = new HashSet<>(excludedFields);
+        this.skipEmpty = skipEmpty;
+        this.nested = nested;
+        this.array = array;
+    }
+
+    /**
+     * 启动时解析参数类型的属性，类型不支持排序参数签名时抛出 IllegalStateException
+     */
+    public void check(Class<?> type) {
+        if (type != null && !Map.class.isAssignableFrom(type)) {
+            properties.get(type);
+        }
+    }
+
+    /**
+     * 将参数的规范化拼接串写入摘要
+     *
+     * @param digest 摘要器
+     * @param param  @SignatureParam 标记的参数
+     */
+    public void write(SignatureDigest digest, Object param) {
+        if (param == null) {
+            return;
+        }
+        if (param instanceof Map) {
+            writeMap(digest, (Map<?, ?>) param);
+            return;
+        }
+        Property[] props = properties.get(param.getClass());
+        if (props == null) {
+            // 按 JSON 序列化规则（含 @JSONField）取字段名，值保持原对象（含 null），与普通对象的拼接规则一致
+            Object json = JSON.toJSON(param);
+            if (json instanceof Map) {
+                writeMap(digest, (Map<?, ?>) json);
+            } else {
+                writeValue(digest, json);
+            }
+            return;
+        }
+        boolean first = true;
+        for (Property property : props) {
+            Object value = property.read(param);
+            if (isSkipped(value)) {
+                continue;
+            }
+            if (!first) {
+                digest.update((byte) '&');
+            }
+            first = false;
+            digest.update(property.prefix, 0, property.prefix.length);
+            writeValue(digest, value);
+        }
+    }
+
+    private void writeMap(SignatureDigest digest, Map<?, ?> map) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : sortedEntries(map)) {
+            Object key = entry.getKey();
+            String name = key instanceof String ? (String) key : String.valueOf(key);
+            Object value = entry.getValue();
+            if (excludedFields.contains(name) || isSkipped(value)) {
+                continue;
+            }
+            if (!first) {
+                digest.update((byte) '&');
+            }
+            first = false;
+            digest.update(name);
+            digest.update((byte) '=');
+            writeValue(digest, value);
+        }
+    }
+
+    private boolean isSkipped(Object value) {
+        if (value == null) {
+            return skipEmpty;
+        }
+        if (value instanceof CharSequence) {
+            return skipEmpty && ((CharSequence) value).length() == 0;
+        }
+        if (value instanceof Collection || value.getClass().isArray()) {
+            return array == CanonicalArrayEnum.SKIP || (skipEmpty && isEmptyArray(value));
+        }
+        return nested == CanonicalNestedEnum.SKIP && !isScalar(value);
+    }
+
+    private void writeValue(SignatureDigest digest, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Collection || value.getClass().isArray()) {
+            if (array == CanonicalArrayEnum.JSON) {
+                writeJson(digest, value);
+            } else {
+                writeJoined(digest, value);
+            }
+            return;
+        }
+        if (isScalar(value)) {
+            writeScalar(digest, value);
+        } else {
+            writeJson(digest, value);
+        }
+    }
+
+    private void writeJoined(SignatureDigest digest, Object value) {
+        if (value instanceof Collection) {
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    digest.update((byte) ',');
+                }
+                first = false;
+                writeElement(digest, element);
+            }
+            return;
+        }
+        int length = Array.getLength(value);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                digest.update((byte) ',');
+            }
+            writeElement(digest, Array.get(value, i));
+        }
+    }
+
+    private void writeElement(SignatureDigest digest, Object element) {
+        if (element == null) {
+            return;
+        }
+        if (isScalar(element)) {
+            writeScalar(digest, element);
+        } else {
+            writeJson(digest, element);
+        }
+    }
+
+    /**
+     * 嵌套对象写入紧凑 JSON，对象的 key 逐层按字典序排序，保证与字段声明顺序、Map 实现无关
+     */
+    private static void writeJson(SignatureDigest digest, Object value) {
+        if (value == null) {
+            digest.update("null");
+        } else if (value instanceof Map) {
+            digest.update((byte) '{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : sortedEntries((Map<?, ?>) value)) {
+                if (!first) {
+                    digest.update((byte) ',');
+                }
+                first = false;
+                writeJsonString(digest, String.valueOf(entry.getKey()));
+                digest.update((byte) ':');
+                writeJson(digest, entry.getValue());
+            }
+            digest.update((byte) '}');
+        } else if (value instanceof Collection) {
+            digest.update((byte) '[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    digest.update((byte) ',');
+                }
+                first = false;
+                writeJson(digest, element);
+            }
+            digest.update((byte) ']');
+        } else if (value.getClass().isArray()) {
+            digest.update((byte) '[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    digest.update((byte) ',');
+                }
+                writeJson(digest, Array.get(value, i));
+            }
+            digest.update((byte) ']');
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof Enum) {
+            writeJsonString(digest, value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        } else if (isScalar(value)) {
+            writeScalar(digest, value);
+        } else {
+            // 普通对象按 JSON 序列化规则（含 @JSONField）转为 JSONObject 后再排序写入
+            writeJson(digest, JSON.toJSON(value));
+        }
+    }
+
+    private static List<Map.Entry<?, ?>> sortedEntries(Map<?, ?> map) {
+        List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(ENTRY_ORDER);
+        return entries;
+    }
+
+    private static void writeJsonString(SignatureDigest digest, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                // 需要转义时交给 fastjson 处理，常见的纯文本直接写入
+                digest.update(JSON.toJSONString(value));
+                return;
+            }
+        }
+        digest.update((byte) '"');
+        digest.update(value);
+        digest.update((byte) '"');
+    }
+
+    private static void writeScalar(SignatureDigest digest, Object value) {
+        if (value instanceof CharSequence) {
+            digest.update((CharSequence) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            digest.update(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            digest.update((Boolean) value ? "true" : "false");
+        } else if (value instanceof Enum) {
+            digest.update(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            digest.update(((Date) value).getTime());
+        } else {
+            digest.update(value.toString());
+        }
+    }
+
+    private static boolean isEmptyArray(Object value) {
+        return value instanceof Collection ? ((Collection<?>) value).isEmpty() : Array.getLength(value) == 0;
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum || value instanceof Date;
+    }
+
+    private Property[] createProperties(Class<?> type) {
+        if (type.isArray() || type.isPrimitive() || isScalarType(type)) {
+            return null;
+        }
+        ObjectWriter<?> writer;
+        ObjectReader<?> reader;
+        try {
+            writer = JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(type);
+            reader = JSONFactory.getDefaultObjectReaderProvider().getObjectReader(type);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (writer.getFieldWriters().isEmpty()) {
+            // 自定义序列化器等无法按字段读取的类型
+            return null;
+        }
+        // 按 fastjson 序列化后的字段名排序，@JSONField、@JSONType(naming)、@JsonProperty 重命名均生效，忽略的属性不在其中
+        Map<String, Property> sorted = new TreeMap<>();
+        for (FieldWriter<?> fieldWriter : writer.getFieldWriters()) {
+            String name = fieldWriter.fieldName;
+            // 没有对应 setter/字段的计算属性不会从请求中读取，签名方无法提供
+            if (excludedFields.contains(name) || reader.getFieldReader(name) == null) {
+                continue;
+            }
+            if (fieldWriter.fieldClass.isPrimitive()) {
+                throw new IllegalStateException("[验签配置校验] 排序参数签名的参数类型 " + type.getName() + " 的属性 " + name
+                        + " 为基本类型，请求未携带时反序列化为默认值，与签名方的拼接结果不一致，请改为包装类型！");
+            }
+            sorted.put(name, new Property(name, ParamExtractor.createReader(fieldWriter)));
+        }
+        return sorted.values().toArray(new Property[0]);
+    }
+
+    private static boolean isScalarType(Class<?> type) {
+        return CharSequence.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type) || type == Boolean.class
+                || type == Character.class || type.isEnum() || Date.class.isAssignableFrom(type);
+    }
+
+    private static final class Property {
+
+        private final String name;
+        // 预编码的 "key=" 字节
+        private final byte[] prefix;
+        private final FieldReader reader;
+
+        Property(String name, FieldReader reader) {
+            this.name = name;
+            this.prefix = (name + "=").getBytes(StandardCharsets.UTF_8);
+            this.reader = reader;
+        }
+
+        Object read(Object target) {
+            try {
+                return reader.read(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("读取参数字段失败，field => " + name, e);
+            }
+        }
+    }
+}
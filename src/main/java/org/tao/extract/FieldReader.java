@@ -0,0 +1,11 @@
+package org.tao.extract;
+
+/**
+ * 单个字段的读取器，按类生成一次后复用
+ */
+@FunctionalInterface
+public interface FieldReader {
+
+    Object read(Object target) throws Throwable;
+
+}
@@ -0,0 +1,137 @@
+package org.tao.extract;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.writer.FieldWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+
+/**
+ * 从 @SignatureParam 标记的参数中提取指定字段
+ * <p>
+ * Map 参数直接按 key 查找；普通对象按 fastjson 序列化后的字段名（含 @JSONField、@JSONType、@JsonProperty 重命名）
+ * 找到对应的 getter/字段，按类生成一次 MethodHandle 读取器；字段类型非简单类型或使用自定义序列化器的类型退回 JSON 序列化方式
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class ParamExtractor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String[] fieldNames;
+
+    // 每个类对应的读取器，null 表示该类需要走 JSON 方式
+    private final ClassValue<FieldReader[]> readers = new ClassValue<FieldReader[]>() {
+        @Override
+        protected FieldReader[] computeValue(Class<?> type) {
+            return createReaders(type);
+        }
+    };
+
+    public ParamExtractor(String... fieldNames) {
+        this.fieldNames = fieldNames.clone();
+    }
+
+    /**
+     * 提取字段值，返回数组与构造时传入的字段名一一对应，getter 抛出的受检异常包装为 IllegalStateException
+     */
+    @SuppressWarnings("unchecked")
+    public Object[] extract(Object param) {
+        Object[] values = new Object[fieldNames.length];
+        if (param == null) {
+            return values;
+        }
+        if (param instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) param;
+            for (int i = 0; i < fieldNames.length; i++) {
+                values[i] = map.get(fieldNames[i]);
+            }
+            return values;
+        }
+        FieldReader[] fieldReaders = readers.get(param.getClass());
+        if (fieldReaders == null) {
+            Map<String, Object> map = JSON.parseObject(JSON.toJSONString(param), Map.class);
+            if (map != null) {
+                for (int i = 0; i < fieldNames.length; i++) {
+                    values[i] = map.get(fieldNames[i]);
+                }
+            }
+            return values;
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            values[i] = read(fieldReaders[i], fieldNames[i], param);
+        }
+        return values;
+    }
+
+    private static Object read(FieldReader reader, String fieldName, Object param) {
+        try {
+            return reader.read(param);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取参数字段失败，field => " + fieldName, e);
+        }
+    }
+
+    private FieldReader[] createReaders(Class<?> type) {
+        if (type.isArray() || type.isPrimitive()) {
+            return null;
+        }
+        // 按 fastjson 序列化后的字段名查找，与 JSON 方式一致，@JSONField、@JSONType(naming)、@JsonProperty 等重命名均生效
+        ObjectWriter<?> writer = JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(type);
+        if (writer.getFieldWriters().isEmpty()) {
+            // 自定义序列化器等无法按字段读取的类型
+            return null;
+        }
+        FieldReader[] result = new FieldReader[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            FieldWriter<?> fieldWriter = writer.getFieldWriter(fieldNames[i]);
+            if (fieldWriter == null) {
+                // 序列化结果中不存在该字段（如未使用的 keyId），固定返回 null
+                result[i] = target -> null;
+                continue;
+            }
+            if (!isSimpleType(fieldWriter.fieldClass)) {
+                return null;
+            }
+            result[i] = createReader(fieldWriter);
+        }
+        return result;
+    }
+
+    static FieldReader createReader(FieldWriter<?> fieldWriter) {
+        MethodHandle handle = null;
+        try {
+            if (fieldWriter.method != null) {
+                fieldWriter.method.setAccessible(true);
+                handle = LOOKUP.unreflect(fieldWriter.method);
+            } else if (fieldWriter.field != null) {
+                fieldWriter.field.setAccessible(true);
+                handle = LOOKUP.unreflectGetter(fieldWriter.field);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            handle = null;
+        }
+        if (handle == null) {
+            // 无法直接访问时交给 fastjson 读取
+            @SuppressWarnings("unchecked")
+            FieldWriter<Object> writer = (FieldWriter<Object>) fieldWriter;
+            return writer::getFieldValue;
+        }
+        MethodHandle reader = handle.asType(READ_TYPE);
+        return target -> (Object) reader.invokeExact(target);
+    }
+
+    private static boolean isSimpleType(Class<?> clazz) {
+        return clazz.isPrimitive() || CharSequence.class.isAssignableFrom(clazz) || Number.class.isAssignableFrom(clazz)
+                || clazz == Boolean.class || clazz == Character.class;
+    }
+}
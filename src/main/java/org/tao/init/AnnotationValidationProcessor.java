@@ -5,7 +5,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,13 +18,22 @@ import org.tao.anno.SignatureChecker;
 import org.tao.anno.SignatureParam;
 import org.tao.config.SignatureProperties;
 import org.tao.consts.SignatureConst;
+import org.tao.enums.SignatureModeEnum;
 import org.tao.enums.SignatureParamTypeEnum;
 import org.tao.exception.GlobalExceptionHandler;
+import org.tao.exception.RejectionTemplate;
+import org.tao.exception.RejectionTemplates;
+import org.tao.key.SecretKeyProvider;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -30,6 +44,18 @@ public class AnnotationValidationProcessor implements BeanPostProcessor {
     @Resource
     private SignatureProperties signatureProperties;
 
+    @Resource
+    private SignaturePlanRegistry signaturePlanRegistry;
+
+    @Resource
+    private SecretKeyProvider secretKeyProvider;
+
+    @Resource
+    private RejectionTemplates rejectionTemplates;
+
+    // 编译期生成的验签方法索引，不存在或配置忽略时为 null，回退为反射扫描
+    private SignatureCheckerIndex checkerIndex;
+
     @PostConstruct
     public void preCheck() {
         Map<String, String> returnJsons = signatureProperties.getReturnJsons();
@@ -39,41 +65,182 @@ public class AnnotationValidationProcessor implements BeanPostProcessor {
                     log.warn("[验签配置校验] 返回类型 json 字符串配置错误，value => {}", value);
                     throw new IllegalStateException("[验签配置校验] 返回类型 json 字符串配置错误，请检查配置！");
                 }
+                // 预编译返回模板，验签失败时直接输出字节
+                rejectionTemplates.register(key, RejectionTemplate.compile(value, resolveStatus(key)));
             });
         }
+        if (signatureProperties.getReturnStatuses().containsKey(SignatureConst.DEFAULT_RETURN_TYPE)) {
+            rejectionTemplates.register(SignatureConst.DEFAULT_RETURN_TYPE,
+                    RejectionTemplate.compile(RejectionTemplates.DEFAULT_TEMPLATE, resolveStatus(SignatureConst.DEFAULT_RETURN_TYPE)));
+        }
+        loadIndex();
+    }
+
+    private void loadIndex() {
+        if (signatureProperties.isIgnoreIndex()) {
+            return;
+        }
+        try {
+            checkerIndex = SignatureCheckerIndex.load(ClassUtils.getDefaultClassLoader());
+        } catch (IOException e) {
+            log.warn("[验签配置校验] 读取验签方法索引失败，回退为反射扫描，message => {}", e.getMessage());
+            return;
+        }
+        if (checkerIndex == null) {
+            log.info("[验签配置校验] 未找到验签方法索引，启动时反射扫描全部 Bean");
+        } else {
+            log.info("[验签配置校验] 已加载验签方法索引，methods => {}", checkerIndex.size());
+        }
+    }
+
+    private HttpStatus resolveStatus(String returnType) {
+        Integer code = signatureProperties.getReturnStatuses().get(returnType);
+        if (code == null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        HttpStatus status = HttpStatus.resolve(code);
+        if (status == null) {
+            log.warn("[验签配置校验] 返回状态码配置错误，returnType => {}, status => {}", returnType, code);
+            throw new IllegalStateException("[验签配置校验] 返回状态码配置错误，请检查配置！");
+        }
+        return status;
     }
 
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        Class<?> clazz = bean.getClass();
+        if (checkerIndex != null) {
+            processIndexed(bean);
+            return bean;
+        }
+        processReflective(bean.getClass());
+        return bean;
+    }
+
+    /**
+     * 反射遍历类的全部方法，校验并注册带有 @SignatureChecker 的方法
+     *
+     * @return 注册的方法数量
+     */
+    private int processReflective(Class<?> clazz) {
+        int count = 0;
         for (Method method : clazz.getDeclaredMethods()) {
             // 检查方法是否带有 @SignatureChecker
             if (method.isAnnotationPresent(SignatureChecker.class)) {
                 SignatureChecker annotation = method.getAnnotation(SignatureChecker.class);
-
-                if (!StringUtils.isEmpty(annotation.serviceCode()) && StringUtils.isEmpty(annotation.secretKey())) {
-                    if (!signatureProperties.getSecretKeys().containsKey(annotation.serviceCode())) {
-                        log.warn("[验签配置校验] 配置缺失服务编码对应的密钥，serviceCode => {}", annotation.serviceCode());
-                        throw new IllegalStateException("[验签配置校验] 配置缺失服务编码对应的密钥，请检查配置！");
-                    }
+                validateConfiguration(annotation);
+                validateDeclaration(method, annotation);
+                // 预编译校验计划，切面运行期直接按方法查找
+                SignaturePlan plan = SignaturePlan.build(method, signatureProperties);
+                if (plan.getMode() == SignatureModeEnum.CANONICAL && plan.getParamsIndex() < 0) {
+                    throw new IllegalStateException("[验签配置校验] " + method.getName() + " 方法排序参数签名必须带有 @SignatureParam(type = PARAMS) 参数");
                 }
-                if (!annotation.returnType().equals(SignatureConst.DEFAULT_RETURN_TYPE)) {
-                    if (!signatureProperties.getReturnJsons().containsKey(annotation.returnType())) {
-                        log.warn("[验签配置校验] 配置缺失返回类型 JSON 字符串，returnType => {}", annotation.returnType());
-                        throw new IllegalStateException("[验签配置校验] 配置缺失返回类型 JSON 字符串，请检查配置！");
-                    }
+                if (plan.isBatch() && plan.getMode() != SignatureModeEnum.PARAMS && plan.getMode() != SignatureModeEnum.CANONICAL) {
+                    throw new IllegalStateException("[验签配置校验] " + method.getName() + " 方法批量 params 参数仅支持 PARAMS、CANONICAL 模式");
                 }
+                checkReplayWindow(plan);
+                checkCanonicalParams(plan);
+                signaturePlanRegistry.register(plan);
+                count++;
+            }
+        }
+        return count;
+    }
 
-                // 检查是否同时带有 @PostMapping 或 @RequestMapping
-                if (!method.isAnnotationPresent(PostMapping.class) && !method.isAnnotationPresent(RequestMapping.class)) {
-                    throw new IllegalStateException("方法 " + method.getName() + " 必须同时带有 @PostMapping 或 @RequestMapping 注解");
+    /**
+     * 按编译期索引处理：注解声明相关的校验已在编译期完成，这里只校验依赖配置的部分；
+     * 不在索引中的控制器（如未经注解处理器编译的模块、依赖 jar）回退为反射扫描，其他 Bean 直接跳过
+     */
+    private void processIndexed(Object bean) {
+        Class<?> clazz = ClassUtils.getUserClass(bean);
+        if (!checkerIndex.contains(clazz.getName())) {
+            if (AnnotatedElementUtils.hasAnnotation(clazz, Controller.class) || AnnotatedElementUtils.hasAnnotation(clazz, RequestMapping.class)) {
+                int count = processReflective(clazz);
+                if (count > 0) {
+                    log.warn("[验签配置校验] 验签方法未在索引中，已反射扫描，请确认该类所在模块编译时启用了注解处理器，class => {}, methods => {}",
+                            clazz.getName(), count);
                 }
-                // 检查方法参数
+            }
+            return;
+        }
+        List<SignatureCheckerIndex.Entry> entries = checkerIndex.get(clazz.getName());
+        for (Method method : clazz.getDeclaredMethods()) {
+            for (SignatureCheckerIndex.Entry entry : entries) {
+                if (!entry.matches(method)) {
+                    continue;
+                }
+                // 源码修改后未重新编译的旧条目，注解已不存在
+                SignaturePlan plan = SignaturePlan.build(method, entry.getServiceCodeIndex(), entry.getParamsIndex(), signatureProperties);
+                if (plan != null) {
+                    validateConfiguration(method.getAnnotation(SignatureChecker.class));
+                    checkReplayWindow(plan);
+                    checkCanonicalParams(plan);
+                    signaturePlanRegistry.register(plan);
+                }
+                break;
+            }
+        }
+    }
+
+    private void validateConfiguration(SignatureChecker annotation) {
+        if (!StringUtils.isEmpty(annotation.serviceCode()) && StringUtils.isEmpty(annotation.secretKey())) {
+            if (!secretKeyProvider.contains(annotation.serviceCode())) {
+                log.warn("[验签配置校验] 配置缺失服务编码对应的密钥，serviceCode => {}", annotation.serviceCode());
+                throw new IllegalStateException("[验签配置校验] 配置缺失服务编码对应的密钥，请检查配置！");
+            }
+        }
+        if (!annotation.returnType().equals(SignatureConst.DEFAULT_RETURN_TYPE)) {
+            if (!signatureProperties.getReturnJsons().containsKey(annotation.returnType())) {
+                log.warn("[验签配置校验] 配置缺失返回类型 JSON 字符串，returnType => {}", annotation.returnType());
+                throw new IllegalStateException("[验签配置校验] 配置缺失返回类型 JSON 字符串，请检查配置！");
+            }
+        }
+    }
+
+    private void validateDeclaration(Method method, SignatureChecker annotation) {
+        if (annotation.mode() == SignatureModeEnum.HEADER) {
+            // 请求头模式由拦截器校验，支持任意请求映射注解（@GetMapping 等），也不要求 @SignatureParam 参数
+            if (!AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                throw new IllegalStateException("方法 " + method.getName() + " 必须同时带有请求映射注解");
+            }
+        } else {
+            // 检查是否同时带有 @PostMapping 或 @RequestMapping
+            if (!method.isAnnotationPresent(PostMapping.class) && !method.isAnnotationPresent(RequestMapping.class)) {
+                throw new IllegalStateException("方法 " + method.getName() + " 必须同时带有 @PostMapping 或 @RequestMapping 注解");
+            }
+            // 检查方法参数，请求体模式的鉴权参数来自请求头
+            if (annotation.mode() == SignatureModeEnum.PARAMS || annotation.mode() == SignatureModeEnum.CANONICAL) {
                 validateMethodParameters(method);
             }
         }
-        return bean;
+    }
+
+    /**
+     * 排序参数签名在启动时解析参数类型（批量参数为元素类型）的属性，属性为基本类型时启动失败
+     */
+    private void checkCanonicalParams(SignaturePlan plan) {
+        if (plan.getCanonicalWriter() == null || plan.getParamsIndex() < 0) {
+            return;
+        }
+        ResolvableType type = ResolvableType.forMethodParameter(plan.getMethod(), plan.getParamsIndex());
+        if (plan.isBatch()) {
+            type = type.isArray() ? type.getComponentType() : type.asCollection().getGeneric();
+        }
+        plan.getCanonicalWriter().check(type.resolve());
+    }
+
+    private void checkReplayWindow(SignaturePlan plan) {
+        if (!signatureProperties.getReplay().isEnabled() || plan.getExpireMillis() == SignaturePlan.INVALID_EXPIRE) {
+            return;
+        }
+        // 有效期超出窗口时，窗口外仍未过期的请求会被防重放存储拒绝（OUT_OF_WINDOW），永久有效时则无法覆盖
+        long windowMillis = signatureProperties.getReplay().getWindowMinutes() * 60L * 1000;
+        if (plan.getExpireMillis() == 0 || plan.getExpireMillis() > windowMillis) {
+            log.warn("[验签配置校验] 防重放窗口小于请求有效期，method => {}, expireMinutes => {}, windowMinutes => {}",
+                    plan.getMethod().getName(), plan.getExpireMillis() / 60000, signatureProperties.getReplay().getWindowMinutes());
+            throw new IllegalStateException("[验签配置校验] " + plan.getMethod().getName()
+                    + " 方法开启防重放时请求有效期不能为 0 且不能超过防重放窗口，请调整 expireMinutes 或 signature.replay.window-minutes！");
+        }
     }
 
     private void validateMethodParameters(Method method) {
@@ -93,6 +260,10 @@ public class AnnotationValidationProcessor implements BeanPostProcessor {
                         if (isPrimitiveType(aClass)) {
                             throw new IllegalStateException("[验签配置校验] " + method.getName() + " 方法 params 参数" + " 必须是对象类型");
                         }
+                    } else if (signatureParam.type() == SignatureParamTypeEnum.BATCH) {
+                        if (!Collection.class.isAssignableFrom(aClass) && !(aClass.isArray() && !aClass.getComponentType().isPrimitive())) {
+                            throw new IllegalStateException("[验签配置校验] " + method.getName() + " 方法批量 params 参数" + " 必须是集合或对象数组类型");
+                        }
                     } else if (signatureParam.type() == SignatureParamTypeEnum.SERVICE_CODE) {
                         if (aClass != String.class) {
                             throw new IllegalStateException("[验签配置校验] " + method.getName() + " 方法 serviceCode 参数" + " 必须是String类型");
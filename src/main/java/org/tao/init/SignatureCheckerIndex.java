@@ -0,0 +1,165 @@
+package org.tao.init;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译期生成的 @SignatureChecker 方法索引，由 SignatureCheckerProcessor 写入 META-INF/signature-checkers.index
+ * <p>
+ * 每行一个方法，格式为 类名#方法名(参数类型,...)=serviceCode 参数下标,params 参数下标，下标不存在时为 -1；
+ * 启动时只对索引中的类做校验与计划构建，不再反射遍历每个 Bean 的全部方法；不在索引中的控制器回退为反射扫描
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignatureCheckerIndex {
+
+    public static final String LOCATION = "META-INF/signature-checkers.index";
+
+    private static final String COMMENT = "#";
+
+    // key 为类的二进制名称（与 Class.getName() 一致）
+    private final Map<String, List<Entry>> entries;
+
+    private SignatureCheckerIndex(Map<String, List<Entry>> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * 加载类路径下全部索引文件，不存在任何索引文件时返回 null，调用方回退到反射扫描
+     */
+    public static SignatureCheckerIndex load(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> urls = classLoader.getResources(LOCATION);
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        Map<String, List<Entry>> entries = new HashMap<>();
+        while (urls.hasMoreElements()) {
+            try (InputStream in = urls.nextElement().openStream()) {
+                for (String line : readLines(in)) {
+                    Entry entry = Entry.parse(line);
+                    entries.computeIfAbsent(entry.getClassName(), k -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+        return new SignatureCheckerIndex(entries);
+    }
+
+    /**
+     * 读取索引文件的有效行，忽略空行与 # 开头的注释行
+     */
+    public static List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith(COMMENT)) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    public boolean contains(String className) {
+        return entries.containsKey(className);
+    }
+
+    public List<Entry> get(String className) {
+        List<Entry> list = entries.get(className);
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    public int size() {
+        int size = 0;
+        for (List<Entry> list : entries.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    public static final class Entry {
+
+        private final String className;
+        private final String methodName;
+        // 参数类型的规范名称（与 Class.getCanonicalName() 一致），泛型已擦除
+        private final String[] parameterTypes;
+        private final int serviceCodeIndex;
+        private final int paramsIndex;
+
+        public Entry(String className, String methodName, String[] parameterTypes, int serviceCodeIndex, int paramsIndex) {
+            this.className = className;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+            this.serviceCodeIndex = serviceCodeIndex;
+            this.paramsIndex = paramsIndex;
+        }
+
+        public static Entry parse(String line) {
+            int hash = line.indexOf('#');
+            int open = line.indexOf('(', hash);
+            int close = line.indexOf(')', open);
+            int equals = line.indexOf('=', close);
+            int comma = line.indexOf(',', equals);
+            if (hash <= 0 || open < 0 || close < 0 || equals < 0 || comma < 0) {
+                throw new IllegalStateException("[验签配置校验] 验签方法索引格式错误，line => " + line);
+            }
+            String types = line.substring(open + 1, close);
+            return new Entry(line.substring(0, hash), line.substring(hash + 1, open),
+                    types.isEmpty() ? new String[0] : types.split(","),
+                    Integer.parseInt(line.substring(equals + 1, comma).trim()), Integer.parseInt(line.substring(comma + 1).trim()));
+        }
+
+        /**
+         * 索引行中 = 之前的部分，用于合并增量编译前后的索引
+         */
+        public String getKey() {
+            return className + "#" + methodName + "(" + String.join(",", parameterTypes) + ")";
+        }
+
+        public String format() {
+            return getKey() + "=" + serviceCodeIndex + "," + paramsIndex;
+        }
+
+        public boolean matches(Method method) {
+            if (!method.getName().equals(methodName) || method.getParameterCount() != parameterTypes.length) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            for (int i = 0; i < types.length; i++) {
+                if (!parameterTypes[i].equals(types[i].getCanonicalName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public int getServiceCodeIndex() {
+            return serviceCodeIndex;
+        }
+
+        public int getParamsIndex() {
+            return paramsIndex;
+        }
+    }
+}
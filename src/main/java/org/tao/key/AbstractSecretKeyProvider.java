@@ -0,0 +1,92 @@
+package org.tao.key;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.StringUtils;
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SignatureKey;
+import org.tao.config.SignatureProperties;
+
+/**
+ * 基于不可变快照的密钥来源：读取只访问 volatile 快照，刷新时构建新快照后整体替换，构建失败时保留旧快照
+ * <p>
+ * 收到 SecretKeyRefreshEvent 时自动刷新
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public abstract class AbstractSecretKeyProvider implements SecretKeyProvider, ApplicationListener<SecretKeyRefreshEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractSecretKeyProvider.class);
+
+    protected final SignatureProperties signatureProperties;
+
+    private volatile SecretKeySnapshot snapshot = SecretKeySnapshot.EMPTY;
+
+    protected AbstractSecretKeyProvider(SignatureProperties signatureProperties) {
+        this.signatureProperties = signatureProperties;
+    }
+
+    /**
+     * 加载最新的密钥配置
+     */
+    protected abstract SecretKeySnapshot load() throws Exception;
+
+    @Override
+    public SignatureKey getKey(String serviceCode, String keyId, SignatureAlgorithm algorithm) {
+        return snapshot.getKey(serviceCode, keyId, algorithm);
+    }
+
+    @Override
+    public boolean contains(String serviceCode) {
+        return snapshot.contains(serviceCode);
+    }
+
+    @Override
+    public synchronized void refresh() {
+        try {
+            SecretKeySnapshot loaded = load();
+            if (snapshot != SecretKeySnapshot.EMPTY && !accept(snapshot, loaded)) {
+                return;
+            }
+            this.snapshot = loaded;
+            logger.info("[验签密钥] 密钥已加载，provider => {}, services => {}", getClass().getSimpleName(), loaded.size());
+        } catch (Exception e) {
+            // 启动时加载失败直接抛出，运行期刷新失败保留旧密钥
+            if (snapshot == SecretKeySnapshot.EMPTY) {
+                throw new IllegalStateException("[验签密钥] 密钥加载失败，请检查配置！", e);
+            }
+            logger.error("[验签密钥] 密钥刷新失败，继续使用旧密钥，provider => {}, message => {}", getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 校验运行期刷新加载的快照，返回 false 时继续使用旧快照，默认全部接受
+     */
+    protected boolean accept(SecretKeySnapshot current, SecretKeySnapshot loaded) {
+        return true;
+    }
+
+    @Override
+    public void onApplicationEvent(SecretKeyRefreshEvent event) {
+        refresh();
+    }
+
+    /**
+     * 按 source 中的 secret-keys、key-sets、public-keys 与 algorithms、algorithm 构建快照，刷新后新配置的算法随密钥一起生效
+     */
+    protected SecretKeySnapshot build(SignatureProperties source) {
+        return SecretKeySnapshot.build(source.getSecretKeys(), source.getKeySets(), source.getPublicKeys(), serviceCode -> getAlgorithm(source, serviceCode));
+    }
+
+    /**
+     * 获取服务编码配置的签名算法，未单独配置时使用 signature.algorithm
+     */
+    protected SignatureAlgorithm getAlgorithm(SignatureProperties source, String serviceCode) {
+        String name = source.getAlgorithms().get(serviceCode);
+        return SignatureAlgorithms.get(StringUtils.isEmpty(name) ? source.getAlgorithm() : name);
+    }
+}
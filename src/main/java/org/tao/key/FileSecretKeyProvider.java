@@ -0,0 +1,173 @@
+package org.tao.key;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.tao.config.SignatureProperties;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从密钥文件加载密钥并监听文件变更，文件为 properties 格式，配置项与应用配置相同：
+ * <pre>
+ * signature.secret-keys.serviceA=secret
+ * signature.key-sets.serviceB.k1=secret1
+ * signature.key-sets.serviceB.k2=secret2
+ * signature.algorithms.serviceB=HMAC-SHA256
+ * </pre>
+ * 文件中未配置 signature.algorithm 与 signature.algorithms 的服务编码使用应用配置
+ * 监听文件所在目录，文件在 500 毫秒内不再变更后才重新加载。更新文件时应先在同一目录写入临时文件，再重命名覆盖（如 mv），
+ * 保证读取到的总是完整文件；直接覆盖写入时可能读到写了一半的文件，此时新文件中缺少已加载的服务编码则不会生效，
+ * 但无法识别写了一半的密钥值。确需删除服务编码时，修改文件后发布 SecretKeyRefreshEvent 或重启应用
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class FileSecretKeyProvider extends AbstractSecretKeyProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSecretKeyProvider.class);
+
+    // 文件变更后等待不再变更的时间
+    private static final long DEBOUNCE_MILLIS = 500L;
+
+    private final Path file;
+
+    private WatchService watchService;
+    // 由文件监听触发的刷新，此时拒绝缺少服务编码的新文件
+    private boolean watching;
+    private Thread watchThread;
+
+    public FileSecretKeyProvider(SignatureProperties signatureProperties) {
+        super(signatureProperties);
+        this.file = Paths.get(signatureProperties.getKeyFile()).toAbsolutePath();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        refresh();
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchThread = new Thread(this::watch, "signature-key-file-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    @Override
+    protected SecretKeySnapshot load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file); Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        SignatureProperties source = new Binder(new MapConfigurationPropertySource(properties))
+                .bind("signature", SignatureProperties.class).orElseGet(SignatureProperties::new);
+        // 文件中未配置的签名算法使用应用配置
+        if (!properties.containsKey("signature.algorithm")) {
+            source.setAlgorithm(signatureProperties.getAlgorithm());
+        }
+        Map<String, String> algorithms = new HashMap<>(signatureProperties.getAlgorithms());
+        algorithms.putAll(source.getAlgorithms());
+        source.setAlgorithms(algorithms);
+        return build(source);
+    }
+
+    @Override
+    protected boolean accept(SecretKeySnapshot current, SecretKeySnapshot loaded) {
+        if (!watching) {
+            return true;
+        }
+        Set<String> missing = new TreeSet<>(current.serviceCodes());
+        missing.removeAll(loaded.serviceCodes());
+        if (missing.isEmpty()) {
+            return true;
+        }
+        logger.warn("[验签密钥] 密钥文件缺少已加载的服务编码，可能尚未写入完成，继续使用旧密钥，file => {}, missing => {}", file, missing);
+        return false;
+    }
+
+    private synchronized void reload() {
+        watching = true;
+        try {
+            refresh();
+        } finally {
+            watching = false;
+        }
+    }
+
+    private void watch() {
+        Path fileName = file.getFileName();
+        while (true) {
+            try {
+                WatchKey key = watchService.take();
+                boolean changed = changed(key, fileName);
+                if (!reset(key)) {
+                    return;
+                }
+                if (!changed) {
+                    continue;
+                }
+                // 等待文件在 DEBOUNCE_MILLIS 内不再变更，避免读到写入中的文件
+                long quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+                long remaining;
+                while ((remaining = quietUntil - System.nanoTime()) > 0 && (key = watchService.poll(remaining, TimeUnit.NANOSECONDS)) != null) {
+                    if (changed(key, fileName)) {
+                        quietUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+                    }
+                    if (!reset(key)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            logger.info("[验签密钥] 密钥文件已变更，file => {}", file);
+            reload();
+        }
+    }
+
+    private static boolean changed(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean reset(WatchKey key) {
+        if (key.reset()) {
+            return true;
+        }
+        logger.warn("[验签密钥] 密钥文件目录不可访问，停止监听，file => {}", file);
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package org.tao.key;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.tao.config.SignatureProperties;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 从应用配置（signature.secret-keys、signature.key-sets）加载密钥，刷新时从 Environment 重新绑定，
+ * 配置中心更新 Environment 后发布 SecretKeyRefreshEvent 即可生效
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class PropertiesSecretKeyProvider extends AbstractSecretKeyProvider {
+
+    private final Environment environment;
+
+    public PropertiesSecretKeyProvider(SignatureProperties signatureProperties, Environment environment) {
+        super(signatureProperties);
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Override
+    protected SecretKeySnapshot load() {
+        SignatureProperties source = Binder.get(environment).bind("signature", SignatureProperties.class).orElse(signatureProperties);
+        return build(source);
+    }
+}
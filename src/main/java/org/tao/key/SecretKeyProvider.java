@@ -0,0 +1,35 @@
+package org.tao.key;
+
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureKey;
+
+/**
+ * 密钥来源，运行期按服务编码与密钥编号获取密钥；实现需保证读取无锁，刷新时整体替换
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SecretKeyProvider {
+
+    /**
+     * 获取服务编码对应的密钥
+     *
+     * @param serviceCode 服务编码
+     * @param keyId       密钥编号，为空时使用该服务的默认密钥
+     * @param algorithm   签名算法，为 null 时使用该服务配置的算法
+     * @return 密钥对象，未配置时返回 null
+     */
+    SignatureKey getKey(String serviceCode, String keyId, SignatureAlgorithm algorithm);
+
+    /**
+     * 是否配置了服务编码对应的密钥
+     */
+    boolean contains(String serviceCode);
+
+    /**
+     * 重新加载密钥
+     */
+    void refresh();
+
+}
@@ -0,0 +1,17 @@
+package org.tao.key;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 发布该事件后 SecretKeyProvider 重新加载密钥，可在配置中心变更回调中发布
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SecretKeyRefreshEvent extends ApplicationEvent {
+
+    public SecretKeyRefreshEvent(Object source) {
+        super(source);
+    }
+}
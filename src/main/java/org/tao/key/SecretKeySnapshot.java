@@ -0,0 +1,122 @@
+package org.tao.key;
+
+import org.springframework.util.StringUtils;
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureKey;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 某一时刻全部服务编码的密钥，构建后不可变，刷新时由 SecretKeyProvider 整体替换
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SecretKeySnapshot {
+
+    public static final SecretKeySnapshot EMPTY = new SecretKeySnapshot(Collections.emptyMap());
+
+    private final Map<String, ServiceKeySet> serviceKeys;
+
+    private SecretKeySnapshot(Map<String, ServiceKeySet> serviceKeys) {
+        this.serviceKeys = serviceKeys;
+    }
+
+    public static SecretKeySnapshot build(Map<String, String> secretKeys, Map<String, Map<String, String>> keySets,
+                                          Function<String, SignatureAlgorithm> algorithms) {
+        return build(secretKeys, keySets, null, algorithms);
+    }
+
+    /**
+     * 解析密钥配置
+     *
+     * @param secretKeys 服务编码对应的默认密钥
+     * @param keySets    服务编码对应的多个密钥，key 为密钥编号
+     * @param publicKeys 服务编码对应的调用方公钥，与 secretKeys 中的服务编码不能重复
+     * @param algorithms 服务编码配置的签名算法
+     */
+    public static SecretKeySnapshot build(Map<String, String> secretKeys, Map<String, Map<String, String>> keySets,
+                                          Map<String, String> publicKeys, Function<String, SignatureAlgorithm> algorithms) {
+        Map<String, ServiceKey> defaults = new HashMap<>();
+        Map<String, Map<String, ServiceKey>> keyed = new HashMap<>();
+        if (secretKeys != null) {
+            secretKeys.forEach((serviceCode, secret) -> {
+                if (!StringUtils.isEmpty(secret)) {
+                    defaults.put(serviceCode, new ServiceKey(secret, algorithms.apply(serviceCode)));
+                }
+            });
+        }
+        if (publicKeys != null) {
+            publicKeys.forEach((serviceCode, publicKey) -> {
+                if (StringUtils.isEmpty(publicKey)) {
+                    return;
+                }
+                if (defaults.containsKey(serviceCode)) {
+                    throw new IllegalStateException("[验签密钥] 服务编码同时配置了密钥与公钥，serviceCode => " + serviceCode);
+                }
+                defaults.put(serviceCode, new ServiceKey(publicKey, algorithms.apply(serviceCode), true));
+            });
+        }
+        if (keySets != null) {
+            keySets.forEach((serviceCode, keys) -> {
+                if (keys == null) {
+                    return;
+                }
+                keys.forEach((keyId, secret) -> {
+                    if (!StringUtils.isEmpty(secret)) {
+                        keyed.computeIfAbsent(serviceCode, k -> new HashMap<>()).put(keyId, new ServiceKey(secret, algorithms.apply(serviceCode)));
+                    }
+                });
+            });
+        }
+
+        Map<String, ServiceKeySet> result = new HashMap<>();
+        defaults.forEach((serviceCode, key) -> result.put(serviceCode, new ServiceKeySet(key, keyed.get(serviceCode))));
+        keyed.forEach((serviceCode, keys) -> {
+            if (!result.containsKey(serviceCode)) {
+                // 未配置默认密钥时，仅有一个密钥的服务可以不传密钥编号
+                ServiceKey defaultKey = keys.size() == 1 ? keys.values().iterator().next() : null;
+                result.put(serviceCode, new ServiceKeySet(defaultKey, keys));
+            }
+        });
+        return new SecretKeySnapshot(result);
+    }
+
+    public SignatureKey getKey(String serviceCode, String keyId, SignatureAlgorithm algorithm) {
+        ServiceKeySet keySet = serviceKeys.get(serviceCode);
+        if (keySet == null) {
+            return null;
+        }
+        ServiceKey serviceKey = StringUtils.isEmpty(keyId) ? keySet.defaultKey : keySet.keys.get(keyId);
+        return serviceKey == null ? null : serviceKey.getKey(algorithm);
+    }
+
+    public boolean contains(String serviceCode) {
+        return serviceKeys.containsKey(serviceCode);
+    }
+
+    public int size() {
+        return serviceKeys.size();
+    }
+
+    public Set<String> serviceCodes() {
+        return Collections.unmodifiableSet(serviceKeys.keySet());
+    }
+
+    private static final class ServiceKeySet {
+
+        // 未携带密钥编号时使用的密钥，可能为 null
+        private final ServiceKey defaultKey;
+        private final Map<String, ServiceKey> keys;
+
+        ServiceKeySet(ServiceKey defaultKey, Map<String, ServiceKey> keys) {
+            this.defaultKey = defaultKey;
+            this.keys = keys == null ? Collections.emptyMap() : keys;
+        }
+    }
+}
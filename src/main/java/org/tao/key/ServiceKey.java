@@ -0,0 +1,60 @@
+package org.tao.key;
+
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 服务编码对应的密钥，按配置的默认算法预先解析，其他算法在首次使用时解析并缓存
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class ServiceKey {
+
+    private final String secret;
+    // 是否为调用方公钥，公钥是公开的，不能被对称算法当作密钥使用
+    private final boolean publicKey;
+    private final SignatureKey defaultKey;
+    private final Map<SignatureAlgorithm, SignatureKey> otherKeys = new ConcurrentHashMap<>();
+
+    public ServiceKey(String secret, SignatureAlgorithm defaultAlgorithm) {
+        this(secret, defaultAlgorithm, false);
+    }
+
+    public ServiceKey(String secret, SignatureAlgorithm defaultAlgorithm, boolean publicKey) {
+        this.secret = secret;
+        this.publicKey = publicKey;
+        checkAlgorithm(defaultAlgorithm);
+        this.defaultKey = defaultAlgorithm.createKey(secret);
+    }
+
+    private void checkAlgorithm(SignatureAlgorithm algorithm) {
+        if (algorithm.isAsymmetric() != publicKey) {
+            throw new IllegalStateException(publicKey
+                    ? "[验签密钥] 公钥只能用于公钥签名算法，algorithm => " + algorithm.getName()
+                    : "[验签密钥] 公钥签名算法需在 public-keys 中配置公钥，algorithm => " + algorithm.getName());
+        }
+    }
+
+    /**
+     * 获取指定算法的密钥
+     *
+     * @param algorithm 签名算法，为 null 时使用该服务配置的算法
+     * @return 密钥对象
+     */
+    public SignatureKey getKey(SignatureAlgorithm algorithm) {
+        if (algorithm == null || algorithm == defaultKey.getAlgorithm()) {
+            return defaultKey;
+        }
+        SignatureKey key = otherKeys.get(algorithm);
+        if (key != null) {
+            return key;
+        }
+        checkAlgorithm(algorithm);
+        return otherKeys.computeIfAbsent(algorithm, a -> a.createKey(secret));
+    }
+}
@@ -0,0 +1,146 @@
+package org.tao.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureStageEnum;
+import org.tao.plan.SignaturePlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Micrometer 指标：
+ * <ul>
+ *     <li>signature.verifications 计数，标签 endpoint、serviceCode、result（pass/fail）、reason</li>
+ *     <li>signature.stage.duration 阶段耗时，标签 endpoint、stage</li>
+ * </ul>
+ * 指标对象按接口、服务编码首次使用时注册并缓存，之后记录只做无锁查找
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class MicrometerSignatureMetricsListener implements SignatureMetricsListener {
+
+    public static final String VERIFICATIONS = "signature.verifications";
+    public static final String STAGE_DURATION = "signature.stage.duration";
+
+    private static final String UNKNOWN = "unknown";
+    private static final SignatureFailureReasonEnum[] REASONS = SignatureFailureReasonEnum.values();
+    private static final SignatureStageEnum[] STAGES = SignatureStageEnum.values();
+
+    private final MeterRegistry registry;
+    private final SignatureProperties.Metrics config;
+    private final Map<SignaturePlan, PlanMeters> planMeters = new ConcurrentHashMap<>();
+
+    public MicrometerSignatureMetricsListener(MeterRegistry registry, SignatureProperties.Metrics config) {
+        this.registry = registry;
+        this.config = config;
+    }
+
+    @Override
+    public boolean isTimingEnabled() {
+        return config.isTimingEnabled();
+    }
+
+    @Override
+    public void onSuccess(SignaturePlan plan, String serviceCode) {
+        meters(plan).service(serviceCode).success().increment();
+    }
+
+    @Override
+    public void onFailure(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+        meters(plan).service(serviceCode).failure(reason).increment();
+    }
+
+    @Override
+    public void onStage(SignaturePlan plan, SignatureStageEnum stage, long nanos) {
+        meters(plan).stages[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private PlanMeters meters(SignaturePlan plan) {
+        PlanMeters meters = planMeters.get(plan);
+        if (meters != null) {
+            return meters;
+        }
+        return planMeters.computeIfAbsent(plan, PlanMeters::new);
+    }
+
+    private final class PlanMeters {
+
+        private final String endpoint;
+        private final Timer[] stages = new Timer[STAGES.length];
+        private final Map<String, ServiceMeters> services = new ConcurrentHashMap<>();
+        private final ServiceMeters unknownService;
+
+        PlanMeters(SignaturePlan plan) {
+            this.endpoint = plan.getMethod().getDeclaringClass().getSimpleName() + "#" + plan.getMethod().getName();
+            for (SignatureStageEnum stage : STAGES) {
+                stages[stage.ordinal()] = Timer.builder(STAGE_DURATION)
+                        .tag("endpoint", endpoint)
+                        .tag("stage", stage.name())
+                        .publishPercentileHistogram(config.isPercentileHistogram())
+                        .register(registry);
+            }
+            this.unknownService = new ServiceMeters(endpoint, UNKNOWN);
+        }
+
+        ServiceMeters service(String serviceCode) {
+            if (serviceCode == null) {
+                return unknownService;
+            }
+            ServiceMeters meters = services.get(serviceCode);
+            if (meters != null) {
+                return meters;
+            }
+            return services.computeIfAbsent(serviceCode, code -> new ServiceMeters(endpoint, code));
+        }
+    }
+
+    private final class ServiceMeters {
+
+        private final String endpoint;
+        private final String serviceCode;
+        // 计数器在首次出现时注册，避免输出大量恒为 0 的指标
+        private volatile Counter success;
+        private final AtomicReferenceArray<Counter> failures = new AtomicReferenceArray<>(REASONS.length);
+
+        ServiceMeters(String endpoint, String serviceCode) {
+            this.endpoint = endpoint;
+            this.serviceCode = serviceCode;
+        }
+
+        Counter success() {
+            Counter counter = success;
+            if (counter == null) {
+                counter = counter("pass", "none");
+                success = counter;
+            }
+            return counter;
+        }
+
+        Counter failure(SignatureFailureReasonEnum reason) {
+            Counter counter = failures.get(reason.ordinal());
+            if (counter == null) {
+                // 并发注册时 MeterRegistry 返回同一个实例
+                counter = counter("fail", reason.name());
+                failures.set(reason.ordinal(), counter);
+            }
+            return counter;
+        }
+
+        private Counter counter(String result, String reason) {
+            return Counter.builder(VERIFICATIONS)
+                    .tag("endpoint", endpoint)
+                    .tag("serviceCode", serviceCode)
+                    .tag("result", result)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
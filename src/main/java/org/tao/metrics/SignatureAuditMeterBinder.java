@@ -0,0 +1,41 @@
+package org.tao.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.tao.audit.SignatureAuditor;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 审计丢弃计数：signature.audit.dropped，标签 cause（buffer_full、sampled、rate_limited、sink_error）
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureAuditMeterBinder implements MeterBinder {
+
+    public static final String DROPPED = "signature.audit.dropped";
+
+    private final SignatureAuditor auditor;
+
+    public SignatureAuditMeterBinder(SignatureAuditor auditor) {
+        this.auditor = auditor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "buffer_full", SignatureAuditor::getBufferFullDropped);
+        register(registry, "sampled", SignatureAuditor::getSampledDropped);
+        register(registry, "rate_limited", SignatureAuditor::getRateLimitedDropped);
+        register(registry, "sink_error", SignatureAuditor::getSinkErrors);
+    }
+
+    private void register(MeterRegistry registry, String cause, ToDoubleFunction<SignatureAuditor> count) {
+        FunctionCounter.builder(DROPPED, auditor, count)
+                .tag("cause", cause)
+                .description("验签失败审计未输出的记录数")
+                .register(registry);
+    }
+}
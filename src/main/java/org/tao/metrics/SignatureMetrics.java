@@ -0,0 +1,105 @@
+package org.tao.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureStageEnum;
+import org.tao.plan.SignaturePlan;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 汇总全部 SignatureMetricsListener，未注册时使用空实现；是否计时在启动时确定，运行期只读
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+@Component
+public class SignatureMetrics {
+
+    private final SignatureMetricsListener listener;
+    private final boolean timing;
+
+    public SignatureMetrics(ObjectProvider<SignatureMetricsListener> listeners) {
+        List<SignatureMetricsListener> list = listeners.orderedStream().collect(Collectors.toList());
+        if (list.isEmpty()) {
+            this.listener = SignatureMetricsListener.NOOP;
+        } else if (list.size() == 1) {
+            this.listener = list.get(0);
+        } else {
+            this.listener = new CompositeListener(list.toArray(new SignatureMetricsListener[0]));
+        }
+        this.timing = listener.isTimingEnabled();
+    }
+
+    /**
+     * 阶段开始时间，未开启计时时返回 0
+     */
+    public long start() {
+        return timing ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录从 start() 开始的阶段耗时，返回当前时间作为下一阶段的开始时间
+     */
+    public long stage(SignaturePlan plan, SignatureStageEnum stage, long start) {
+        if (!timing) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        listener.onStage(plan, stage, now - start);
+        return now;
+    }
+
+    public void success(SignaturePlan plan, String serviceCode) {
+        listener.onSuccess(plan, serviceCode);
+    }
+
+    public void failure(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+        listener.onFailure(plan, serviceCode, reason);
+    }
+
+    private static final class CompositeListener implements SignatureMetricsListener {
+
+        private final SignatureMetricsListener[] listeners;
+
+        CompositeListener(SignatureMetricsListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public boolean isTimingEnabled() {
+            for (SignatureMetricsListener listener : listeners) {
+                if (listener.isTimingEnabled()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void onSuccess(SignaturePlan plan, String serviceCode) {
+            for (SignatureMetricsListener listener : listeners) {
+                listener.onSuccess(plan, serviceCode);
+            }
+        }
+
+        @Override
+        public void onFailure(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+            for (SignatureMetricsListener listener : listeners) {
+                listener.onFailure(plan, serviceCode, reason);
+            }
+        }
+
+        @Override
+        public void onStage(SignaturePlan plan, SignatureStageEnum stage, long nanos) {
+            for (SignatureMetricsListener listener : listeners) {
+                if (listener.isTimingEnabled()) {
+                    listener.onStage(plan, stage, nanos);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.tao.metrics;
+
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureStageEnum;
+import org.tao.plan.SignaturePlan;
+
+/**
+ * 验签指标扩展点，注册为 Spring Bean 即可生效，可注册多个
+ * <p>
+ * 回调在请求线程中同步执行，实现不应阻塞、加锁或分配对象。
+ * serviceCode 仅在密钥存在时传入，其余情况为 null，避免请求伪造的服务编码造成指标维度膨胀
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface SignatureMetricsListener {
+
+    SignatureMetricsListener NOOP = new SignatureMetricsListener() {
+    };
+
+    /**
+     * 是否记录各阶段耗时，返回 false 时不调用 System.nanoTime()
+     */
+    default boolean isTimingEnabled() {
+        return false;
+    }
+
+    /**
+     * 验签通过
+     *
+     * @param plan        校验计划，plan.getMethod() 即接口方法
+     * @param serviceCode 服务编码
+     */
+    default void onSuccess(SignaturePlan plan, String serviceCode) {
+    }
+
+    /**
+     * 验签失败
+     *
+     * @param plan        校验计划
+     * @param serviceCode 服务编码，服务编码缺失或未配置密钥时为 null
+     * @param reason      失败原因
+     */
+    default void onFailure(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+    }
+
+    /**
+     * 阶段耗时，仅在 isTimingEnabled() 返回 true 时回调
+     *
+     * @param plan  校验计划
+     * @param stage 验签阶段
+     * @param nanos 耗时，单位为纳秒
+     */
+    default void onStage(SignaturePlan plan, SignatureStageEnum stage, long nanos) {
+    }
+}
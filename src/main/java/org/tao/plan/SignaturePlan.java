@@ -0,0 +1,227 @@
+package org.tao.plan;
+
+import org.springframework.util.StringUtils;
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SignatureKey;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.enums.SignatureParamTypeEnum;
+import org.tao.extract.CanonicalParamWriter;
+import org.tao.extract.ParamExtractor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个验签方法的校验计划，启动时根据注解与配置一次性解析，运行期只读
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignaturePlan {
+
+    // 过期时间配置无效时的标记值
+    public static final long INVALID_EXPIRE = -1L;
+
+    private final Method method;
+    private final boolean required;
+    private final String returnType;
+    private final SignatureModeEnum mode;
+
+    // @SignatureParam 标记的参数下标，-1 表示不存在
+    private final int serviceCodeIndex;
+    private final int paramsIndex;
+    // params 参数为 @SignatureParam(type = BATCH) 标记的集合，每个元素单独签名
+    private final boolean batch;
+
+    // SignatureChecker 指定的服务编码与密钥，未指定时为 null
+    private final String serviceCode;
+    private final SignatureKey signatureKey;
+    // 签名算法，为 null 时按请求的服务编码使用配置的算法
+    private final SignatureAlgorithm algorithm;
+
+    private final String requestIdField;
+    private final String timestampField;
+    private final String signatureField;
+    private final String keyIdField;
+    // 按 requestId、timestamp、signature、keyId 顺序提取字段
+    private final ParamExtractor paramExtractor;
+    // 排序参数签名的拼接器，非 CANONICAL 模式时为 null
+    private final CanonicalParamWriter canonicalWriter;
+
+    // 0 表示永久有效，INVALID_EXPIRE 表示配置无效
+    private final long expireMillis;
+
+    private SignaturePlan(Method method, SignatureChecker checker, int serviceCodeIndex, int paramsIndex,
+                          SignatureParam paramsAnno, SignatureProperties properties) {
+        this.batch = paramsAnno != null && paramsAnno.type() == SignatureParamTypeEnum.BATCH;
+        this.method = method;
+        this.required = checker.required();
+        this.returnType = checker.returnType();
+        this.mode = checker.mode();
+        this.serviceCodeIndex = serviceCodeIndex;
+        this.paramsIndex = paramsIndex;
+        this.serviceCode = StringUtils.isEmpty(checker.serviceCode()) ? null : checker.serviceCode();
+
+        // 获取签名算法 只使用 SignatureChecker 指定的值，未指定时运行期使用 SecretKeyProvider 中该服务编码配置的算法，随密钥刷新生效
+        this.algorithm = StringUtils.isEmpty(checker.algorithm()) ? null : SignatureAlgorithms.get(checker.algorithm());
+
+        // SignatureChecker 指定密钥时直接解析，否则运行期按服务编码从 SecretKeyProvider 获取
+        if (!StringUtils.isEmpty(checker.secretKey())) {
+            SignatureAlgorithm keyAlgorithm = this.algorithm == null ? configuredAlgorithm(properties, this.serviceCode) : this.algorithm;
+            this.signatureKey = keyAlgorithm.createKey(checker.secretKey());
+        } else {
+            this.signatureKey = null;
+        }
+
+        // 获取参数字段 如果 signatureParam 指定，选择 signatureParam 的值，否则选择 signatureProperties 配置的值
+        this.requestIdField = resolveField(paramsAnno == null ? null : paramsAnno.requestIdField(), properties.getRequestIdField());
+        this.timestampField = resolveField(paramsAnno == null ? null : paramsAnno.timestampField(), properties.getTimestampField());
+        this.signatureField = resolveField(paramsAnno == null ? null : paramsAnno.signatureField(), properties.getSignatureField());
+        this.keyIdField = resolveField(paramsAnno == null ? null : paramsAnno.keyIdField(), properties.getKeyIdField());
+        this.paramExtractor = new ParamExtractor(requestIdField, timestampField, signatureField, keyIdField);
+        this.canonicalWriter = this.mode == SignatureModeEnum.CANONICAL ? createCanonicalWriter(properties.getCanonical(), signatureField) : null;
+
+        // 如果是-1，则使用配置文件中的默认值
+        long expireMinutes = checker.expireMinutes() == -1 ? properties.getExpireMinutes() : checker.expireMinutes();
+        this.expireMillis = expireMinutes < 0 ? INVALID_EXPIRE : expireMinutes * 60 * 1000;
+    }
+
+    /**
+     * 根据方法注解构建校验计划
+     *
+     * @param method     带有 @SignatureChecker 的方法
+     * @param properties 验签配置
+     * @return 校验计划，方法未标注 @SignatureChecker 时返回 null
+     */
+    public static SignaturePlan build(Method method, SignatureProperties properties) {
+        SignatureChecker checker = method.getAnnotation(SignatureChecker.class);
+        if (checker == null) {
+            return null;
+        }
+        int serviceCodeIndex = -1;
+        int paramsIndex = -1;
+        SignatureParam paramsAnno = null;
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation anno : parameterAnnotations[i]) {
+                if (anno instanceof SignatureParam) {
+                    SignatureParam signatureParam = (SignatureParam) anno;
+                    if (signatureParam.type() == SignatureParamTypeEnum.PARAMS || signatureParam.type() == SignatureParamTypeEnum.BATCH) {
+                        paramsIndex = i;
+                        paramsAnno = signatureParam;
+                    } else if (signatureParam.type() == SignatureParamTypeEnum.SERVICE_CODE) {
+                        serviceCodeIndex = i;
+                    }
+                }
+            }
+        }
+        return new SignaturePlan(method, checker, serviceCodeIndex, paramsIndex, paramsAnno, properties);
+    }
+
+    /**
+     * 按编译期索引中的参数下标构建，只读取 params 参数上的注解
+     */
+    public static SignaturePlan build(Method method, int serviceCodeIndex, int paramsIndex, SignatureProperties properties) {
+        SignatureChecker checker = method.getAnnotation(SignatureChecker.class);
+        if (checker == null) {
+            return null;
+        }
+        SignatureParam paramsAnno = paramsIndex < 0 ? null : method.getParameters()[paramsIndex].getAnnotation(SignatureParam.class);
+        return new SignaturePlan(method, checker, serviceCodeIndex, paramsIndex, paramsAnno, properties);
+    }
+
+    private static CanonicalParamWriter createCanonicalWriter(SignatureProperties.Canonical canonical, String signatureField) {
+        List<String> excludedFields = new ArrayList<>(canonical.getExcludeFields());
+        if (canonical.isExcludeSignatureField()) {
+            excludedFields.add(signatureField);
+        }
+        return new CanonicalParamWriter(excludedFields, canonical.isSkipEmpty(), canonical.getNested(), canonical.getArray());
+    }
+
+    /**
+     * SignatureChecker 指定的密钥在启动时解析，使用服务编码配置的算法，未单独配置时使用 signature.algorithm
+     */
+    private static SignatureAlgorithm configuredAlgorithm(SignatureProperties properties, String serviceCode) {
+        String name = serviceCode == null ? null : properties.getAlgorithms().get(serviceCode);
+        return SignatureAlgorithms.get(StringUtils.isEmpty(name) ? properties.getAlgorithm() : name);
+    }
+
+    private static String resolveField(String annoValue, String defaultValue) {
+        return StringUtils.isEmpty(annoValue) ? defaultValue : annoValue;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    public SignatureModeEnum getMode() {
+        return mode;
+    }
+
+    public int getServiceCodeIndex() {
+        return serviceCodeIndex;
+    }
+
+    public int getParamsIndex() {
+        return paramsIndex;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public String getServiceCode() {
+        return serviceCode;
+    }
+
+    public SignatureKey getSignatureKey() {
+        return signatureKey;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getRequestIdField() {
+        return requestIdField;
+    }
+
+    public String getTimestampField() {
+        return timestampField;
+    }
+
+    public String getSignatureField() {
+        return signatureField;
+    }
+
+    public String getKeyIdField() {
+        return keyIdField;
+    }
+
+    public ParamExtractor getParamExtractor() {
+        return paramExtractor;
+    }
+
+    public CanonicalParamWriter getCanonicalWriter() {
+        return canonicalWriter;
+    }
+
+    public long getExpireMillis() {
+        return expireMillis;
+    }
+}
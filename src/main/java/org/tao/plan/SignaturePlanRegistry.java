@@ -0,0 +1,49 @@
+package org.tao.plan;
+
+import org.springframework.stereotype.Component;
+import org.tao.config.SignatureProperties;
+
+import javax.annotation.Resource;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 校验计划注册表，启动时由 AnnotationValidationProcessor 填充，切面按 Method 直接查找
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+@Component
+public class SignaturePlanRegistry {
+
+    private final Map<Method, SignaturePlan> plans = new ConcurrentHashMap<>();
+    // 已确认未标注 @SignatureChecker 的方法，拦截器对所有处理器方法查找计划，避免重复解析注解
+    private final Set<Method> unsignedMethods = ConcurrentHashMap.newKeySet();
+
+    @Resource
+    private SignatureProperties signatureProperties;
+
+    public void register(SignaturePlan plan) {
+        plans.put(plan.getMethod(), plan);
+    }
+
+    /**
+     * 获取方法对应的校验计划，启动时未扫描到的方法（如父类中声明的方法）在首次调用时构建
+     */
+    public SignaturePlan getPlan(Method method) {
+        SignaturePlan plan = plans.get(method);
+        if (plan != null || unsignedMethods.contains(method)) {
+            return plan;
+        }
+        plan = SignaturePlan.build(method, signatureProperties);
+        if (plan == null) {
+            unsignedMethods.add(method);
+            return null;
+        }
+        SignaturePlan existing = plans.putIfAbsent(method, plan);
+        return existing == null ? plan : existing;
+    }
+}
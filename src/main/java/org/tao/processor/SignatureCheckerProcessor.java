@@ -0,0 +1,234 @@
+package org.tao.processor;
+
+import org.tao.init.SignatureCheckerIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期处理 @SignatureChecker：将方法与 @SignatureParam 参数下标写入 META-INF/signature-checkers.index，
+ * 并把与配置无关的校验（请求映射注解、参数类型等）提前为编译错误
+ * <p>
+ * 依赖方引入本包后由 javac 自动发现；密钥、返回类型等依赖运行期配置的校验仍在启动时进行
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+@SupportedAnnotationTypes(SignatureCheckerProcessor.SIGNATURE_CHECKER)
+public class SignatureCheckerProcessor extends AbstractProcessor {
+
+    static final String SIGNATURE_CHECKER = "org.tao.anno.SignatureChecker";
+    private static final String SIGNATURE_PARAM = "org.tao.anno.SignatureParam";
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+    private static final String POST_MAPPING = "org.springframework.web.bind.annotation.PostMapping";
+
+    private static final Set<String> BOXED_TYPES = new HashSet<>(Arrays.asList("java.lang.Integer", "java.lang.Boolean",
+            "java.lang.Character", "java.lang.Byte", "java.lang.Short", "java.lang.Long", "java.lang.Float", "java.lang.Double"));
+
+    // key 为索引行中 = 之前的部分，按字典序输出，保证重复编译时文件内容稳定
+    private final Map<String, SignatureCheckerIndex.Entry> entries = new TreeMap<>();
+    // 本次编译涉及的类，增量编译时这些类在旧索引中的条目以本次结果为准
+    private final Set<String> compiledClasses = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element root : roundEnv.getRootElements()) {
+            collectClasses(root);
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    process((ExecutableElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !compiledClasses.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collectClasses(Element element) {
+        if (element.getKind().isClass() || element.getKind().isInterface()) {
+            compiledClasses.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+            for (Element enclosed : element.getEnclosedElements()) {
+                collectClasses(enclosed);
+            }
+        }
+    }
+
+    private void process(ExecutableElement method) {
+        Messager messager = processingEnv.getMessager();
+        Types types = processingEnv.getTypeUtils();
+        String name = method.getSimpleName().toString();
+        String mode = enumValue(findAnnotation(method, SIGNATURE_CHECKER), "mode", "PARAMS");
+
+        if ("HEADER".equals(mode)) {
+            // 请求头模式支持任意请求映射注解（@GetMapping 等）
+            if (!hasRequestMapping(method)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] 方法 " + name + " 必须同时带有请求映射注解", method);
+            }
+        } else if (findAnnotation(method, POST_MAPPING) == null && findAnnotation(method, REQUEST_MAPPING) == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] 方法 " + name + " 必须同时带有 @PostMapping 或 @RequestMapping 注解", method);
+        }
+        boolean checkParameters = "PARAMS".equals(mode) || "CANONICAL".equals(mode);
+        if (checkParameters && method.getParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] 方法 " + name + " 必须至少有一个参数", method);
+        }
+
+        int serviceCodeIndex = -1;
+        int paramsIndex = -1;
+        boolean batch = false;
+        List<? extends VariableElement> parameters = method.getParameters();
+        String[] parameterTypes = new String[parameters.size()];
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            TypeMirror type = types.erasure(parameter.asType());
+            parameterTypes[i] = type.toString();
+            AnnotationMirror signatureParam = findAnnotation(parameter, SIGNATURE_PARAM);
+            if (signatureParam == null) {
+                continue;
+            }
+            String paramType = enumValue(signatureParam, "type", "PARAMS");
+            if ("PARAMS".equals(paramType) || "BATCH".equals(paramType)) {
+                paramsIndex = i;
+                batch = "BATCH".equals(paramType);
+            } else if ("SERVICE_CODE".equals(paramType)) {
+                serviceCodeIndex = i;
+            }
+            if (!checkParameters) {
+                continue;
+            }
+            if ("PARAMS".equals(paramType) && (type.getKind().isPrimitive() || BOXED_TYPES.contains(type.toString()))) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] " + name + " 方法 params 参数必须是对象类型", parameter);
+            } else if ("BATCH".equals(paramType) && !isCollectionOrObjectArray(type)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] " + name + " 方法批量 params 参数必须是集合或对象数组类型", parameter);
+            } else if ("SERVICE_CODE".equals(paramType) && !"java.lang.String".equals(type.toString())) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] " + name + " 方法 serviceCode 参数必须是String类型", parameter);
+            }
+        }
+        if ("CANONICAL".equals(mode) && paramsIndex < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] " + name + " 方法排序参数签名必须带有 @SignatureParam(type = PARAMS) 参数", method);
+        }
+        if (batch && !checkParameters) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] " + name + " 方法批量 params 参数仅支持 PARAMS、CANONICAL 模式", method);
+        }
+
+        TypeElement type = (TypeElement) method.getEnclosingElement();
+        SignatureCheckerIndex.Entry entry = new SignatureCheckerIndex.Entry(processingEnv.getElementUtils().getBinaryName(type).toString(),
+                name, parameterTypes, serviceCodeIndex, paramsIndex);
+        entries.put(entry.getKey(), entry);
+    }
+
+    private boolean isCollectionOrObjectArray(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return !((ArrayType) type).getComponentType().getKind().isPrimitive();
+        }
+        Types types = processingEnv.getTypeUtils();
+        TypeElement collection = processingEnv.getElementUtils().getTypeElement("java.util.Collection");
+        return types.isAssignable(type, types.erasure(collection.asType()));
+    }
+
+    private boolean hasRequestMapping(ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            Element annotationType = mirror.getAnnotationType().asElement();
+            if (REQUEST_MAPPING.equals(((TypeElement) annotationType).getQualifiedName().toString())
+                    || findAnnotation(annotationType, REQUEST_MAPPING) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationName.equals(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取注解中枚举属性的常量名，未显式指定时返回默认值
+     */
+    private static String enumValue(AnnotationMirror mirror, String attribute, String defaultValue) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                Object value = entry.getValue().getValue();
+                return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    private void writeIndex() {
+        Elements elements = processingEnv.getElementUtils();
+        Map<String, SignatureCheckerIndex.Entry> merged = new TreeMap<>();
+        // 增量编译时保留未参与本次编译且仍然存在的类的条目
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SignatureCheckerIndex.LOCATION);
+            try (InputStream in = existing.openInputStream()) {
+                for (String line : SignatureCheckerIndex.readLines(in)) {
+                    SignatureCheckerIndex.Entry entry = SignatureCheckerIndex.Entry.parse(line);
+                    if (!compiledClasses.contains(entry.getClassName())
+                            && elements.getTypeElement(entry.getClassName().replace('$', '.')) != null) {
+                        merged.put(entry.getKey(), entry);
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException ignored) {
+            // 首次编译时索引文件不存在
+        }
+        merged.putAll(entries);
+        if (merged.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SignatureCheckerIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (SignatureCheckerIndex.Entry entry : merged.values()) {
+                    writer.write(entry.format());
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "[验签配置校验] 写入验签方法索引失败，message => " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package org.tao.reactive;
+
+import org.reactivestreams.Subscription;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.exception.RejectionTemplate;
+import org.tao.exception.RejectionTemplates;
+import org.tao.exception.SignatureValidationException;
+import org.tao.metrics.SignatureMetrics;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
+import org.tao.throttle.ClientAddress;
+import org.tao.throttle.FailureThrottle;
+import org.tao.verify.BodySignature;
+import org.tao.verify.RequestVerification;
+import org.tao.verify.SignatureVerifier;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WebFlux 下的请求头模式与请求体模式验签，校验在调用控制器之前完成，失败时直接将 returnJsons 模板写入响应
+ * <p>
+ * 请求体模式在 DataBuffer 到达时逐块写入摘要，不阻塞事件循环；签名比较需在控制器执行前完成，
+ * 因此请求体读取完毕前暂存已读取的 DataBuffer（不超过 signature.body.max-in-memory-size），校验通过后交给下游，
+ * 读取失败、取消或控制器未读取请求体时释放。
+ * 校验通过后通过 RequestVerification 标记告知切面，控制器在其他线程上调用时切面按未校验拒绝。
+ * 参数模式（PARAMS、CANONICAL）仍由 SignatureAspect 在控制器参数解析后校验
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ReactiveSignatureWebFilter implements WebFilter, Ordered {
+
+    // 直接内存的 DataBuffer 需复制到堆数组后写入摘要，事件循环线程各自复用
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final SignaturePlanRegistry signaturePlanRegistry;
+    private final SignatureVerifier signatureVerifier;
+    private final SignatureProperties signatureProperties;
+    private final RejectionTemplates rejectionTemplates;
+    private final SignatureMetrics signatureMetrics;
+    private final RequestMappingHandlerMapping handlerMapping;
+    // 未开启验签失败限流时为 null
+    private final FailureThrottle failureThrottle;
+
+    public ReactiveSignatureWebFilter(SignaturePlanRegistry signaturePlanRegistry, SignatureVerifier signatureVerifier,
+                                      SignatureProperties signatureProperties, RejectionTemplates rejectionTemplates, SignatureMetrics signatureMetrics,
+                                      RequestMappingHandlerMapping handlerMapping, FailureThrottle failureThrottle) {
+        this.signaturePlanRegistry = signaturePlanRegistry;
+        this.signatureVerifier = signatureVerifier;
+        this.signatureProperties = signatureProperties;
+        this.rejectionTemplates = rejectionTemplates;
+        this.signatureMetrics = signatureMetrics;
+        this.handlerMapping = handlerMapping;
+        this.failureThrottle = failureThrottle;
+    }
+
+    @Override
+    public int getOrder() {
+        // 需先于其他可能读取请求体的过滤器执行
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // verify 正常完成时同样为空的 Mono，因此用 Optional 区分是否需要校验，不能使用 switchIfEmpty
+        return handlerMapping.getHandler(exchange)
+                .map(this::resolvePlan)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(plan -> plan.isPresent() ? verify(exchange, chain, plan.get()) : chain.filter(exchange));
+    }
+
+    /**
+     * 请求头模式与请求体模式的校验计划，参数模式由切面校验
+     */
+    private Optional<SignaturePlan> resolvePlan(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return Optional.empty();
+        }
+        SignaturePlan plan = signaturePlanRegistry.getPlan(((HandlerMethod) handler).getMethod());
+        if (plan == null || !plan.isRequired() || plan.getMode() == SignatureModeEnum.PARAMS || plan.getMode() == SignatureModeEnum.CANONICAL) {
+            return Optional.empty();
+        }
+        return Optional.of(plan);
+    }
+
+    private Mono<Void> verify(ServerWebExchange exchange, WebFilterChain chain, SignaturePlan plan) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        SignatureProperties.Header header = signatureProperties.getHeader();
+        String client = resolveClient(exchange);
+        int limit = signatureProperties.getBody().getMaxInMemorySize();
+        BodySignature body;
+        ClientAddress.bind(client);
+        try {
+            if (plan.getMode() == SignatureModeEnum.HEADER) {
+                signatureVerifier.verify(plan, headers.getFirst(header.getServiceCode()),
+                        headers.getFirst(header.getRequestId()),
+                        headers.getFirst(header.getTimestamp()),
+                        headers.getFirst(header.getSignature()),
+                        headers.getFirst(header.getKeyId()));
+                // 控制器可能在订阅期间同步调用，也可能在请求体解码后由请求体信号触发，两处都需绑定校验标记
+                ServerHttpRequest request = new VerifiedRequest(exchange.getRequest(), plan);
+                return new VerifiedMono(chain.filter(exchange.mutate().request(request).build()), plan);
+            }
+            // 请求体需在内存中暂存至签名比较完成，声明的长度已超过上限时不再读取
+            if (limit >= 0 && headers.getContentLength() > limit) {
+                return reject(exchange, tooLarge(plan));
+            }
+            body = signatureVerifier.startBody(plan, headers.getFirst(header.getServiceCode()),
+                    headers.getFirst(header.getRequestId()),
+                    headers.getFirst(header.getTimestamp()),
+                    headers.getFirst(header.getSignature()),
+                    headers.getFirst(header.getKeyId()));
+        } catch (SignatureValidationException e) {
+            return reject(exchange, e);
+        } finally {
+            ClientAddress.unbind();
+        }
+
+        // 请求体模式：逐块写入摘要，读取完毕后比较签名，通过后将暂存的 DataBuffer 交给下游
+        BufferedBody buffered = new BufferedBody(limit);
+        return exchange.getRequest().getBody()
+                // 上游丢弃、未交给 doOnNext 的 DataBuffer 直接释放，已暂存的由 BufferedBody 释放
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnNext(buffer -> {
+                    if (buffered.add(buffer)) {
+                        update(body, buffer);
+                    }
+                })
+                .doOnError(e -> buffered.release())
+                .doOnCancel(buffered::release)
+                .then(Mono.defer(() -> finish(exchange, chain, body, buffered, client)))
+                .onErrorResume(BodyTooLargeException.class, e -> reject(exchange, tooLarge(plan)));
+    }
+
+    private Mono<Void> finish(ServerWebExchange exchange, WebFilterChain chain, BodySignature body, BufferedBody buffered, String client) {
+        ClientAddress.bind(client);
+        try {
+            signatureVerifier.finishBody(body);
+        } catch (SignatureValidationException e) {
+            buffered.release();
+            return reject(exchange, e);
+        } finally {
+            ClientAddress.unbind();
+        }
+        CachedBodyRequest request = new CachedBodyRequest(exchange.getRequest(), buffered.handOff(exchange.getResponse().bufferFactory()));
+        // 控制器未读取请求体时在请求结束后释放
+        Mono<Void> downstream = chain.filter(exchange.mutate().request(request).build())
+                .doFinally(signal -> request.releaseIfUnread());
+        return new VerifiedMono(downstream, body.getPlan());
+    }
+
+    private SignatureValidationException tooLarge(SignaturePlan plan) {
+        signatureMetrics.failure(plan, null, SignatureFailureReasonEnum.BODY_TOO_LARGE);
+        return new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.BODY_TOO_LARGE, "[验签失败] 请求体过大，请检查！");
+    }
+
+    private static void update(BodySignature body, DataBuffer buffer) {
+        ByteBuffer byteBuffer = buffer.asByteBuffer();
+        if (byteBuffer.hasArray()) {
+            body.update(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+            return;
+        }
+        byte[] chunk = CHUNK.get();
+        while (byteBuffer.hasRemaining()) {
+            int len = Math.min(chunk.length, byteBuffer.remaining());
+            byteBuffer.get(chunk, 0, len);
+            body.update(chunk, 0, len);
+        }
+    }
+
+    private String resolveClient(ServerWebExchange exchange) {
+        if (failureThrottle == null) {
+            return null;
+        }
+        if (!StringUtils.isEmpty(failureThrottle.getClientHeader())) {
+            String value = exchange.getRequest().getHeaders().getFirst(failureThrottle.getClientHeader());
+            if (!StringUtils.isEmpty(value)) {
+                return ClientAddress.firstAddress(value);
+            }
+        }
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address == null || address.getAddress() == null ? null : address.getAddress().getHostAddress();
+    }
+
+    /**
+     * 将预编译的拒绝响应直接写入响应缓冲区
+     */
+    private Mono<Void> reject(ServerWebExchange exchange, SignatureValidationException e) {
+        RejectionTemplate template = e.getReturnType() == null ? null : rejectionTemplates.get(e.getReturnType());
+        if (template == null) {
+            template = rejectionTemplates.getDefault();
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(template.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(template.render(e.getMessage()))));
+    }
+
+    /**
+     * 订阅下游处理链期间绑定 RequestVerification 标记，控制器在订阅过程中同步调用时切面可确认请求已校验
+     */
+    private static final class VerifiedMono extends Mono<Void> {
+
+        private final Mono<Void> source;
+        private final SignaturePlan plan;
+
+        VerifiedMono(Mono<Void> source, SignaturePlan plan) {
+            this.source = source;
+            this.plan = plan;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super Void> actual) {
+            SignaturePlan previous = RequestVerification.bind(plan);
+            try {
+                source.subscribe(actual);
+            } finally {
+                RequestVerification.unbind(previous);
+            }
+        }
+    }
+
+    /**
+     * 请求头模式下原样读取请求体，分发请求体信号期间绑定 RequestVerification 标记，
+     * 请求体解码完成后同步调用控制器时切面可确认请求已校验
+     */
+    private static final class VerifiedRequest extends ServerHttpRequestDecorator {
+
+        private final SignaturePlan plan;
+
+        VerifiedRequest(ServerHttpRequest delegate, SignaturePlan plan) {
+            super(delegate);
+            this.plan = plan;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            Flux<DataBuffer> body = getDelegate().getBody();
+            return new Flux<DataBuffer>() {
+                @Override
+                public void subscribe(CoreSubscriber<? super DataBuffer> actual) {
+                    body.subscribe(new VerifiedSubscriber<>(actual, plan));
+                }
+            };
+        }
+    }
+
+    private static final class VerifiedSubscriber<T> implements CoreSubscriber<T> {
+
+        private final CoreSubscriber<? super T> actual;
+        private final SignaturePlan plan;
+
+        VerifiedSubscriber(CoreSubscriber<? super T> actual, SignaturePlan plan) {
+            this.actual = actual;
+            this.plan = plan;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T value) {
+            SignaturePlan previous = RequestVerification.bind(plan);
+            try {
+                actual.onNext(value);
+            } finally {
+                RequestVerification.unbind(previous);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            SignaturePlan previous = RequestVerification.bind(plan);
+            try {
+                actual.onError(error);
+            } finally {
+                RequestVerification.unbind(previous);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            SignaturePlan previous = RequestVerification.bind(plan);
+            try {
+                actual.onComplete();
+            } finally {
+                RequestVerification.unbind(previous);
+            }
+        }
+    }
+
+    /**
+     * 签名比较前暂存的请求体，超过上限时释放已暂存的 DataBuffer 并结束读取
+     */
+    private static final class BufferedBody {
+
+        private final int limit;
+        private List<DataBuffer> buffers = new ArrayList<>();
+        private long size;
+
+        BufferedBody(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * @return 是否已暂存，已取消或已失败时直接释放并返回 false
+         */
+        synchronized boolean add(DataBuffer buffer) {
+            if (buffers == null) {
+                DataBufferUtils.release(buffer);
+                return false;
+            }
+            // 先暂存再检查，超过上限时与其他 DataBuffer 一起在 doOnError 中释放
+            buffers.add(buffer);
+            size += buffer.readableByteCount();
+            if (limit >= 0 && size > limit) {
+                throw new BodyTooLargeException();
+            }
+            return true;
+        }
+
+        /**
+         * 合并为一个 DataBuffer 交给下游，之后由 CachedBodyRequest 负责释放
+         */
+        synchronized DataBuffer handOff(DataBufferFactory bufferFactory) {
+            List<DataBuffer> list = buffers;
+            buffers = null;
+            return list == null || list.isEmpty() ? bufferFactory.wrap(new byte[0]) : bufferFactory.join(list);
+        }
+
+        synchronized void release() {
+            if (buffers != null) {
+                buffers.forEach(DataBufferUtils::release);
+                buffers = null;
+            }
+        }
+    }
+
+    private static final class BodyTooLargeException extends RuntimeException {
+
+        BodyTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 请求体已在验签时读取，下游从暂存的 DataBuffer 读取，只能读取一次
+     */
+    private static final class CachedBodyRequest extends ServerHttpRequestDecorator {
+
+        private final AtomicReference<DataBuffer> body;
+
+        CachedBodyRequest(ServerHttpRequest delegate, DataBuffer body) {
+            super(delegate);
+            this.body = new AtomicReference<>(body);
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> {
+                DataBuffer buffer = body.getAndSet(null);
+                return buffer == null ? Flux.error(new IllegalStateException("[签名校验] 请求体只能读取一次")) : Flux.just(buffer);
+            });
+        }
+
+        void releaseIfUnread() {
+            DataBuffer buffer = body.getAndSet(null);
+            if (buffer != null) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
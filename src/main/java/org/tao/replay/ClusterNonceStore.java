@@ -0,0 +1,194 @@
+package org.tao.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tao.config.SignatureProperties;
+import org.tao.consts.SignatureConst;
+import org.tao.enums.ReplayFailurePolicyEnum;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 集群 requestId 防重放存储，多个节点通过 ReplayStore 共享已使用的 requestId
+ * <p>
+ * 本节点的 Bloom 过滤器判断为可能见过时直接按重放拒绝，不再访问共享存储；该判断有 bloomFpp 的概率误判，
+ * 即约有 bloomFpp 比例的正常请求被误拒（调用方更换 requestId 重试即可）。判断为未见过时请求可能已在其他节点使用，
+ * 仍需写入共享存储确认，写入经 ReplayPipeline 合并为批量调用；共享存储确认后才写入 Bloom 过滤器。
+ * <p>
+ * 共享存储在 timeoutMillis 内未返回、写入异常或等待队列已满时按 failurePolicy 处理：
+ * 放行时该 requestId 记录在本节点的 Bloom 过滤器中，本节点内的重放依然会被拒绝；
+ * 拒绝时不记录，尚未发出的写入随之取消，调用方可使用同一 requestId 重试。
+ * 已发出但在超时后才成功的写入无法撤销，此时重试会被判定为重放。
+ * <p>
+ * tryAcquire 会阻塞调用线程至多 timeoutMillis，仅支持 Servlet 应用；WebFlux 应用开启集群防重放时启动失败，
+ * 避免在 Netty 事件循环线程上等待。ForkJoinPool 工作线程上的等待通过 managedBlock 补偿线程。
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ClusterNonceStore implements NonceStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterNonceStore.class);
+
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final String keyPrefix;
+    private final ReplayFailurePolicyEnum failurePolicy;
+    private final ReplayPipeline pipeline;
+    // 未开启 Bloom 过滤器时为 null
+    private final TimeSlicedBloomFilter bloomFilter;
+
+    private final LongAdder bloomRejected = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+
+    public ClusterNonceStore(SignatureProperties.Replay replay, ReplayStore store) {
+        if (store == null) {
+            throw new IllegalStateException("[防重放配置校验] 开启 signature.replay.cluster.enabled 时需注册 ReplayStore Bean，请检查配置！");
+        }
+        SignatureProperties.Replay.Cluster cluster = replay.getCluster();
+        long bucketMillis = replay.getBucketSeconds() * 1000L;
+        this.windowMillis = replay.getWindowMinutes() * 60L * 1000;
+        if (windowMillis <= 0 || bucketMillis <= 0 || replay.getCapacity() <= 0) {
+            throw new IllegalStateException("[防重放配置校验] windowMinutes、bucketSeconds、capacity 必须大于 0，请检查配置！");
+        }
+        if (cluster.getTimeoutMillis() <= 0 || cluster.getBatchSize() <= 0 || cluster.getQueueCapacity() <= 0 || cluster.getPipelines() <= 0) {
+            throw new IllegalStateException("[防重放配置校验] timeoutMillis、batchSize、queueCapacity、pipelines 必须大于 0，请检查配置！");
+        }
+        if (cluster.isBloomEnabled() && (cluster.getBloomFpp() <= 0 || cluster.getBloomFpp() >= 1)) {
+            throw new IllegalStateException("[防重放配置校验] bloomFpp 必须大于 0 且小于 1，请检查配置！");
+        }
+        if (store instanceof InMemoryReplayStore) {
+            logger.warn("[防重放] 使用进程内 ReplayStore，多个节点之间不共享 requestId，仅用于测试");
+        }
+        this.timeoutMillis = cluster.getTimeoutMillis();
+        this.keyPrefix = cluster.getKeyPrefix();
+        this.failurePolicy = cluster.getFailurePolicy();
+        this.pipeline = new ReplayPipeline(store, cluster.getBatchSize(), cluster.getQueueCapacity(), cluster.getPipelines());
+        if (cluster.isBloomEnabled()) {
+            this.bloomFilter = new TimeSlicedBloomFilter(bucketMillis, windowMillis, replay.getCapacity(), cluster.getBloomFpp());
+            logger.info("[防重放] Bloom 过滤器已开启，slices => {}, bitsPerSlice => {}, hashes => {}, fpp => {}",
+                    bloomFilter.getSliceCount(), bloomFilter.getBits(), bloomFilter.getHashes(), cluster.getBloomFpp());
+        } else {
+            this.bloomFilter = null;
+        }
+    }
+
+    @Override
+    public Result tryAcquire(String serviceCode, String requestId, long timestamp) {
+        // 与 LocalNonceStore 一致，只接受 [当前时间 - 窗口, 当前时间 + 最大时钟偏差] 内的时间戳
+        long now = System.currentTimeMillis();
+        if (timestamp < now - windowMillis || timestamp > now + SignatureConst.MAX_CLOCK_SKEW_MILLIS) {
+            return Result.OUT_OF_WINDOW;
+        }
+        if (bloomFilter != null && bloomFilter.mightContain(serviceCode, requestId, timestamp)) {
+            bloomRejected.increment();
+            return Result.DUPLICATE;
+        }
+        Result result = acquireShared(serviceCode, requestId, timestamp);
+        // 共享存储确认已使用（写入成功或已存在）后才记录到 Bloom 过滤器，存储不可用被拒绝的请求可使用同一 requestId 重试
+        if (bloomFilter != null && (result == Result.ACCEPTED || result == Result.DUPLICATE)) {
+            bloomFilter.put(serviceCode, requestId, timestamp);
+        }
+        return result;
+    }
+
+    private Result acquireShared(String serviceCode, String requestId, long timestamp) {
+        // 共享存储中的 key 保留到请求时间戳超出窗口为止
+        long ttlMillis = timestamp + windowMillis - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return Result.OUT_OF_WINDOW;
+        }
+        CompletableFuture<Boolean> future = pipeline.submit(keyPrefix + serviceCode + ':' + requestId, ttlMillis);
+        if (future == null) {
+            return onStoreFailure(serviceCode, "等待队列已满");
+        }
+        StoreWait wait = new StoreWait(future, timeoutMillis);
+        try {
+            // 在 ForkJoinPool 工作线程（如 commonPool）上等待时由线程池补偿线程，避免等待期间占满并行度
+            ForkJoinPool.managedBlock(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            return onStoreFailure(serviceCode, "等待被中断");
+        }
+        // 取消后尚未发出的写入不再提交，取消失败说明结果已在超时后返回
+        if (!future.isDone() && future.cancel(false)) {
+            return onStoreFailure(serviceCode, "超时");
+        }
+        try {
+            return future.join() ? Result.ACCEPTED : Result.DUPLICATE;
+        } catch (CompletionException e) {
+            return onStoreFailure(serviceCode, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+
+    private Result onStoreFailure(String serviceCode, String message) {
+        storeFailures.increment();
+        logger.warn("[防重放] 共享存储不可用，serviceCode => {}, policy => {}, message => {}", serviceCode, failurePolicy, message);
+        return failurePolicy == ReplayFailurePolicyEnum.FAIL_OPEN ? Result.ACCEPTED : Result.UNAVAILABLE;
+    }
+
+    @Override
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 被 Bloom 过滤器直接拒绝的请求数，包含误判
+     */
+    public long getBloomRejected() {
+        return bloomRejected.sum();
+    }
+
+    /**
+     * 共享存储超时、异常或等待队列已满的次数
+     */
+    public long getStoreFailures() {
+        return storeFailures.sum();
+    }
+
+    /**
+     * 限时等待共享存储返回，超时后由调用方根据 future 是否完成判断
+     */
+    private static final class StoreWait implements ForkJoinPool.ManagedBlocker {
+        private final CompletableFuture<Boolean> future;
+        private final long deadline;
+
+        private StoreWait(CompletableFuture<Boolean> future, long timeoutMillis) {
+            this.future = future;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                try {
+                    future.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException | ExecutionException | CancellationException ignored) {
+                    // 结果由调用方读取
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone() || deadline - System.nanoTime() <= 0;
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        pipeline.shutdown();
+    }
+}
@@ -0,0 +1,47 @@
+package org.tao.replay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内的 ReplayStore 实现，仅用于测试与单机联调，多个节点之间不共享数据；需显式注册为 Bean
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class InMemoryReplayStore implements ReplayStore {
+
+    // 过期数据的清理间隔
+    private static final long PURGE_INTERVAL_MILLIS = 1000L;
+
+    // value 为过期时间的毫秒时间戳
+    private final Map<String, Long> keys = new ConcurrentHashMap<>();
+    private volatile long nextPurgeMillis;
+
+    @Override
+    public boolean[] putIfAbsent(String[] keys, long[] ttlMillis) {
+        long now = System.currentTimeMillis();
+        purge(now);
+        boolean[] results = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Long expireAt = now + ttlMillis[i];
+            Long previous = this.keys.putIfAbsent(keys[i], expireAt);
+            // 已过期但尚未清理的 key 视为不存在
+            results[i] = previous == null || (previous <= now && this.keys.replace(keys[i], previous, expireAt));
+        }
+        return results;
+    }
+
+    private void purge(long now) {
+        if (now < nextPurgeMillis) {
+            return;
+        }
+        nextPurgeMillis = now + PURGE_INTERVAL_MILLIS;
+        keys.values().removeIf(expireAt -> expireAt <= now);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,101 @@
+package org.tao.replay;
+
+import org.tao.config.SignatureProperties;
+import org.tao.consts.SignatureConst;
+import org.tao.enums.ReplayOverflowPolicyEnum;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 单机 requestId 防重放存储
+ * <p>
+ * 按请求时间戳划分时间桶，组成环形数组。同一个请求被重放时签名不变，时间戳也不变，
+ * 因此只需在该时间戳所在的桶中查找，单次判断为 O(1)。桶槽位被更新的时间段复用时整桶替换，
+ * 旧数据随之被回收，没有全局锁也没有定时全量扫描。
+ * <p>
+ * 只接受时间戳在 [当前时间 - 窗口, 当前时间 + 最大时钟偏差] 内的请求，环形数组覆盖整个区间，
+ * 超出区间的时间戳（即使签名正确）返回 OUT_OF_WINDOW，不会挤掉仍在窗口内的桶，也不会落入已淘汰的桶后被重复放行。
+ * <p>
+ * 每个桶最多记录 capacity / 桶数量 个 requestId，内存上限为 窗口内 QPS × 窗口时长 与 capacity 中的较小值。
+ * 桶已满时按 overflowPolicy 处理：REJECT 拒绝请求（默认，宁可误拒也不放过重放），
+ * ALLOW 放行请求但不记录该 requestId（该请求此后可被重放）。并发写入时桶内数量可能短暂超出上限，
+ * 超出量不超过并发线程数。
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class LocalNonceStore implements NonceStore {
+
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int bucketCapacity;
+    private final ReplayOverflowPolicyEnum overflowPolicy;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public LocalNonceStore(SignatureProperties.Replay replay) {
+        this.windowMillis = replay.getWindowMinutes() * 60L * 1000;
+        this.bucketMillis = replay.getBucketSeconds() * 1000L;
+        if (windowMillis <= 0 || bucketMillis <= 0 || replay.getCapacity() <= 0) {
+            throw new IllegalStateException("[防重放配置校验] windowMinutes、bucketSeconds、capacity 必须大于 0，请检查配置！");
+        }
+        // 覆盖窗口与允许的时钟偏差，多保留一个桶，保证区间两端的请求仍能命中
+        this.bucketCount = (int) ((windowMillis + SignatureConst.MAX_CLOCK_SKEW_MILLIS + bucketMillis - 1) / bucketMillis) + 1;
+        this.bucketCapacity = Math.max(1, replay.getCapacity() / bucketCount);
+        this.overflowPolicy = replay.getOverflowPolicy();
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    @Override
+    public Result tryAcquire(String serviceCode, String requestId, long timestamp) {
+        long now = System.currentTimeMillis();
+        if (timestamp < now - windowMillis || timestamp > now + SignatureConst.MAX_CLOCK_SKEW_MILLIS) {
+            return Result.OUT_OF_WINDOW;
+        }
+        long epoch = Math.floorDiv(timestamp, bucketMillis);
+        int index = (int) Math.floorMod(epoch, (long) bucketCount);
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.epoch < epoch) {
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = buckets.get(index);
+        }
+        if (bucket.epoch > epoch) {
+            return Result.OUT_OF_WINDOW;
+        }
+
+        String key = serviceCode + '\u0000' + requestId;
+        if (bucket.keys.containsKey(key)) {
+            return Result.DUPLICATE;
+        }
+        if (bucket.size.get() >= bucketCapacity) {
+            return overflowPolicy == ReplayOverflowPolicyEnum.ALLOW ? Result.ACCEPTED : Result.OVERFLOW;
+        }
+        if (bucket.keys.putIfAbsent(key, Boolean.TRUE) != null) {
+            return Result.DUPLICATE;
+        }
+        bucket.size.incrementAndGet();
+        return Result.ACCEPTED;
+    }
+
+    @Override
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final ConcurrentHashMap<String, Boolean> keys = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.tao.replay;
+
+/**
+ * requestId 防重放存储，单机使用 LocalNonceStore，集群使用 ClusterNonceStore
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface NonceStore {
+
+    enum Result {
+        // 首次出现，已记录
+        ACCEPTED,
+        // 窗口内重复出现
+        DUPLICATE,
+        // 桶容量已满且策略为拒绝
+        OVERFLOW,
+        // 时间戳早于存储覆盖的窗口或超前超过允许的时钟偏差，无法判断是否重放
+        OUT_OF_WINDOW,
+        // 共享存储超时或异常且策略为拒绝
+        UNAVAILABLE
+    }
+
+    /**
+     * 记录 requestId，返回是否允许本次请求
+     *
+     * @param serviceCode 服务编码
+     * @param requestId   请求id
+     * @param timestamp   请求时间戳，超出 [当前时间 - 窗口, 当前时间 + 最大时钟偏差] 时返回 OUT_OF_WINDOW
+     * @return 判断结果
+     */
+    Result tryAcquire(String serviceCode, String requestId, long timestamp);
+
+    long getWindowMillis();
+}
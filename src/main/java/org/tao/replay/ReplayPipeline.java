@@ -0,0 +1,126 @@
+package org.tao.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并并发请求对 ReplayStore 的写入：请求线程入队后等待结果，后台线程每次取出队列中积压的全部请求（不超过 batchSize）
+ * 一次调用 ReplayStore，上一批往返期间到达的请求自然合并为下一批，低负载时不额外等待；
+ * 取出时已被调用方取消（等待超时）的请求跳过
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+final class ReplayPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayPipeline.class);
+
+    private static final long POLL_MILLIS = 100L;
+
+    private final ReplayStore store;
+    private final int batchSize;
+    private final BlockingQueue<Pending> queue;
+    private final Thread[] workers;
+    private volatile boolean running = true;
+
+    ReplayPipeline(ReplayStore store, int batchSize, int queueCapacity, int pipelines) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.workers = new Thread[pipelines];
+        for (int i = 0; i < pipelines; i++) {
+            workers[i] = new Thread(this::run, "signature-replay-" + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * 提交写入，队列已满时返回 null
+     */
+    CompletableFuture<Boolean> submit(String key, long ttlMillis) {
+        Pending pending = new Pending(key, ttlMillis);
+        return queue.offer(pending) ? pending : null;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                // 等待超时的请求已被调用方取消并按共享存储不可用处理，不再写入，否则重试时会被判定为重放
+                batch.removeIf(CompletableFuture::isDone);
+                if (!batch.isEmpty()) {
+                    execute(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void execute(List<Pending> batch) {
+        String[] keys = new String[batch.size()];
+        long[] ttlMillis = new long[batch.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = batch.get(i).key;
+            ttlMillis[i] = batch.get(i).ttlMillis;
+        }
+        boolean[] results;
+        try {
+            results = store.putIfAbsent(keys, ttlMillis);
+            if (results == null || results.length != keys.length) {
+                throw new IllegalStateException("返回结果数量与 key 数量不一致");
+            }
+        } catch (Throwable e) {
+            logger.warn("[防重放] 共享存储写入失败，size => {}, message => {}", keys.length, e.getMessage());
+            for (Pending pending : batch) {
+                pending.completeExceptionally(e);
+            }
+            return;
+        }
+        for (int i = 0; i < results.length; i++) {
+            batch.get(i).complete(results[i]);
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.completeExceptionally(new IllegalStateException("防重放共享存储已关闭"));
+        }
+    }
+
+    private static final class Pending extends CompletableFuture<Boolean> {
+        private final String key;
+        private final long ttlMillis;
+
+        private Pending(String key, long ttlMillis) {
+            this.key = key;
+            this.ttlMillis = ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.tao.replay;
+
+/**
+ * 集群共享的 requestId 存储，注册为 Bean 并开启 signature.replay.cluster.enabled 后由 ClusterNonceStore 使用
+ * <p>
+ * 由 ReplayPipeline 的后台线程批量调用，多个批次可能并发执行，实现需线程安全；
+ * 以 Redis 为例，可在一次 pipeline 中对每个 key 执行 SET key 1 NX PX ttl，按返回值判断是否首次写入
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public interface ReplayStore {
+
+    /**
+     * 批量写入，key 不存在（或已过期）时写入并设置过期时间
+     *
+     * @param keys      requestId 对应的 key，已带 keyPrefix 与服务编码
+     * @param ttlMillis 与 keys 一一对应的过期时间，单位为毫秒
+     * @return 与 keys 一一对应，true 表示首次写入，false 表示 key 已存在
+     */
+    boolean[] putIfAbsent(String[] keys, long[] ttlMillis) throws Exception;
+}
@@ -0,0 +1,157 @@
+package org.tao.replay;
+
+import org.tao.consts.SignatureConst;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按请求时间戳分片的 Bloom 过滤器，分片组成环形数组，分片槽位被更新的时间段复用时整片替换，与 LocalNonceStore 的时间桶一致
+ * <p>
+ * 只记录本节点见过的 requestId：判断为不存在时一定没有见过，判断为存在时有 fpp 的概率误判；
+ * 同一个请求被重放时时间戳不变，只需在该时间戳所在的分片中判断。
+ * 分片覆盖 [当前时间 - 窗口, 当前时间 + 最大时钟偏差]，区间外的时间戳不写入也不判断，不会替换仍在窗口内的分片
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+final class TimeSlicedBloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long sliceMillis;
+    private final long windowMillis;
+    private final int sliceCount;
+    private final int bits;
+    private final int hashes;
+    private final AtomicReferenceArray<Slice> slices;
+
+    /**
+     * @param capacity 窗口内预计写入的数量，按分片平均分配，超出后误判率上升
+     * @param fpp      期望的误判率
+     */
+    TimeSlicedBloomFilter(long sliceMillis, long windowMillis, int capacity, double fpp) {
+        this.sliceMillis = sliceMillis;
+        this.windowMillis = windowMillis;
+        // 与 LocalNonceStore 的时间桶相同，多保留一个分片，保证区间两端的请求仍能命中
+        this.sliceCount = (int) ((windowMillis + SignatureConst.MAX_CLOCK_SKEW_MILLIS + sliceMillis - 1) / sliceMillis) + 1;
+        int expectedInsertions = Math.max(1, capacity / sliceCount);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        // 按 64 位对齐，单个分片最多 2^31 - 64 位
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63, (optimalBits + 63) & ~63L);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        this.slices = new AtomicReferenceArray<>(sliceCount);
+    }
+
+    /**
+     * 判断本节点是否可能见过 requestId
+     *
+     * @return false 表示本节点一定没有见过，true 表示可能见过；时间戳超出过滤器覆盖的区间时返回 false
+     */
+    boolean mightContain(String serviceCode, String requestId, long timestamp) {
+        if (!inWindow(timestamp)) {
+            return false;
+        }
+        long epoch = Math.floorDiv(timestamp, sliceMillis);
+        Slice slice = slices.get((int) Math.floorMod(epoch, (long) sliceCount));
+        if (slice == null || slice.epoch != epoch) {
+            return false;
+        }
+        long hash = hash(requestId, hash(serviceCode, FNV_OFFSET) ^ 0xff);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            if (!slice.get((int) (((h1 + i * h2) & Long.MAX_VALUE) % bits))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录 requestId，时间戳超出过滤器覆盖的区间时忽略
+     */
+    void put(String serviceCode, String requestId, long timestamp) {
+        if (!inWindow(timestamp)) {
+            return;
+        }
+        long epoch = Math.floorDiv(timestamp, sliceMillis);
+        int index = (int) Math.floorMod(epoch, (long) sliceCount);
+        Slice slice = slices.get(index);
+        while (slice == null || slice.epoch < epoch) {
+            Slice fresh = new Slice(epoch, bits);
+            if (slices.compareAndSet(index, slice, fresh)) {
+                slice = fresh;
+                break;
+            }
+            slice = slices.get(index);
+        }
+        if (slice.epoch > epoch) {
+            return;
+        }
+
+        long hash = hash(requestId, hash(serviceCode, FNV_OFFSET) ^ 0xff);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            slice.set((int) (((h1 + i * h2) & Long.MAX_VALUE) % bits));
+        }
+    }
+
+    private boolean inWindow(long timestamp) {
+        long now = System.currentTimeMillis();
+        return timestamp >= now - windowMillis && timestamp <= now + SignatureConst.MAX_CLOCK_SKEW_MILLIS;
+    }
+
+    int getSliceCount() {
+        return sliceCount;
+    }
+
+    int getBits() {
+        return bits;
+    }
+
+    int getHashes() {
+        return hashes;
+    }
+
+    private static long hash(String value, long hash) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Slice {
+        private final long epoch;
+        private final AtomicLongArray words;
+
+        private Slice(long epoch, int bits) {
+            this.epoch = epoch;
+            this.words = new AtomicLongArray(bits >>> 6);
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        private void set(int bit) {
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            while (true) {
+                long word = words.get(index);
+                if ((word & mask) != 0 || words.compareAndSet(index, word, word | mask)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.tao.throttle;
+
+import org.springframework.util.ClassUtils;
+import org.tao.web.ServletRequestSupport;
+
+/**
+ * 获取当前请求的调用方地址；Servlet 请求从 RequestContextHolder 读取，
+ * 响应式请求由 ReactiveSignatureWebFilter 在同步调用验签期间绑定到当前线程
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class ClientAddress {
+
+    private static final ThreadLocal<String> BOUND = new ThreadLocal<>();
+
+    // 仅包含 WebFlux 的应用中不存在 Servlet API，此时不加载 ServletRequestSupport
+    private static final boolean SERVLET_PRESENT = ClassUtils.isPresent("javax.servlet.ServletRequest", ClientAddress.class.getClassLoader());
+
+    private ClientAddress() {
+    }
+
+    /**
+     * 将调用方地址绑定到当前线程，需在 finally 中调用 unbind
+     */
+    public static void bind(String client) {
+        BOUND.set(client);
+    }
+
+    public static void unbind() {
+        BOUND.remove();
+    }
+
+    /**
+     * @param header 读取地址的请求头，为空时使用 remoteAddr；请求头包含多个地址时取第一个
+     * @return 调用方地址，不在请求线程中时返回 null
+     */
+    public static String current(String header) {
+        String bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+        return SERVLET_PRESENT ? ServletRequestSupport.clientAddress(header) : null;
+    }
+
+    /**
+     * 取 X-Forwarded-For 等请求头中的第一个地址
+     */
+    public static String firstAddress(String value) {
+        int comma = value.indexOf(',');
+        return comma < 0 ? value.trim() : value.substring(0, comma).trim();
+    }
+}
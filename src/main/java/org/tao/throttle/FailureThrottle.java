@@ -0,0 +1,178 @@
+package org.tao.throttle;
+
+import org.tao.config.SignatureProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 验签失败限流：按 服务编码 + 调用方地址 统计固定窗口内的失败次数，达到阈值后在封禁时长内直接拒绝该调用方的请求
+ * <p>
+ * 使用定长的槽位数组，key 的 64 位哈希作为指纹，按哈希定位后最多线性探测 PROBES 个槽位。
+ * 窗口已过期且未封禁的槽位视为空闲，可被新 key 直接占用，因此内存固定且空闲 key 无需定时清理。
+ * 探测范围内的槽位全部活跃时不记录本次失败（放行），避免大量伪造地址挤占正在封禁的 key。
+ * <p>
+ * 每个槽位由指纹与状态两个 long 组成，状态高 32 位为窗口开始（或封禁截止）的秒数，低 32 位为失败次数，
+ * 通过 CAS 更新，无锁；指纹与状态不是原子地一起替换，并发占用同一槽位时计数为近似值
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class FailureThrottle {
+
+    private static final int PROBES = 4;
+    // 低 32 位为该值时表示已封禁，高 32 位为封禁截止秒数
+    private static final long BLOCKED = 0xFFFFFFFFL;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final String clientHeader;
+    private final int threshold;
+    private final long windowSeconds;
+    private final long blockSeconds;
+    private final int mask;
+    // 槽位 i 的指纹为 slots[2i]，状态为 slots[2i + 1]，放在一起减少缓存未命中
+    private final AtomicLongArray slots;
+    // 按返回类型预先创建的拒绝异常
+    private final Map<String, ThrottledException> rejections = new ConcurrentHashMap<>();
+
+    public FailureThrottle(SignatureProperties.Throttle throttle) {
+        if (throttle.getThreshold() <= 0 || throttle.getWindowSeconds() <= 0 || throttle.getBlockSeconds() <= 0 || throttle.getCapacity() <= 0) {
+            throw new IllegalStateException("[限流配置校验] threshold、windowSeconds、blockSeconds、capacity 必须大于 0，请检查配置！");
+        }
+        this.clientHeader = throttle.getClientHeader();
+        this.threshold = throttle.getThreshold();
+        this.windowSeconds = throttle.getWindowSeconds();
+        this.blockSeconds = throttle.getBlockSeconds();
+        int size = Integer.highestOneBit(Math.max(PROBES, throttle.getCapacity() - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(size * 2);
+    }
+
+    /**
+     * 当前请求的调用方地址
+     */
+    public String currentClient() {
+        return ClientAddress.current(clientHeader);
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public long getBlockSeconds() {
+        return blockSeconds;
+    }
+
+    /**
+     * 封禁期间抛出的异常，同一返回类型复用同一个实例
+     */
+    public ThrottledException rejection(String returnType) {
+        ThrottledException exception = rejections.get(returnType);
+        if (exception != null) {
+            return exception;
+        }
+        return rejections.computeIfAbsent(returnType, ThrottledException::new);
+    }
+
+    /**
+     * 调用方当前是否处于封禁中
+     */
+    public boolean isBlocked(String serviceCode, CharSequence client) {
+        long fingerprint = fingerprint(serviceCode, client);
+        long now = nowSeconds();
+        int index = (int) fingerprint & mask;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = ((index + i) & mask) << 1;
+            if (slots.get(slot) == fingerprint) {
+                long state = slots.get(slot + 1);
+                return (state & COUNT_MASK) == BLOCKED && (state >>> 32) > now;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 记录一次失败
+     *
+     * @return 本次失败是否使调用方进入封禁
+     */
+    public boolean recordFailure(String serviceCode, CharSequence client) {
+        long fingerprint = fingerprint(serviceCode, client);
+        long now = nowSeconds();
+        int index = (int) fingerprint & mask;
+        int slot = -1;
+        for (int i = 0; i < PROBES && slot < 0; i++) {
+            int candidate = ((index + i) & mask) << 1;
+            if (slots.get(candidate) == fingerprint) {
+                slot = candidate;
+            }
+        }
+        for (int i = 0; i < PROBES && slot < 0; i++) {
+            int candidate = ((index + i) & mask) << 1;
+            long current = slots.get(candidate);
+            if (isIdle(slots.get(candidate + 1), now) && slots.compareAndSet(candidate, current, fingerprint)) {
+                // 占用空闲槽位，重新开始计数
+                slots.set(candidate + 1, now << 32);
+                slot = candidate;
+            }
+        }
+        if (slot < 0) {
+            return false;
+        }
+        while (true) {
+            long state = slots.get(slot + 1);
+            long count = state & COUNT_MASK;
+            long start = state >>> 32;
+            long next;
+            if (count == BLOCKED) {
+                if (start > now) {
+                    return false;
+                }
+                next = (now << 32) | 1;
+            } else if (now - start >= windowSeconds) {
+                next = (now << 32) | 1;
+            } else {
+                next = state + 1;
+            }
+            if ((next & COUNT_MASK) >= threshold) {
+                next = ((now + blockSeconds) << 32) | BLOCKED;
+            }
+            if (slots.compareAndSet(slot + 1, state, next)) {
+                return (next & COUNT_MASK) == BLOCKED;
+            }
+        }
+    }
+
+    private boolean isIdle(long state, long now) {
+        long start = state >>> 32;
+        return (state & COUNT_MASK) == BLOCKED ? start <= now : now - start >= windowSeconds;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    /**
+     * 服务编码与调用方地址的 64 位哈希（FNV-1a 后再混淆），不拼接字符串；0 保留为空槽位
+     */
+    static long fingerprint(String serviceCode, CharSequence client) {
+        long hash = 0xcbf29ce484222325L;
+        if (serviceCode != null) {
+            for (int i = 0; i < serviceCode.length(); i++) {
+                hash = (hash ^ serviceCode.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+        if (client != null) {
+            for (int i = 0; i < client.length(); i++) {
+                hash = (hash ^ client.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,36 @@
+package org.tao.throttle;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 调用方因验签失败次数过多进入封禁时发布，每次封禁只发布一次
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureThrottledEvent extends ApplicationEvent {
+
+    private final String serviceCode;
+    private final String client;
+    private final long blockSeconds;
+
+    public SignatureThrottledEvent(Object source, String serviceCode, String client, long blockSeconds) {
+        super(source);
+        this.serviceCode = serviceCode;
+        this.client = client;
+        this.blockSeconds = blockSeconds;
+    }
+
+    public String getServiceCode() {
+        return serviceCode;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public long getBlockSeconds() {
+        return blockSeconds;
+    }
+}
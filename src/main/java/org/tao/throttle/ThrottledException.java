@@ -0,0 +1,18 @@
+package org.tao.throttle;
+
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.exception.SignatureValidationException;
+
+/**
+ * 限流拒绝时抛出的异常，不记录堆栈，按返回类型预先创建并复用
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ThrottledException extends SignatureValidationException {
+
+    public ThrottledException(String returnType) {
+        super(returnType, SignatureFailureReasonEnum.THROTTLED, "[验签失败] 失败次数过多，请稍后重试！", false);
+    }
+}
@@ -1,6 +1,13 @@
 package org.tao.utils;
 
 import org.springframework.util.DigestUtils;
+import org.tao.algorithm.SignatureDigest;
+import org.tao.algorithm.SignatureKey;
+import org.tao.algorithm.SigningDigest;
+import org.tao.algorithm.SigningKey;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 
 /**
  * @author: handsometaoa
@@ -19,7 +26,23 @@ public class SignatureUtil {
      */
     public static boolean verifySignature(String params, String secretKey, String sign) {
         String serverSign = generateSignature(params, secretKey);
-        return serverSign.equals(sign);
+        return sign != null && MessageDigest.isEqual(serverSign.getBytes(StandardCharsets.UTF_8), sign.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 使用解析后的密钥校验签名是否正确，复用当前线程的摘要器与缓冲区，常量时间比较，不产生对象分配
+     *
+     * @param key       密钥对象
+     * @param requestId 请求id
+     * @param timestamp 时间戳
+     * @param sign      客户端传递的签名
+     * @return 是否校验通过
+     */
+    public static boolean verifySignature(SignatureKey key, CharSequence requestId, long timestamp, CharSequence sign) {
+        SignatureDigest digest = key.digest();
+        digest.update(requestId);
+        digest.update(timestamp);
+        return digest.verify(sign);
     }
 
 
@@ -33,16 +56,30 @@ public class SignatureUtil {
      */
     public static String generateSignature(String requestId, String timestamp, String secretKey) {
         String rawData = requestId + timestamp + secretKey;
-        return DigestUtils.md5DigestAsHex(rawData.getBytes());
+        return DigestUtils.md5DigestAsHex(rawData.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 使用解析后的密钥生成签名
+     *
+     * @param key       可签名的密钥对象，公钥算法的密钥只能验签
+     * @param requestId 请求id
+     * @param timestamp 时间戳
+     * @return 生成的签名
+     */
+    public static String generateSignature(SigningKey key, CharSequence requestId, long timestamp) {
+        SigningDigest digest = key.digest();
+        digest.update(requestId);
+        digest.update(timestamp);
+        return digest.sign();
     }
 
 
 
     private static String generateSignature(String params, String secretKey) {
         String rawData = params + secretKey;
-        return DigestUtils.md5DigestAsHex(rawData.getBytes());
+        return DigestUtils.md5DigestAsHex(rawData.getBytes(StandardCharsets.UTF_8));
     }
 
 
 }
-
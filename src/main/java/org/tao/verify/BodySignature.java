@@ -0,0 +1,62 @@
+package org.tao.verify;
+
+import org.tao.algorithm.SignatureDigest;
+import org.tao.plan.SignaturePlan;
+
+/**
+ * 请求体签名的进行中状态：请求头已校验，摘要器已写入 requestId 与 timestamp，随请求体读取继续写入
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class BodySignature {
+
+    private final SignaturePlan plan;
+    private final String serviceCode;
+    private final String requestId;
+    private final long timestamp;
+    private final String signature;
+    private final SignatureDigest digest;
+
+    BodySignature(SignaturePlan plan, String serviceCode, String requestId, long timestamp, String signature, SignatureDigest digest) {
+        this.plan = plan;
+        this.serviceCode = serviceCode;
+        this.requestId = requestId;
+        this.timestamp = timestamp;
+        this.signature = signature;
+        this.digest = digest;
+    }
+
+    public void update(int b) {
+        digest.update((byte) b);
+    }
+
+    public void update(byte[] input, int offset, int len) {
+        digest.update(input, offset, len);
+    }
+
+    public SignaturePlan getPlan() {
+        return plan;
+    }
+
+    public String getServiceCode() {
+        return serviceCode;
+    }
+
+    String getRequestId() {
+        return requestId;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    SignatureDigest getDigest() {
+        return digest;
+    }
+}
@@ -0,0 +1,56 @@
+package org.tao.verify;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.tao.plan.SignaturePlan;
+
+/**
+ * 请求头模式、请求体模式的校验标记，切面据此确认本次调用已在控制器之前由拦截器或过滤器完成校验，未找到标记时按缺失鉴权参数拒绝
+ * <p>
+ * Servlet 应用由 SignatureInterceptor 校验通过后写入请求属性；WebFlux 应用由 ReactiveSignatureWebFilter
+ * 在订阅下游处理链、分发请求体信号期间为当前线程绑定校验计划，标记只在同步调用期间有效，
+ * 下游切换线程后调用控制器时切面找不到标记
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class RequestVerification {
+
+    // Servlet 请求中记录已校验的校验计划
+    public static final String ATTRIBUTE = RequestVerification.class.getName() + ".PLAN";
+
+    private static final ThreadLocal<SignaturePlan> VERIFIED = new ThreadLocal<>();
+
+    private RequestVerification() {
+    }
+
+    /**
+     * @return 绑定前的标记，用于 unbind 时恢复
+     */
+    public static SignaturePlan bind(SignaturePlan plan) {
+        SignaturePlan previous = VERIFIED.get();
+        VERIFIED.set(plan);
+        return previous;
+    }
+
+    public static void unbind(SignaturePlan previous) {
+        if (previous == null) {
+            VERIFIED.remove();
+        } else {
+            VERIFIED.set(previous);
+        }
+    }
+
+    /**
+     * 当前请求是否已校验该计划，当前线程绑定的标记只能使用一次
+     */
+    public static boolean consume(SignaturePlan plan) {
+        if (VERIFIED.get() == plan) {
+            VERIFIED.remove();
+            return true;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == plan;
+    }
+}
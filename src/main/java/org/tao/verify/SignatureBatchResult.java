@@ -0,0 +1,121 @@
+package org.tao.verify;
+
+import org.tao.exception.SignatureValidationException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 批量验签结果，按下标记录每个元素的校验结果
+ * <p>
+ * 快速失败模式下出现失败后剩余元素不再校验，这些元素 isVerified 为 false；
+ * 切面在非快速失败模式下调用控制器期间可通过 current() 获取本次请求的结果，由控制器决定如何处理未通过的元素
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class SignatureBatchResult {
+
+    private static final ThreadLocal<SignatureBatchResult> CURRENT = new ThreadLocal<>();
+
+    // 校验通过的占位
+    private static final SignatureValidationException PASSED = new SignatureValidationException(null, null, "passed", false) {
+    };
+
+    private final int size;
+    // null 表示未校验，PASSED 表示通过，其他为失败原因
+    private final AtomicReferenceArray<SignatureValidationException> results;
+    // 下标最小的失败元素，Integer.MAX_VALUE 表示没有失败
+    private final AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+
+    SignatureBatchResult(int size) {
+        this.size = size;
+        this.results = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * 当前线程正在处理的批量请求的结果，不在切面调用的控制器中时返回 null
+     */
+    public static SignatureBatchResult current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(SignatureBatchResult result) {
+        CURRENT.set(result);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    void passed(int index) {
+        results.set(index, PASSED);
+    }
+
+    void failed(int index, SignatureValidationException e) {
+        results.set(index, e);
+        int current = firstFailure.get();
+        while (index < current && !firstFailure.compareAndSet(current, index)) {
+            current = firstFailure.get();
+        }
+    }
+
+    boolean hasFailure() {
+        return firstFailure.get() != Integer.MAX_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 所有元素均已校验且通过
+     */
+    public boolean isAllPassed() {
+        if (hasFailure()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (results.get(i) != PASSED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isVerified(int index) {
+        return results.get(index) != null;
+    }
+
+    public boolean isPassed(int index) {
+        return results.get(index) == PASSED;
+    }
+
+    /**
+     * 元素的失败原因，通过或未校验时返回 null
+     */
+    public SignatureValidationException getFailure(int index) {
+        SignatureValidationException result = results.get(index);
+        return result == PASSED ? null : result;
+    }
+
+    /**
+     * 下标最小的失败元素，没有失败时返回 -1；并行且快速失败时为已校验元素中下标最小的失败元素
+     */
+    public int getFirstFailureIndex() {
+        int index = firstFailure.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+    public int getFailedCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            SignatureValidationException result = results.get(i);
+            if (result != null && result != PASSED) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,507 @@
+package org.tao.verify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.tao.algorithm.SignatureDigest;
+import org.tao.algorithm.SignatureKey;
+import org.tao.algorithm.VerifiedSignatureCache;
+import org.tao.audit.SignatureAuditor;
+import org.tao.config.SignatureProperties;
+import org.tao.consts.SignatureConst;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureStageEnum;
+import org.tao.exception.SignatureValidationException;
+import org.tao.key.SecretKeyProvider;
+import org.tao.metrics.SignatureMetrics;
+import org.tao.plan.SignaturePlan;
+import org.tao.replay.NonceStore;
+import org.tao.throttle.ClientAddress;
+import org.tao.throttle.FailureThrottle;
+import org.tao.throttle.SignatureThrottledEvent;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 验签核心流程：服务编码、密钥、鉴权参数、时间戳、签名与重放校验
+ * <p>
+ * 鉴权参数的来源由调用方决定，切面从方法参数中提取，拦截器从请求头中读取；
+ * 请求体签名分为 startBody 与 finishBody 两步，中间由 SignatureBodyRequestWrapper 在读取请求体时写入摘要；
+ * 批量验签 verifyAll 对集合中的每个元素分别校验，元素较多时拆分到 ForkJoinPool 并行执行
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+@Component
+public class SignatureVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureVerifier.class);
+
+    @Resource
+    private SecretKeyProvider secretKeyProvider;
+
+    @Resource
+    private SignatureMetrics signatureMetrics;
+
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Resource
+    private SignatureProperties signatureProperties;
+
+    // 未开启防重放时为 null
+    @Autowired(required = false)
+    private NonceStore nonceStore;
+
+    // 未开启验签失败限流时为 null
+    @Autowired(required = false)
+    private FailureThrottle failureThrottle;
+
+    // 未开启审计时为 null
+    @Autowired(required = false)
+    private SignatureAuditor signatureAuditor;
+
+    // 未开启验签缓存时为 null，只对公钥算法生效
+    @Autowired(required = false)
+    private VerifiedSignatureCache verifiedCache;
+
+    // 批量验签线程池，首次并行校验时创建
+    private volatile ForkJoinPool batchPool;
+
+    /**
+     * 校验签名，失败时抛出 SignatureValidationException
+     *
+     * @param plan           校验计划
+     * @param serviceCode    请求携带的服务编码，计划中已固定服务编码时忽略
+     * @param requestIdValue 请求id
+     * @param timestampValue 时间戳
+     * @param signatureValue 客户端传递的签名
+     * @param keyIdValue     密钥编号，未携带时使用服务编码的默认密钥
+     */
+    public void verify(SignaturePlan plan, String serviceCode, Object requestIdValue, Object timestampValue, Object signatureValue, Object keyIdValue) {
+        verify(plan, serviceCode, null, null, requestIdValue, timestampValue, signatureValue, keyIdValue, false);
+    }
+
+    /**
+     * 排序参数签名：签名覆盖 params 参数按 key 排序拼接的 k=v&... 串，失败时抛出 SignatureValidationException
+     *
+     * @param params @SignatureParam 标记的参数
+     */
+    public void verifyCanonical(SignaturePlan plan, String serviceCode, Object params, Object requestIdValue, Object timestampValue, Object signatureValue,
+                                Object keyIdValue) {
+        verify(plan, serviceCode, params, params, requestIdValue, timestampValue, signatureValue, keyIdValue, false);
+    }
+
+    /**
+     * 参数模式与排序参数模式校验 @SignatureParam 标记的参数，按计划的模式选择签名方式
+     *
+     * @param params @SignatureParam 标记的参数
+     * @param fields ParamExtractor 提取的 requestId、timestamp、signature、keyId，提取失败时为 null
+     */
+    public void verifyParams(SignaturePlan plan, String serviceCode, Object params, Object[] fields) {
+        verifyParams(plan, serviceCode, params, fields, false);
+    }
+
+    private void verifyParams(SignaturePlan plan, String serviceCode, Object params, Object[] fields, boolean batch) {
+        Object canonicalParams = plan.getCanonicalWriter() == null ? null : params;
+        if (fields == null) {
+            verify(plan, serviceCode, canonicalParams, params, null, null, null, null, batch);
+        } else {
+            verify(plan, serviceCode, canonicalParams, params, fields[0], fields[1], fields[2], fields[3], batch);
+        }
+    }
+
+    /**
+     * @param canonicalParams 排序参数签名的参数，其他模式为 null
+     * @param payload         审计记录的请求参数
+     * @param batch           是否为批量验签的元素，失败时只记录指标与审计，限流计数与日志由 verifyAll 按整批处理
+     */
+    private void verify(SignaturePlan plan, String serviceCode, Object canonicalParams, Object payload, Object requestIdValue, Object timestampValue,
+                        Object signatureValue, Object keyIdValue, boolean batch) {
+        long start = auditStart();
+        try {
+            validateSignature(plan, serviceCode, requestIdValue, timestampValue, signatureValue, keyIdValue, canonicalParams, false);
+            signatureMetrics.success(plan, resolveServiceCode(plan, serviceCode));
+        } catch (Exception e) {
+            throw handleFailure(plan, serviceCode, requestIdValue, start, payload, e, batch);
+        }
+    }
+
+    /**
+     * 请求体签名：校验请求头中的鉴权参数，返回已写入 requestId 与 timestamp 的摘要状态，签名在请求体读取完毕后比较
+     *
+     * @return 请求体签名状态
+     */
+    public BodySignature startBody(SignaturePlan plan, String serviceCode, Object requestIdValue, Object timestampValue, Object signatureValue,
+                                   Object keyIdValue) {
+        long start = auditStart();
+        try {
+            return validateSignature(plan, serviceCode, requestIdValue, timestampValue, signatureValue, keyIdValue, null, true);
+        } catch (Exception e) {
+            throw handleFailure(plan, serviceCode, requestIdValue, start, null, e, false);
+        }
+    }
+
+    /**
+     * 请求体读取完毕后比较签名并校验重放
+     */
+    public void finishBody(BodySignature body) {
+        SignaturePlan plan = body.getPlan();
+        long start = auditStart();
+        try {
+            if (!body.getDigest().verify(body.getSignature())) {
+                throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.BAD_SIGNATURE, "签名校验不通过！");
+            }
+            if (nonceStore != null) {
+                validateReplay(plan, body.getServiceCode(), body.getRequestId(), body.getTimestamp());
+            }
+            signatureMetrics.success(plan, body.getServiceCode());
+        } catch (Exception e) {
+            throw handleFailure(plan, body.getServiceCode(), body.getRequestId(), start, null, e, false);
+        }
+    }
+
+    private long auditStart() {
+        return signatureAuditor == null ? 0L : System.nanoTime();
+    }
+
+    private SignatureValidationException handleFailure(SignaturePlan plan, String serviceCode, Object requestIdValue, long start, Object payload, Exception e,
+                                                       boolean batch) {
+        if (e instanceof SignatureValidationException) {
+            SignatureFailureReasonEnum reason = ((SignatureValidationException) e).getReason();
+            signatureMetrics.failure(plan, metricServiceCode(plan, serviceCode, reason), reason);
+            audit(plan, resolveServiceCode(plan, serviceCode), requestIdValue, reason, start, payload);
+            if (reason == SignatureFailureReasonEnum.THROTTLED || batch) {
+                // 封禁期间的请求不再逐条打印日志，批量元素由 verifyAll 按整批记录
+                return (SignatureValidationException) e;
+            }
+            recordFailure(plan, serviceCode, reason);
+            if (signatureAuditor == null) {
+                // 开启审计后由后台线程采样输出，不再同步打印
+                logger.warn("[签名校验] 校验失败，method => {}, serviceCode => {}, message => {}", plan.getMethod().getName(), serviceCode, e.getMessage());
+            }
+            return (SignatureValidationException) e;
+        }
+        signatureMetrics.failure(plan, null, SignatureFailureReasonEnum.SYSTEM_ERROR);
+        audit(plan, resolveServiceCode(plan, serviceCode), requestIdValue, SignatureFailureReasonEnum.SYSTEM_ERROR, start, payload);
+        if (batch) {
+            return new SignatureValidationException(SignatureConst.DEFAULT_RETURN_TYPE, SignatureFailureReasonEnum.SYSTEM_ERROR, "系统异常，请稍后重试！");
+        }
+        logger.error("[签名校验] 校验失败，method => {}, serviceCode => {}, message => {}", plan.getMethod().getName(), serviceCode, e.getMessage());
+        return new SignatureValidationException(SignatureConst.DEFAULT_RETURN_TYPE, SignatureFailureReasonEnum.SYSTEM_ERROR, "系统异常，请稍后重试！");
+    }
+
+    /**
+     * 指标中记录的服务编码：服务编码缺失、未配置密钥，或被限流时请求携带的服务编码未配置密钥，记录为 null，避免调用方任意传值导致指标维度膨胀
+     */
+    private String metricServiceCode(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+        if (reason == SignatureFailureReasonEnum.MISSING_SERVICE_CODE || reason == SignatureFailureReasonEnum.MISSING_SECRET) {
+            return null;
+        }
+        if (reason == SignatureFailureReasonEnum.THROTTLED && plan.getServiceCode() == null && plan.getSignatureKey() == null
+                && (StringUtils.isEmpty(serviceCode) || secretKeyProvider.getKey(serviceCode, null, plan.getAlgorithm()) == null)) {
+            return null;
+        }
+        return resolveServiceCode(plan, serviceCode);
+    }
+
+    private void audit(SignaturePlan plan, String serviceCode, Object requestIdValue, SignatureFailureReasonEnum reason, long start, Object payload) {
+        if (signatureAuditor != null) {
+            signatureAuditor.record(plan, serviceCode, requestIdValue, reason, start,
+                    ClientAddress.current(signatureProperties.getThrottle().getClientHeader()), payload);
+        }
+    }
+
+    private void recordFailure(SignaturePlan plan, String serviceCode, SignatureFailureReasonEnum reason) {
+        // 仅统计调用方可控的失败，配置错误、系统异常、防重放容量已满与共享存储不可用不计入；
+        // 未配置密钥的服务编码不计入，避免调用方任意传值占用限流计数并在指标中产生新的服务编码
+        if (failureThrottle == null || reason == SignatureFailureReasonEnum.SYSTEM_ERROR || reason == SignatureFailureReasonEnum.INVALID_CONFIG
+                || reason == SignatureFailureReasonEnum.MISSING_SECRET
+                || reason == SignatureFailureReasonEnum.REPLAY_OVERFLOW || reason == SignatureFailureReasonEnum.REPLAY_STORE_UNAVAILABLE) {
+            return;
+        }
+        String servicedCodeNew = resolveServiceCode(plan, serviceCode);
+        String client = failureThrottle.currentClient();
+        if (client == null) {
+            // 无法确定调用方（如 WebFlux 下由切面校验的参数模式）时不计数，避免同一服务编码的所有调用方被一起封禁
+            return;
+        }
+        if (failureThrottle.recordFailure(servicedCodeNew, client)) {
+            logger.warn("[签名校验] 验签失败次数过多，开始限流，serviceCode => {}, client => {}, blockSeconds => {}", servicedCodeNew, client, failureThrottle.getBlockSeconds());
+            applicationEventPublisher.publishEvent(new SignatureThrottledEvent(this, servicedCodeNew, client, failureThrottle.getBlockSeconds()));
+        }
+    }
+
+    /**
+     * 批量验签：集合中的每个元素是一条独立签名的记录，按计划中的字段逐条校验，是否快速失败使用 signature.batch.fail-fast 配置
+     *
+     * @param plan        校验计划，元素的字段名与签名模式（PARAMS、CANONICAL）取自该计划
+     * @param serviceCode 请求携带的服务编码，计划中已固定服务编码时忽略
+     * @param items       待校验的元素
+     * @return 每个元素的校验结果
+     */
+    public SignatureBatchResult verifyAll(SignaturePlan plan, String serviceCode, Collection<?> items) {
+        return verifyAll(plan, serviceCode, items, signatureProperties.getBatch().isFailFast());
+    }
+
+    /**
+     * 批量验签，元素数量达到 signature.batch.parallel-threshold 时并行校验，每个工作线程复用各自的摘要器；
+     * 指标与审计按元素记录，限流计数与失败日志按整批只记录一次
+     *
+     * @param failFast 任一元素失败后是否停止校验剩余元素
+     */
+    public SignatureBatchResult verifyAll(SignaturePlan plan, String serviceCode, Collection<?> items, boolean failFast) {
+        Object[] elements = items.toArray();
+        SignatureBatchResult result = new SignatureBatchResult(elements.length);
+        if (elements.length < Math.max(2, signatureProperties.getBatch().getParallelThreshold())) {
+            for (int i = 0; i < elements.length && !(failFast && result.hasFailure()); i++) {
+                verifyElement(plan, serviceCode, elements, i, result);
+            }
+        } else {
+            // 工作线程中无法读取当前请求，限流与审计需要的调用方地址在此获取后绑定到工作线程
+            String client = failureThrottle == null && signatureAuditor == null ? null : ClientAddress.current(signatureProperties.getThrottle().getClientHeader());
+            ForkJoinPool pool = batchPool();
+            // 每个工作线程约分到 4 段，便于负载均衡
+            int grain = Math.max(8, elements.length / (pool.getParallelism() * 4));
+            pool.invoke(new BatchTask(plan, serviceCode, elements, result, failFast, client, grain, 0, elements.length));
+        }
+        if (result.hasFailure()) {
+            handleBatchFailure(plan, serviceCode, result);
+        }
+        return result;
+    }
+
+    /**
+     * 整批记录一次限流失败与日志，原因取下标最小的失败元素
+     */
+    private void handleBatchFailure(SignaturePlan plan, String serviceCode, SignatureBatchResult result) {
+        int index = result.getFirstFailureIndex();
+        SignatureValidationException failure = result.getFailure(index);
+        if (failure.getReason() == SignatureFailureReasonEnum.THROTTLED) {
+            return;
+        }
+        recordFailure(plan, serviceCode, failure.getReason());
+        if (signatureAuditor == null || failure.getReason() == SignatureFailureReasonEnum.SYSTEM_ERROR) {
+            logger.warn("[签名校验] 批量校验失败，method => {}, serviceCode => {}, failed => {}, firstIndex => {}, message => {}",
+                    plan.getMethod().getName(), serviceCode, result.getFailedCount(), index, failure.getMessage());
+        }
+    }
+
+    private void verifyElement(SignaturePlan plan, String serviceCode, Object[] elements, int index, SignatureBatchResult result) {
+        Object element = elements[index];
+        Object[] fields = null;
+        if (element != null) {
+            try {
+                fields = plan.getParamExtractor().extract(element);
+            } catch (Exception e) {
+                logger.error("[签名校验] 失败，请检查批量参数元素是否正确, index => {}, elementType => {}, message => {}", index, element.getClass().getName(), e.getMessage());
+            }
+        }
+        try {
+            verifyParams(plan, serviceCode, element, fields, true);
+            result.passed(index);
+        } catch (SignatureValidationException e) {
+            result.failed(index, e);
+        }
+    }
+
+    private ForkJoinPool batchPool() {
+        ForkJoinPool pool = batchPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = batchPool;
+                if (pool == null) {
+                    int parallelism = signatureProperties.getBatch().getParallelism();
+                    pool = parallelism <= 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism, p -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        thread.setName("signature-batch-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                    batchPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ForkJoinPool pool = batchPool;
+        if (pool != null && pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 按下标区间二分拆分的批量校验任务
+     */
+    private final class BatchTask extends RecursiveAction {
+
+        private final SignaturePlan plan;
+        private final String serviceCode;
+        private final Object[] elements;
+        private final SignatureBatchResult result;
+        private final boolean failFast;
+        private final String client;
+        private final int grain;
+        private final int from;
+        private final int to;
+
+        BatchTask(SignaturePlan plan, String serviceCode, Object[] elements, SignatureBatchResult result, boolean failFast, String client,
+                  int grain, int from, int to) {
+            this.plan = plan;
+            this.serviceCode = serviceCode;
+            this.elements = elements;
+            this.result = result;
+            this.failFast = failFast;
+            this.client = client;
+            this.grain = grain;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (failFast && result.hasFailure()) {
+                return;
+            }
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(plan, serviceCode, elements, result, failFast, client, grain, from, mid),
+                        new BatchTask(plan, serviceCode, elements, result, failFast, client, grain, mid, to));
+                return;
+            }
+            if (client != null) {
+                ClientAddress.bind(client);
+            }
+            try {
+                for (int i = from; i < to && !(failFast && result.hasFailure()); i++) {
+                    verifyElement(plan, serviceCode, elements, i, result);
+                }
+            } finally {
+                if (client != null) {
+                    ClientAddress.unbind();
+                }
+            }
+        }
+    }
+
+    private static String resolveServiceCode(SignaturePlan plan, String serviceCode) {
+        return plan.getServiceCode() == null ? serviceCode : plan.getServiceCode();
+    }
+
+    private BodySignature validateSignature(SignaturePlan plan, String serviceCode, Object requestIdValue, Object timestampValue, Object signatureValue,
+                                            Object keyIdValue, Object params, boolean body) throws SignatureValidationException {
+        // 获取服务编码，如果 SignatureChecker 指定，选择 SignatureChecker 的值，否则选择请求携带的值
+        String servicedCodeNew = plan.getServiceCode() == null ? serviceCode : plan.getServiceCode();
+
+        // 调用方处于封禁中时直接拒绝，不再计算签名
+        if (failureThrottle != null && failureThrottle.isBlocked(servicedCodeNew, failureThrottle.currentClient())) {
+            throw failureThrottle.rejection(plan.getReturnType());
+        }
+
+        if (StringUtils.isEmpty(servicedCodeNew)) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.MISSING_SERVICE_CODE, "[验签失败] 缺失 serviceCode，请配置！");
+        }
+
+        // 获取密钥 如果 SignatureChecker 指定，选择 SignatureChecker 的值，否则按服务编码与密钥编号从 SecretKeyProvider 中查找
+        long start = signatureMetrics.start();
+        String keyId = keyIdValue == null ? null : keyIdValue.toString();
+        SignatureKey signatureKey = plan.getSignatureKey() == null ? secretKeyProvider.getKey(servicedCodeNew, keyId, plan.getAlgorithm()) : plan.getSignatureKey();
+        signatureMetrics.stage(plan, SignatureStageEnum.KEY_LOOKUP, start);
+        if (signatureKey == null) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.MISSING_SECRET, "[验签失败] 缺失 secretKey，请配置！");
+        }
+
+        // 获取实际请求参数数据
+        String requestId = requestIdValue == null ? null : requestIdValue.toString();
+        Long timestamp = timestampValue == null ? null : Long.parseLong(timestampValue.toString());
+        String signature = signatureValue == null ? null : signatureValue.toString();
+        if (StringUtils.isEmpty(requestId) || StringUtils.isEmpty(signature) || StringUtils.isEmpty(timestamp)) {
+            // 开启审计后由后台线程采样输出，不再同步打印
+            if (signatureAuditor == null) {
+                logger.warn("[验签失败] 缺失鉴权参数，请检查！requestId => {}, signature => {}, timestamp => {}", requestId, signature, timestamp);
+            }
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.MISSING_FIELDS, "[验签失败] 缺失鉴权参数，请检查！");
+        }
+
+        // 校验时间戳
+        start = signatureMetrics.start();
+        validateTimestamp(plan, timestamp);
+        start = signatureMetrics.stage(plan, SignatureStageEnum.TIMESTAMP, start);
+
+        // 请求体签名，请求体读取完毕后再比较签名
+        if (body) {
+            SignatureDigest digest = signatureKey.newDigest(verifiedCache);
+            digest.update(requestId);
+            digest.update(timestamp);
+            return new BodySignature(plan, servicedCodeNew, requestId, timestamp, signature, digest);
+        }
+
+        // 校验签名
+        boolean passed;
+        if (plan.getCanonicalWriter() != null) {
+            SignatureDigest digest = signatureKey.digest(verifiedCache);
+            plan.getCanonicalWriter().write(digest, params);
+            passed = digest.verify(signature);
+        } else {
+            SignatureDigest digest = signatureKey.digest(verifiedCache);
+            digest.update(requestId);
+            digest.update(timestamp);
+            passed = digest.verify(signature);
+        }
+        signatureMetrics.stage(plan, SignatureStageEnum.DIGEST, start);
+        if (!passed) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.BAD_SIGNATURE, "签名校验不通过！");
+        }
+
+        // 校验重放，签名通过后才记录 requestId，避免伪造请求占用容量
+        if (nonceStore != null) {
+            validateReplay(plan, servicedCodeNew, requestId, timestamp);
+        }
+        return null;
+    }
+
+    private void validateReplay(SignaturePlan plan, String serviceCode, String requestId, long timestamp) throws SignatureValidationException {
+        switch (nonceStore.tryAcquire(serviceCode, requestId, timestamp)) {
+            case DUPLICATE:
+                throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.REPLAYED, "[验签失败] 重复请求，请勿重放！");
+            case OVERFLOW:
+                throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.REPLAY_OVERFLOW, "[验签失败] 请求过多，请稍后重试！");
+            case OUT_OF_WINDOW:
+                if (timestamp > System.currentTimeMillis()) {
+                    throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.CLOCK_SKEW, "[验签失败] 调用端时间与服务器时间未同步，请检查！");
+                }
+                throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.EXPIRED, "[验签失败] 请求已过期，请重新请求！");
+            case UNAVAILABLE:
+                throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.REPLAY_STORE_UNAVAILABLE, "[验签失败] 系统繁忙，请稍后重试！");
+            default:
+        }
+    }
+
+    private void validateTimestamp(SignaturePlan plan, long timestamp) throws SignatureValidationException {
+        long expireMillis = plan.getExpireMillis();
+        // 如果是0，则代表永久有效，不进行时间判断
+        if (expireMillis == 0) {
+            return;
+        } else if (expireMillis == SignaturePlan.INVALID_EXPIRE) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.INVALID_CONFIG, "[验签失败] 过期时间配置无效，请检查！");
+        }
+
+        long currentTime = System.currentTimeMillis();
+        if (timestamp > currentTime + SignatureConst.MAX_CLOCK_SKEW_MILLIS) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.CLOCK_SKEW, "[验签失败] 调用端时间与服务器时间未同步，请检查！");
+        } else if (currentTime - timestamp > expireMillis) {
+            throw new SignatureValidationException(plan.getReturnType(), SignatureFailureReasonEnum.EXPIRED, "[验签失败] 请求已过期，请重新请求！");
+        }
+    }
+}
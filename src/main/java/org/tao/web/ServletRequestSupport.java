@@ -0,0 +1,62 @@
+package org.tao.web;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+import org.tao.throttle.ClientAddress;
+import org.tao.verify.BodySignature;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * 从当前 Servlet 请求读取验签所需信息，集中引用 Servlet API 的类型
+ * <p>
+ * 仅包含 WebFlux 的应用中不存在 Servlet API，校验本类时即抛出 NoClassDefFoundError，
+ * 切面等公共组件需先用 ClassUtils.isPresent 判断 javax.servlet.ServletRequest 存在再调用本类方法
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public final class ServletRequestSupport {
+
+    private ServletRequestSupport() {
+    }
+
+    /**
+     * @return 当前线程是否正在处理 Servlet 请求
+     */
+    public static boolean isServletRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes;
+    }
+
+    /**
+     * 读完剩余请求体并返回摘要状态，未经过 SignatureBodyFilter 或未开始计算摘要时返回 null
+     */
+    public static BodySignature finishBody() throws IOException {
+        HttpServletRequest request = currentRequest();
+        SignatureBodyRequestWrapper wrapper = request == null ? null : WebUtils.getNativeRequest(request, SignatureBodyRequestWrapper.class);
+        return wrapper == null ? null : wrapper.finish();
+    }
+
+    /**
+     * @param header 读取地址的请求头，为空时使用 remoteAddr；请求头包含多个地址时取第一个
+     * @return 调用方地址，不在 Servlet 请求线程中时返回 null
+     */
+    public static String clientAddress(String header) {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return null;
+        }
+        String value = StringUtils.isEmpty(header) ? null : request.getHeader(header);
+        return StringUtils.isEmpty(value) ? request.getRemoteAddr() : ClientAddress.firstAddress(value);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+}
@@ -0,0 +1,35 @@
+package org.tao.web;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.tao.config.SignatureProperties;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 为携带签名请求头的请求包装 SignatureBodyRequestWrapper，是否计算请求体摘要由拦截器按校验计划决定
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureBodyFilter extends OncePerRequestFilter {
+
+    private final SignatureProperties signatureProperties;
+
+    public SignatureBodyFilter(SignatureProperties signatureProperties) {
+        this.signatureProperties = signatureProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(signatureProperties.getHeader().getSignature()) == null) {
+            filterChain.doFilter(request, response);
+        } else {
+            filterChain.doFilter(new SignatureBodyRequestWrapper(request), response);
+        }
+    }
+}
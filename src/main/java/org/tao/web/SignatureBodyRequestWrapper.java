@@ -0,0 +1,153 @@
+package org.tao.web;
+
+import org.tao.verify.BodySignature;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 请求体签名的请求包装：消息转换器读取请求体时，读到的字节同时写入摘要，不额外缓存请求体，内存占用与请求体大小无关
+ * <p>
+ * 由 SignatureInterceptor 在参数绑定之前调用 arm 开始计算，切面在方法执行前调用 finish 读完剩余字节并返回摘要状态
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureBodyRequestWrapper extends HttpServletRequestWrapper {
+
+    private DigestingInputStream inputStream;
+    private BufferedReader reader;
+    private BodySignature bodySignature;
+    // 开始计算摘要之前已被读取的字节数，大于 0 时签名必然无法通过
+    private long consumedBeforeArm;
+
+    public SignatureBodyRequestWrapper(HttpServletRequest request) {
+        super(request);
+    }
+
+    /**
+     * 开始计算请求体摘要
+     */
+    public void arm(BodySignature bodySignature) {
+        this.bodySignature = bodySignature;
+        this.consumedBeforeArm = inputStream == null ? 0 : inputStream.consumed;
+    }
+
+    /**
+     * 读完剩余请求体并返回摘要状态，未开始计算或开始前请求体已被读取时返回 null
+     */
+    public BodySignature finish() throws IOException {
+        if (bodySignature == null || consumedBeforeArm > 0) {
+            return null;
+        }
+        DigestingInputStream stream = (DigestingInputStream) getInputStream();
+        stream.drain();
+        BodySignature result = bodySignature;
+        bodySignature = null;
+        return result;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new DigestingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    private final class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private long consumed;
+        private boolean closed;
+
+        private DigestingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                consumed++;
+                if (bodySignature != null) {
+                    bodySignature.update(b);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                consumed += n;
+                if (bodySignature != null) {
+                    bodySignature.update(b, off, n);
+                }
+            }
+            return n;
+        }
+
+        private void drain() throws IOException {
+            if (closed) {
+                return;
+            }
+            byte[] buffer = new byte[4096];
+            while (read(buffer, 0, buffer.length) >= 0) {
+                // 读取过程中已写入摘要
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return delegate.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            // 消息转换器解析完请求体后会关闭流，关闭前读完剩余字节（如末尾换行），保证摘要覆盖完整请求体
+            if (bodySignature != null) {
+                drain();
+            }
+            closed = true;
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.tao.web;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
+import org.tao.verify.RequestVerification;
+import org.tao.verify.SignatureVerifier;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 请求头模式验签，在参数绑定（读取并反序列化请求体）之前执行，
+ * 伪造或过期的请求只需一次请求头读取与一次摘要计算即被拒绝；
+ * 请求体模式在此校验请求头并开始计算请求体摘要。
+ * 校验通过后写入 RequestVerification 请求属性，拦截器未注册到处理链（或未映射到该路径）时由切面拒绝请求
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureInterceptor implements HandlerInterceptor {
+
+    @Resource
+    private SignaturePlanRegistry signaturePlanRegistry;
+
+    @Resource
+    private SignatureVerifier signatureVerifier;
+
+    @Resource
+    private SignatureProperties signatureProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        SignaturePlan plan = signaturePlanRegistry.getPlan(((HandlerMethod) handler).getMethod());
+        if (plan == null || !plan.isRequired() || plan.getMode() == SignatureModeEnum.PARAMS || plan.getMode() == SignatureModeEnum.CANONICAL) {
+            return true;
+        }
+        // 同一请求已校验过（拦截器被重复注册）时不再校验，否则 requestId 会被判定为重放
+        if (request.getAttribute(RequestVerification.ATTRIBUTE) == plan) {
+            return true;
+        }
+        SignatureProperties.Header header = signatureProperties.getHeader();
+        String serviceCode = request.getHeader(header.getServiceCode());
+        if (plan.getMode() == SignatureModeEnum.HEADER) {
+            signatureVerifier.verify(plan, serviceCode,
+                    request.getHeader(header.getRequestId()),
+                    request.getHeader(header.getTimestamp()),
+                    request.getHeader(header.getSignature()),
+                    request.getHeader(header.getKeyId()));
+            // 切面据此确认已校验，拦截器未执行时切面拒绝请求
+            request.setAttribute(RequestVerification.ATTRIBUTE, plan);
+            return true;
+        }
+
+        // 请求体模式：先校验请求头，再在参数绑定读取请求体时计算摘要，由切面比较签名
+        SignatureBodyRequestWrapper wrapper = WebUtils.getNativeRequest(request, SignatureBodyRequestWrapper.class);
+        if (wrapper == null) {
+            signatureVerifier.verify(plan, serviceCode, null, null, null, null);
+            return true;
+        }
+        wrapper.arm(signatureVerifier.startBody(plan, serviceCode,
+                request.getHeader(header.getRequestId()),
+                request.getHeader(header.getTimestamp()),
+                request.getHeader(header.getSignature()),
+                request.getHeader(header.getKeyId())));
+        request.setAttribute(RequestVerification.ATTRIBUTE, plan);
+        return true;
+    }
+}
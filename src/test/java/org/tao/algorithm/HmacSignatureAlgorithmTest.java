@@ -0,0 +1,118 @@
+package org.tao.algorithm;
+
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * HMAC-SHA256、HMAC-SHA512 的 RFC 4231 测试向量，密钥按 UTF-8 编码，因此只直接选用密钥为 ASCII 字节的用例
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class HmacSignatureAlgorithmTest {
+
+    @Test
+    public void rfc4231TestCase1() {
+        String key = repeat((char) 0x0b, 20);
+        byte[] data = "Hi There".getBytes();
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA256, key, data,
+                "b0344c61d8db38535ca8afceaf0bf12b881dc200c9833da726e9376c2e32cff7");
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA512, key, data,
+                "87aa7cdea5ef619d4ff0b4241a1d6cb02379f4e2ce4ec2787ad0b30545e17cde"
+                        + "daa833b7d6b8a702038b274eaea3f4e4be9d914eeb61f1702e696c203a126854");
+    }
+
+    @Test
+    public void rfc4231TestCase2() {
+        byte[] data = "what do ya want for nothing?".getBytes();
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA256, "Jefe", data,
+                "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843");
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA512, "Jefe", data,
+                "164b7a7bfcf819e2e395fbe73b56e0a387bd64222e831fd610270cd7ea250554"
+                        + "9758bf75c05a994a6d034f65f8f0e6fdcaeab1a34d4a6b4b636e070a38bce737");
+    }
+
+    @Test
+    public void rfc4231TestCase4() {
+        StringBuilder key = new StringBuilder();
+        for (char c = 0x01; c <= 0x19; c++) {
+            key.append(c);
+        }
+        byte[] data = new byte[50];
+        Arrays.fill(data, (byte) 0xcd);
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA256, key.toString(), data,
+                "82558a389a443c0ea4cc819899f2083a85f0faa3e578f8077a2e3ff46729665b");
+        assertMac(HmacSignatureAlgorithm.HMAC_SHA512, key.toString(), data,
+                "b0ba465637458c6990e5a8c5f61d4af7e576d97ff94b872de76f8050361ee3db"
+                        + "a91ca5c11aa25eb4d679275cc5788063a5f19741120c4f2de2adebeb10a298dd");
+    }
+
+    @Test
+    public void keyLongerThanBlockSize() throws Exception {
+        // RFC 4231 用例 6、7 的密钥为 131 个 0xaa，无法用 UTF-8 字符串表示，这里使用相同的消息与 ASCII 长密钥，
+        // 结果与 JDK 的 Mac 实现对照，覆盖密钥先摘要再补齐的分支及其边界
+        byte[][] messages = {
+                "Test Using Larger Than Block-Size Key - Hash Key First".getBytes(StandardCharsets.US_ASCII),
+                ("This is a test using a larger than block-size key and a larger than block-size data. "
+                        + "The key needs to be hashed before being used by the HMAC algorithm.").getBytes(StandardCharsets.US_ASCII)
+        };
+        for (int length : new int[]{64, 65, 128, 129, 131}) {
+            String key = repeat('k', length);
+            for (byte[] message : messages) {
+                assertMac(HmacSignatureAlgorithm.HMAC_SHA256, key, message, jdkMac("HmacSHA256", key, message));
+                assertMac(HmacSignatureAlgorithm.HMAC_SHA512, key, message, jdkMac("HmacSHA512", key, message));
+            }
+        }
+    }
+
+    @Test
+    public void verifyRejectsWrongSignature() {
+        SignatureKey key = HmacSignatureAlgorithm.HMAC_SHA256.createKey("Jefe");
+        SignatureDigest digest = key.digest();
+        digest.update("what do ya want for nothing?");
+        assertFalse(digest.verify("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3842"));
+
+        digest = key.digest();
+        digest.update("what do ya want for nothing?");
+        assertTrue(digest.verify("5BDCC146BF60754E6A042426089575C75A003F089D2739839DEC58B964EC3843"));
+    }
+
+    private static void assertMac(HmacSignatureAlgorithm algorithm, String key, byte[] data, String expected) {
+        SigningKey signatureKey = algorithm.createKey(key);
+        SigningDigest digest = signatureKey.digest();
+        digest.update(data, 0, data.length);
+        assertEquals(expected, digest.sign());
+
+        // 复用当前线程的摘要器，按字节逐个写入结果一致
+        digest = signatureKey.digest();
+        for (byte b : data) {
+            digest.update(b);
+        }
+        assertTrue(digest.verify(expected));
+    }
+
+    private static String jdkMac(String algorithm, String key, byte[] data) throws Exception {
+        Mac mac = Mac.getInstance(algorithm);
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : mac.doFinal(data)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,46 @@
+package org.tao.algorithm;
+
+import org.junit.Test;
+import org.tao.utils.SignatureUtil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 旧版 MD5 签名（requestId + timestamp + secretKey 拼接后取 MD5），使用 RFC 1321 测试向量按拼接规则切分
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class Md5SignatureAlgorithmTest {
+
+    // RFC 1321：MD5("1234567890" * 8) = 57edf4a22be3c955ac49da2e2107b67a
+    private static final String REQUEST_ID = "1234567890";
+    private static final long TIMESTAMP = 1234567890123L;
+    private static final String SECRET = "456789012345678901234567890123456789012345678901234567890";
+    private static final String EXPECTED = "57edf4a22be3c955ac49da2e2107b67a";
+
+    @Test
+    public void legacyStringSignature() {
+        assertEquals(EXPECTED, SignatureUtil.generateSignature(REQUEST_ID, String.valueOf(TIMESTAMP), SECRET));
+    }
+
+    @Test
+    public void keySignatureMatchesLegacy() {
+        SigningKey key = (SigningKey) SignatureAlgorithms.MD5.createKey(SECRET);
+        assertEquals(EXPECTED, SignatureUtil.generateSignature(key, REQUEST_ID, TIMESTAMP));
+        assertTrue(SignatureUtil.verifySignature(key, REQUEST_ID, TIMESTAMP, EXPECTED));
+        assertFalse(SignatureUtil.verifySignature(key, REQUEST_ID, TIMESTAMP + 1, EXPECTED));
+    }
+
+    @Test
+    public void rfc1321Abc() {
+        // requestId 与 secretKey 为空串时即为消息本身的 MD5
+        SigningKey key = (SigningKey) SignatureAlgorithms.MD5.createKey("");
+        SigningDigest digest = key.digest();
+        digest.update("abc");
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", digest.sign());
+    }
+}
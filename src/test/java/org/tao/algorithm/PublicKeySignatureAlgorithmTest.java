@@ -0,0 +1,195 @@
+package org.tao.algorithm;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 公钥验签：Ed25519 使用 RFC 8032 测试向量，ECDSA 使用 RFC 7515 附录 A.3 的 JWS ES256 示例（r||s 格式）
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class PublicKeySignatureAlgorithmTest {
+
+    // RFC 7515 附录 A.3
+    private static final String ES256_JWK = "{\"kty\":\"EC\",\"crv\":\"P-256\","
+            + "\"x\":\"f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU\",\"y\":\"x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0\"}";
+    private static final String ES256_SIGNING_INPUT = "eyJhbGciOiJFUzI1NiJ9"
+            + ".eyJpc3MiOiJqb2UiLA0KICJleHAiOjEzMDA4MTkzODAsDQogImh0dHA6Ly9leGFtcGxlLmNvbS9pc19yb290Ijp0cnVlfQ";
+    private static final String ES256_SIGNATURE = "DtEhU3ljbEg8L38VWAfUAqOyKAM6-Xx-F4GawxaepmXFCgfTjDxw5djxLa8ISlSApmWQxfKTUJqPP3-Kg6NU1Q";
+
+    @Test
+    public void ed25519Rfc8032Test1() {
+        assumeSupported("Ed25519");
+        // JWK 格式公钥，空消息
+        String jwk = "{\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\""
+                + base64Url(hex("d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a")) + "\"}";
+        SignatureKey key = PublicKeySignatureAlgorithm.ED25519.createKey(jwk);
+        String signature = base64(hex("e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e065224901555fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b"));
+        assertTrue(verify(key, new byte[0], signature));
+        assertFalse(verify(key, new byte[]{0x00}, signature));
+    }
+
+    @Test
+    public void ed25519Rfc8032Test2() {
+        assumeSupported("Ed25519");
+        // Base64 编码的 X.509 公钥
+        byte[] spki = concat(hex("302a300506032b6570032100"), hex("3d4017c3e843895a92b70aa74d1b7ebc9c982ccf2ec4968cc0cd55f12af4660c"));
+        SignatureKey key = PublicKeySignatureAlgorithm.ED25519.createKey(base64(spki));
+        String signature = base64(hex("92a009a9f0d4cab8720e820b5f642540a2b27b5416503f8fb3762223ebdb69da085ac1e43e15996e458f3613d0f11d8c387b2eaeb4302aeeb00d291612bb0c00"));
+        assertTrue(verify(key, hex("72"), signature));
+        assertFalse(verify(key, hex("73"), signature));
+    }
+
+    @Test
+    public void ed25519Rfc8032Test3() {
+        assumeSupported("Ed25519");
+        // PEM 格式公钥，签名使用 URL 安全字母表且省略填充
+        byte[] spki = concat(hex("302a300506032b6570032100"), hex("fc51cd8e6218a1a38da47ed00230f0580816ed13ba3303ac5deb911548908025"));
+        String pem = "-----BEGIN PUBLIC KEY-----\n" + base64(spki) + "\n-----END PUBLIC KEY-----";
+        SignatureKey key = PublicKeySignatureAlgorithm.ED25519.createKey(pem);
+        String signature = base64Url(hex("6291d657deec24024827e69c3abe01a30ce548a284743a445e3680d7db5ac3ac18ff9b538d16f290ae67f760984dc6594a7c15e9716ed28dc027beceea1ec40a"));
+        assertTrue(verify(key, hex("af82"), signature));
+    }
+
+    @Test
+    public void es256JwsRawSignature() {
+        SignatureKey key = PublicKeySignatureAlgorithm.ECDSA_SHA256.createKey(ES256_JWK);
+        byte[] message = ES256_SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII);
+        assertTrue(verify(key, message, ES256_SIGNATURE));
+
+        byte[] tampered = Base64.getUrlDecoder().decode(ES256_SIGNATURE);
+        tampered[10] ^= 1;
+        assertFalse(verify(key, message, base64Url(tampered)));
+        assertFalse(verify(key, Arrays.copyOf(message, message.length - 1), ES256_SIGNATURE));
+    }
+
+    @Test
+    public void es256JwsDerSignature() {
+        SignatureKey key = PublicKeySignatureAlgorithm.ECDSA_SHA256.createKey(ES256_JWK);
+        byte[] der = toDer(Base64.getUrlDecoder().decode(ES256_SIGNATURE));
+        assertTrue(verify(key, ES256_SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII), base64(der)));
+    }
+
+    @Test
+    public void ecdsaRawSignatureWithLeadingZeros() throws Exception {
+        assumeSupported("SHA256withECDSAinP1363Format");
+        // 多次签名覆盖 r、s 最高字节为 0 或最高位为 1 的情况，P-521 覆盖 DER 两字节长度
+        for (String curve : new String[]{"secp256r1", "secp521r1"}) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(curve));
+            KeyPair pair = generator.generateKeyPair();
+            SignatureKey key = PublicKeySignatureAlgorithm.ECDSA_SHA256.createKey(base64(pair.getPublic().getEncoded()));
+            Signature signer = Signature.getInstance("SHA256withECDSAinP1363Format");
+            for (int i = 0; i < 200; i++) {
+                byte[] message = ("message-" + i).getBytes(StandardCharsets.UTF_8);
+                signer.initSign(pair.getPrivate());
+                signer.update(message);
+                assertTrue(curve + " #" + i, verify(key, message, base64Url(signer.sign())));
+            }
+        }
+    }
+
+    @Test
+    public void malformedSignatureDoesNotBreakReuse() {
+        SignatureKey key = PublicKeySignatureAlgorithm.ECDSA_SHA256.createKey(ES256_JWK);
+        byte[] message = ES256_SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII);
+        assertFalse(verify(key, message, "not base64!"));
+        assertFalse(verify(key, message, base64(new byte[]{0x30, 0x01, 0x00})));
+        assertTrue(verify(key, message, ES256_SIGNATURE));
+    }
+
+    @Test
+    public void verifiedCacheSkipsRepeatedVerify() {
+        SignatureKey key = PublicKeySignatureAlgorithm.ECDSA_SHA256.createKey(ES256_JWK);
+        // 公钥只能验签，不提供签名摘要器
+        assertFalse(key instanceof SigningKey);
+        byte[] message = ES256_SIGNING_INPUT.getBytes(StandardCharsets.US_ASCII);
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(16);
+        assertTrue(verify(key, cache, message, ES256_SIGNATURE));
+        assertTrue(verify(key, cache, message, ES256_SIGNATURE));
+        assertEquals(1, cache.getHits());
+        assertFalse(verify(key, cache, new byte[]{0x00}, ES256_SIGNATURE));
+        // 未传入缓存时不读写缓存
+        assertTrue(verify(key, message, ES256_SIGNATURE));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    private static boolean verify(SignatureKey key, VerifiedSignatureCache cache, byte[] message, String signature) {
+        SignatureDigest digest = key.digest(cache);
+        digest.update(message, 0, message.length);
+        return digest.verify(signature);
+    }
+
+    private static boolean verify(SignatureKey key, byte[] message, String signature) {
+        SignatureDigest digest = key.digest();
+        digest.update(message, 0, message.length);
+        return digest.verify(signature);
+    }
+
+    private static void assumeSupported(String algorithm) {
+        try {
+            Signature.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            Assume.assumeNoException(e);
+        }
+    }
+
+    /**
+     * 与被测实现无关的 DER 编码：BigInteger.toByteArray 即为最短的补码表示
+     */
+    private static byte[] toDer(byte[] raw) {
+        int n = raw.length / 2;
+        byte[] r = new BigInteger(1, Arrays.copyOfRange(raw, 0, n)).toByteArray();
+        byte[] s = new BigInteger(1, Arrays.copyOfRange(raw, n, raw.length)).toByteArray();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x30);
+        out.write(r.length + s.length + 4);
+        out.write(0x02);
+        out.write(r.length);
+        out.write(r, 0, r.length);
+        out.write(0x02);
+        out.write(s.length);
+        out.write(s, 0, s.length);
+        return out.toByteArray();
+    }
+
+    private static byte[] hex(String value) {
+        byte[] bytes = new byte[value.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(value.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
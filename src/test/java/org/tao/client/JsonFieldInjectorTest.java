@@ -0,0 +1,75 @@
+package org.tao.client;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 注入鉴权参数后的请求体可被解析，原有字段保持不变
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class JsonFieldInjectorTest {
+
+    private static final SignedFields FIELDS = new SignedFields("req-1", 1700000000123L, "0123456789abcdef");
+
+    @Test
+    public void injectIntoObject() {
+        JsonFieldInjector injector = new JsonFieldInjector("requestId", "timestamp", "signature", "keyId", null);
+        JSONObject result = inject(injector, "{\"name\":\"张三\",\"items\":[1,2],\"nested\":{\"a\":null}}");
+        assertSigned(result);
+        assertFalse(result.containsKey("keyId"));
+        assertEquals("张三", result.getString("name"));
+        assertEquals(2, result.getJSONArray("items").size());
+        assertTrue(result.getJSONObject("nested").containsKey("a"));
+    }
+
+    @Test
+    public void injectIntoEmptyObjectWithWhitespace() {
+        JsonFieldInjector injector = new JsonFieldInjector("requestId", "timestamp", "signature", "keyId", "k1");
+        JSONObject result = inject(injector, " \n{ \t}\n");
+        assertSigned(result);
+        assertEquals("k1", result.getString("keyId"));
+        assertEquals(4, result.size());
+    }
+
+    @Test
+    public void injectWithOffset() {
+        JsonFieldInjector injector = new JsonFieldInjector("rid", "ts", "sign", "kid", null);
+        byte[] buffer = "xx{\"a\":1}yy".getBytes(StandardCharsets.UTF_8);
+        JSONObject result = JSON.parseObject(new String(injector.inject(buffer, 2, buffer.length - 4, FIELDS), StandardCharsets.UTF_8));
+        assertEquals("req-1", result.getString("rid"));
+        assertEquals(1700000000123L, result.getLongValue("ts"));
+        assertEquals("0123456789abcdef", result.getString("sign"));
+        assertEquals(1, result.getIntValue("a"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectArrayBody() {
+        new JsonFieldInjector("requestId", "timestamp", "signature", "keyId", null).inject("[1]".getBytes(StandardCharsets.UTF_8), 0, 3, FIELDS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectTruncatedBody() {
+        new JsonFieldInjector("requestId", "timestamp", "signature", "keyId", null).inject("{ ".getBytes(StandardCharsets.UTF_8), 0, 2, FIELDS);
+    }
+
+    private static JSONObject inject(JsonFieldInjector injector, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return JSON.parseObject(new String(injector.inject(bytes, 0, bytes.length, FIELDS), StandardCharsets.UTF_8));
+    }
+
+    private static void assertSigned(JSONObject result) {
+        assertEquals("req-1", result.getString("requestId"));
+        assertEquals(1700000000123L, result.getLongValue("timestamp"));
+        assertEquals("0123456789abcdef", result.getString("signature"));
+    }
+}
@@ -0,0 +1,64 @@
+package org.tao.exception;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 提示信息按 JSON 字符串转义后写入模板，渲染结果解析后与原始信息一致
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class RejectionTemplateTest {
+
+    @Test
+    public void escapeMessage() {
+        RejectionTemplate template = RejectionTemplate.compile(RejectionTemplates.DEFAULT_TEMPLATE, HttpStatus.INTERNAL_SERVER_ERROR);
+        String[] messages = {
+                "签名校验不通过！",
+                "quote \" backslash \\ slash /",
+                "line\nbreak\ttab\r\u0000\u001f",
+                "emoji 😀 and </script>",
+                ""
+        };
+        for (String message : messages) {
+            JSONObject result = render(template, message);
+            assertEquals(message, result.getString("message"));
+            assertEquals(500, result.getIntValue("code"));
+        }
+    }
+
+    @Test
+    public void multiplePlaceholdersAndFieldOrder() {
+        RejectionTemplate template = RejectionTemplate.compile(
+                "{ \"ok\" : false, \"msg\" : \"${message}\", \"detail\" : \"[${message}]\" }", HttpStatus.UNAUTHORIZED);
+        String body = new String(template.render("a\"b"), StandardCharsets.UTF_8);
+        assertEquals("{\"ok\":false,\"msg\":\"a\\\"b\",\"detail\":\"[a\\\"b]\"}", body);
+        assertEquals(HttpStatus.UNAUTHORIZED, template.getStatus());
+    }
+
+    @Test
+    public void templateWithoutPlaceholder() {
+        RejectionTemplate template = RejectionTemplate.compile("{\"code\":401}", HttpStatus.UNAUTHORIZED);
+        assertEquals("{\"code\":401}", new String(template.render("ignored"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void nullMessageRendersEmpty() {
+        RejectionTemplate template = RejectionTemplate.compile(RejectionTemplates.DEFAULT_TEMPLATE, HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals("", render(template, null).getString("message"));
+        assertSame(template.response(null), template.response(""));
+    }
+
+    private static JSONObject render(RejectionTemplate template, String message) {
+        return JSON.parseObject(new String(template.render(message), StandardCharsets.UTF_8));
+    }
+}
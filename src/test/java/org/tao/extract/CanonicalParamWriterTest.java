@@ -0,0 +1,273 @@
+package org.tao.extract;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.PropertyNamingStrategy;
+import com.alibaba.fastjson2.annotation.JSONField;
+import com.alibaba.fastjson2.annotation.JSONType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.algorithm.AbstractSignatureDigest;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.CanonicalArrayEnum;
+import org.tao.enums.CanonicalNestedEnum;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.enums.SignatureParamTypeEnum;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 排序参数拼接：普通对象按请求中实际出现的字段（fastjson 序列化名）拼接，与按请求 JSON 解析出的 Map 拼接结果一致
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class CanonicalParamWriterTest {
+
+    private static final CanonicalParamWriter WRITER = new CanonicalParamWriter(Collections.singletonList("signature"), true,
+            CanonicalNestedEnum.JSON, CanonicalArrayEnum.JOIN);
+
+    @Test
+    public void writeMapSorted() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", "2");
+        map.put("a", 1);
+        map.put("empty", "");
+        map.put("none", null);
+        map.put("signature", "sig");
+        map.put("list", Arrays.asList(1, "x"));
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("y", 1);
+        nested.put("x", "q\"");
+        map.put("n", nested);
+        assertEquals("a=1&b=2&list=1,x&n={\"x\":\"q\\\"\",\"y\":1}", write(WRITER, map));
+    }
+
+    @Test
+    public void writeWireView() {
+        WireParam param = new WireParam();
+        param.setName("tao");
+        param.setAge(3);
+        param.setSecret("hidden");
+        param.setInternal("internal");
+        param.setSignature("sig");
+        param.tag = "t";
+        // 计算属性、忽略的属性不参与，属性名使用序列化名
+        assertEquals("age_years=3&tag=t&user_name=tao", write(WRITER, param));
+        assertMatchesRequest(param);
+    }
+
+    @Test
+    public void writeNamingStrategy() {
+        SnakeCaseParam param = new SnakeCaseParam();
+        param.setRequestId("r1");
+        param.setKeyId("k1");
+        assertEquals("key_id=k1&request_id=r1", write(WRITER, param));
+        assertMatchesRequest(param);
+    }
+
+    @Test
+    public void rejectPrimitiveProperty() {
+        try {
+            WRITER.check(PrimitiveParam.class);
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("count"));
+        }
+        // Map 参数无需检查
+        WRITER.check(Map.class);
+        WRITER.check(WireParam.class);
+    }
+
+    @Test
+    public void rejectPrimitivePropertyAtStartup() {
+        assertStartupFails(PrimitiveController.class);
+        assertStartupFails(PrimitiveBatchController.class);
+    }
+
+    private static void assertStartupFails(Class<?> controller) {
+        Map<String, Object> source = Collections.singletonMap("signature.secret-keys.A", "secret");
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class, controller);
+        try {
+            context.refresh();
+            fail();
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null && !(cause instanceof IllegalStateException)) {
+                cause = cause.getCause();
+            }
+            assertTrue(String.valueOf(cause.getMessage()), cause.getMessage().contains("包装类型"));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 与服务端从请求 JSON 解析出 Map 后的拼接结果一致
+     */
+    private static void assertMatchesRequest(Object param) {
+        Map<?, ?> request = JSON.parseObject(JSON.toJSONString(param), Map.class);
+        request.keySet().retainAll(Arrays.asList("user_name", "age_years", "tag", "request_id", "key_id", "signature"));
+        assertEquals(write(WRITER, request), write(WRITER, param));
+    }
+
+    static String write(CanonicalParamWriter writer, Object param) {
+        CapturingDigest digest = new CapturingDigest();
+        writer.write(digest, param);
+        return new String(digest.out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class CapturingDigest extends AbstractSignatureDigest {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CapturingDigest() {
+            super(0);
+        }
+
+        @Override
+        public void update(byte input) {
+            out.write(input);
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int len) {
+            out.write(input, offset, len);
+        }
+
+        @Override
+        protected void finish(byte[] out) {
+        }
+    }
+
+    public static class WireParam {
+        @JSONField(name = "user_name")
+        private String name;
+        @JsonProperty("age_years")
+        private Integer age;
+        @JsonIgnore
+        private String secret;
+        @JSONField(serialize = false)
+        private String internal;
+        private String signature;
+        public String tag;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public String getInternal() {
+            return internal;
+        }
+
+        public void setInternal(String internal) {
+            this.internal = internal;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        public void setSignature(String signature) {
+            this.signature = signature;
+        }
+
+        // 计算属性，请求中不存在
+        public String getDisplay() {
+            return name + "-" + age;
+        }
+    }
+
+    @JSONType(naming = PropertyNamingStrategy.SnakeCase)
+    public static class SnakeCaseParam {
+        private String requestId;
+        private String keyId;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+    }
+
+    public static class PrimitiveParam {
+        private int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    @RestController
+    public static class PrimitiveController {
+
+        @PostMapping("/canonical")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.CANONICAL)
+        public String handle(@SignatureParam PrimitiveParam params) {
+            return "ok";
+        }
+    }
+
+    @RestController
+    public static class PrimitiveBatchController {
+
+        @PostMapping("/canonical-batch")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.CANONICAL)
+        public String handle(@SignatureParam(type = SignatureParamTypeEnum.BATCH) List<PrimitiveParam> params) {
+            return "ok";
+        }
+    }
+}
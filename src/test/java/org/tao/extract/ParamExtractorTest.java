@@ -0,0 +1,323 @@
+package org.tao.extract;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.PropertyNamingStrategy;
+import com.alibaba.fastjson2.annotation.JSONField;
+import com.alibaba.fastjson2.annotation.JSONType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 字段提取结果与 JSON 序列化后按字段名查找的结果一致
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ParamExtractorTest {
+
+    private static final ParamExtractor EXTRACTOR = new ParamExtractor("requestId", "timestamp", "signature", "keyId");
+    private static final ParamExtractor SNAKE_EXTRACTOR = new ParamExtractor("request_id", "timestamp", "signature", "key_id");
+
+    @Test
+    public void extractMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("requestId", "r1");
+        map.put("timestamp", 1L);
+        assertArrayEquals(new Object[]{"r1", 1L, null, null}, EXTRACTOR.extract(map));
+    }
+
+    @Test
+    public void extractNull() {
+        assertArrayEquals(new Object[4], EXTRACTOR.extract(null));
+    }
+
+    @Test
+    public void extractGetters() {
+        GetterParam param = new GetterParam();
+        param.setRequestId("r1");
+        param.setTimestamp(1700000000000L);
+        param.setSignature("sig");
+        assertArrayEquals(new Object[]{"r1", 1700000000000L, "sig", null}, EXTRACTOR.extract(param));
+        assertMatchesJson(EXTRACTOR, param);
+    }
+
+    @Test
+    public void extractPublicFields() {
+        FieldParam param = new FieldParam();
+        param.requestId = "r1";
+        param.timestamp = 5L;
+        param.signature = "sig";
+        param.keyId = "k1";
+        assertArrayEquals(new Object[]{"r1", 5L, "sig", "k1"}, EXTRACTOR.extract(param));
+    }
+
+    @Test
+    public void extractJsonFieldRenamed() {
+        JsonFieldParam param = new JsonFieldParam();
+        param.setRequestId("r1");
+        param.setTimestamp(2L);
+        param.setSignature("sig");
+        assertArrayEquals(new Object[]{"r1", 2L, "sig", null}, SNAKE_EXTRACTOR.extract(param));
+        // 重命名后原属性名不再出现在序列化结果中
+        assertNull(EXTRACTOR.extract(param)[0]);
+        assertMatchesJson(SNAKE_EXTRACTOR, param);
+        assertMatchesJson(EXTRACTOR, param);
+    }
+
+    @Test
+    public void extractJacksonRenamed() {
+        JacksonParam param = new JacksonParam();
+        param.setRequestId("r1");
+        param.setTimestamp(3L);
+        param.setSignature("sig");
+        param.setKeyId("hidden");
+        assertArrayEquals(new Object[]{"r1", 3L, "sig", null}, SNAKE_EXTRACTOR.extract(param));
+        assertMatchesJson(SNAKE_EXTRACTOR, param);
+    }
+
+    @Test
+    public void extractNamingStrategy() {
+        SnakeCaseParam param = new SnakeCaseParam();
+        param.setRequestId("r1");
+        param.setTimestamp(4L);
+        param.setKeyId("k1");
+        assertArrayEquals(new Object[]{"r1", 4L, null, "k1"}, SNAKE_EXTRACTOR.extract(param));
+        assertMatchesJson(SNAKE_EXTRACTOR, param);
+    }
+
+    @Test
+    public void extractComplexFieldThroughJson() {
+        DateParam param = new DateParam();
+        param.setRequestId("r1");
+        param.setTimestamp(new Date(1700000000000L));
+        Object[] values = EXTRACTOR.extract(param);
+        assertEquals("r1", values[0]);
+        assertEquals(JSON.parseObject(JSON.toJSONString(param)).get("timestamp"), values[1]);
+    }
+
+    @Test
+    public void wrapCheckedGetterException() {
+        try {
+            EXTRACTOR.extract(new ThrowingParam(new IOException("io")));
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("requestId"));
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        IllegalArgumentException runtime = new IllegalArgumentException("bad");
+        try {
+            EXTRACTOR.extract(new ThrowingParam(runtime));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertSame(runtime, e);
+        }
+    }
+
+    private static void assertMatchesJson(ParamExtractor extractor, Object param) {
+        Map<?, ?> map = JSON.parseObject(JSON.toJSONString(param), Map.class);
+        Object[] values = extractor.extract(param);
+        String[] names = extractor == EXTRACTOR
+                ? new String[]{"requestId", "timestamp", "signature", "keyId"}
+                : new String[]{"request_id", "timestamp", "signature", "key_id"};
+        for (int i = 0; i < names.length; i++) {
+            // JSON 方式会将较小的整数解析为 Integer，按字符串比较
+            assertEquals(names[i], String.valueOf(map.get(names[i])), String.valueOf(values[i]));
+        }
+    }
+
+    public static class GetterParam {
+        private String requestId;
+        private Long timestamp;
+        private String signature;
+        private String name;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public Long getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(Long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        public void setSignature(String signature) {
+            this.signature = signature;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class FieldParam {
+        public String requestId;
+        public Long timestamp;
+        public String signature;
+        public String keyId;
+    }
+
+    public static class JsonFieldParam {
+        @JSONField(name = "request_id")
+        private String requestId;
+        private long timestamp;
+        private String signature;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        public void setSignature(String signature) {
+            this.signature = signature;
+        }
+    }
+
+    public static class JacksonParam {
+        @JsonProperty("request_id")
+        private String requestId;
+        private Long timestamp;
+        private String signature;
+        @JsonIgnore
+        private String keyId;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public Long getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(Long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        public void setSignature(String signature) {
+            this.signature = signature;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+    }
+
+    @JSONType(naming = PropertyNamingStrategy.SnakeCase)
+    public static class SnakeCaseParam {
+        private String requestId;
+        private Long timestamp;
+        private String keyId;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public Long getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(Long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+    }
+
+    public static class DateParam {
+        private String requestId;
+        private Date timestamp;
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public Date getTimestamp() {
+            return timestamp;
+        }
+
+        public void setTimestamp(Date timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+
+    public static class ThrowingParam {
+        private final Exception exception;
+
+        ThrowingParam(Exception exception) {
+            this.exception = exception;
+        }
+
+        public String getRequestId() throws Exception {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.tao.init;
+
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+import org.tao.config.SignatureAutoConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 开启防重放时，请求有效期为 0 或超过防重放窗口的方法启动失败
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ReplayWindowValidationTest {
+
+    @Test
+    public void rejectPermanentExpire() {
+        assertStartupFails(PermanentController.class, "signature.replay.enabled=true");
+    }
+
+    @Test
+    public void rejectExpireLongerThanWindow() {
+        assertStartupFails(DefaultController.class, "signature.replay.enabled=true", "signature.expire-minutes=11");
+    }
+
+    @Test
+    public void acceptExpireWithinWindow() {
+        start(DefaultController.class, "signature.replay.enabled=true").close();
+        // 未开启防重放时不校验
+        start(PermanentController.class).close();
+    }
+
+    private static void assertStartupFails(Class<?> controller, String... properties) {
+        try {
+            start(controller, properties).close();
+            fail();
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null && !(cause instanceof IllegalStateException)) {
+                cause = cause.getCause();
+            }
+            assertTrue(String.valueOf(cause.getMessage()), cause.getMessage().contains("防重放窗口"));
+        }
+    }
+
+    static AnnotationConfigApplicationContext start(Class<?> controller, String... properties) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.secret-keys.A", "secret");
+        for (String property : properties) {
+            int index = property.indexOf('=');
+            source.put(property.substring(0, index), property.substring(index + 1));
+        }
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class, controller);
+        context.refresh();
+        return context;
+    }
+
+    @RestController
+    public static class DefaultController {
+
+        @PostMapping("/default")
+        @SignatureChecker(serviceCode = "A")
+        public String handle(@SignatureParam Map<String, Object> params) {
+            return "ok";
+        }
+    }
+
+    @RestController
+    public static class PermanentController {
+
+        @PostMapping("/permanent")
+        @SignatureChecker(serviceCode = "A", expireMinutes = 0)
+        public String handle(@SignatureParam Map<String, Object> params) {
+            return "ok";
+        }
+    }
+}
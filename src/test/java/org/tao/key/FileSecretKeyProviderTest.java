@@ -0,0 +1,110 @@
+package org.tao.key;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tao.algorithm.HmacSignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.algorithm.SignatureKey;
+import org.tao.algorithm.SigningKey;
+import org.tao.config.SignatureProperties;
+import org.tao.utils.SignatureUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 密钥文件加载、未配置算法时使用应用配置，文件变更后自动刷新，监听到缺少服务编码的文件时保留旧密钥
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class FileSecretKeyProviderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSecretKeyProvider provider;
+
+    @After
+    public void destroy() throws Exception {
+        if (provider != null) {
+            provider.destroy();
+        }
+    }
+
+    @Test
+    public void loadWithApplicationAlgorithms() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("keys.properties");
+        write(file, "signature.secret-keys.A=a1\nsignature.key-sets.B.k1=b1\nsignature.key-sets.B.k2=b2\n");
+        SignatureProperties properties = new SignatureProperties();
+        properties.setKeyFile(file.toString());
+        properties.getAlgorithms().put("B", "HMAC-SHA256");
+        provider = new FileSecretKeyProvider(properties);
+        provider.init();
+
+        assertKey(provider.getKey("A", null, null), SignatureAlgorithms.MD5, "a1");
+        assertKey(provider.getKey("B", "k2", null), HmacSignatureAlgorithm.HMAC_SHA256, "b2");
+        assertTrue(provider.contains("B"));
+    }
+
+    @Test
+    public void reloadOnFileChange() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("keys.properties");
+        write(file, "signature.secret-keys.A=a1\nsignature.secret-keys.B=b1\n");
+        SignatureProperties properties = new SignatureProperties();
+        properties.setKeyFile(file.toString());
+        provider = new FileSecretKeyProvider(properties);
+        provider.init();
+
+        write(file, "signature.secret-keys.A=a2\nsignature.secret-keys.B=b1\nsignature.algorithms.A=HMAC-SHA512\n");
+        long deadline = System.currentTimeMillis() + 20000;
+        while (provider.getKey("A", null, null).getAlgorithm() != HmacSignatureAlgorithm.HMAC_SHA512 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertKey(provider.getKey("A", null, null), HmacSignatureAlgorithm.HMAC_SHA512, "a2");
+
+        // 缺少已加载的服务编码，视为未写入完成
+        write(file, "signature.secret-keys.A=a3\n");
+        Thread.sleep(2000);
+        assertKey(provider.getKey("A", null, null), HmacSignatureAlgorithm.HMAC_SHA512, "a2");
+        assertTrue(provider.contains("B"));
+
+        // 主动刷新时接受删除服务编码
+        provider.refresh();
+        assertKey(provider.getKey("A", null, null), SignatureAlgorithms.MD5, "a3");
+        assertFalse(provider.contains("B"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failOnMissingFile() throws Exception {
+        SignatureProperties properties = new SignatureProperties();
+        properties.setKeyFile(folder.getRoot().toPath().resolve("missing.properties").toString());
+        new FileSecretKeyProvider(properties).init();
+    }
+
+    private static void assertKey(SignatureKey key, SignatureAlgorithm algorithm, String secret) {
+        assertSame(algorithm, key.getAlgorithm());
+        String signature = SignatureUtil.generateSignature((SigningKey) algorithm.createKey(secret), "r1", 1L);
+        assertTrue(SignatureUtil.verifySignature(key, "r1", 1L, signature));
+    }
+
+    /**
+     * 先写入临时文件再重命名覆盖
+     */
+    private void write(Path file, String content) throws Exception {
+        Path temp = Files.createTempFile(folder.getRoot().toPath(), "keys", ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
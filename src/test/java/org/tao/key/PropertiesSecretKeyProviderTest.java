@@ -0,0 +1,122 @@
+package org.tao.key;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.algorithm.HmacSignatureAlgorithm;
+import org.tao.algorithm.SignatureAlgorithms;
+import org.tao.anno.SignatureChecker;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.exception.SignatureValidationException;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
+import org.tao.verify.SignatureVerifier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 发布 SecretKeyRefreshEvent 后从 Environment 重新绑定，密钥与服务编码配置的算法一起生效，刷新失败时保留旧密钥
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class PropertiesSecretKeyProviderTest {
+
+    private final Map<String, Object> source = new HashMap<>();
+
+    private AnnotationConfigApplicationContext context;
+
+    @After
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void refreshKeysAndAlgorithms() {
+        source.put("signature.secret-keys.A", "secret");
+        source.put("signature.algorithms.A", "MD5");
+        source.put("signature.secret-keys.B", "secret-b");
+        start();
+        SecretKeyProvider provider = context.getBean(SecretKeyProvider.class);
+        assertSame(SignatureAlgorithms.MD5, provider.getKey("A", null, null).getAlgorithm());
+        assertTrue(provider.contains("B"));
+
+        source.put("signature.secret-keys.A", "secret2");
+        source.put("signature.algorithms.A", "HMAC-SHA256");
+        source.remove("signature.secret-keys.B");
+        context.publishEvent(new SecretKeyRefreshEvent(this));
+        assertSame(HmacSignatureAlgorithm.HMAC_SHA256, provider.getKey("A", null, null).getAlgorithm());
+        // 指定算法时按该算法解析同一密钥
+        assertSame(SignatureAlgorithms.MD5, provider.getKey("A", null, SignatureAlgorithms.MD5).getAlgorithm());
+        assertFalse(provider.contains("B"));
+        assertNull(provider.getKey("B", null, null));
+    }
+
+    @Test
+    public void keepKeysWhenRefreshFails() {
+        source.put("signature.secret-keys.A", "secret");
+        start();
+        SecretKeyProvider provider = context.getBean(SecretKeyProvider.class);
+        source.put("signature.algorithms.A", "UNKNOWN");
+        context.publishEvent(new SecretKeyRefreshEvent(this));
+        assertSame(SignatureAlgorithms.MD5, provider.getKey("A", null, null).getAlgorithm());
+    }
+
+    @Test
+    public void planWithServiceCodeFollowsRefreshedAlgorithm() throws Exception {
+        source.put("signature.secret-keys.A", "secret");
+        start();
+        SignaturePlan plan = context.getBean(SignaturePlanRegistry.class).getPlan(HeaderController.class.getMethod("handle"));
+        SignatureVerifier verifier = context.getBean(SignatureVerifier.class);
+        ClientSigner md5 = new ClientSigner("A", "secret");
+        ClientSigner hmac = new ClientSigner("A", null, "secret", "HMAC-SHA256");
+        verify(verifier, plan, md5.sign());
+
+        source.put("signature.algorithms.A", "HMAC-SHA256");
+        context.publishEvent(new SecretKeyRefreshEvent(this));
+        verify(verifier, plan, hmac.sign());
+        try {
+            verify(verifier, plan, md5.sign());
+            fail();
+        } catch (SignatureValidationException e) {
+            // 刷新后不再接受旧算法的签名
+        }
+    }
+
+    private static void verify(SignatureVerifier verifier, SignaturePlan plan, SignedFields fields) {
+        verifier.verify(plan, null, fields.getRequestId(), String.valueOf(fields.getTimestamp()), fields.getSignature(), null);
+    }
+
+    private void start() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class, HeaderController.class);
+        context.refresh();
+    }
+
+    @RestController
+    public static class HeaderController {
+
+        @GetMapping("/header")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.tao.reactive;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.tao.anno.SignatureChecker;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureModeEnum;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WebFlux 请求头模式在过滤器中校验，控制器在订阅或请求体信号中被调用时切面都能找到校验标记；
+ * 请求体模式暂存请求体至签名比较完成，超过上限时拒绝
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ReactiveSignatureWebFilterTest {
+
+    private static final ClientSigner SIGNER = new ClientSigner("A", "secret");
+
+    private AnnotationConfigReactiveWebApplicationContext context;
+
+    @After
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void verifyHeaders() {
+        WebTestClient client = client();
+        SignedFields fields = SIGNER.sign();
+        client.get().uri("/header")
+                .header("X-Request-Id", fields.getRequestId())
+                .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                .header("X-Signature", fields.getSignature())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+        client.get().uri("/header").exchange().expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void verifyHeadersWithRequestBody() {
+        WebTestClient client = client();
+        SignedFields fields = SIGNER.sign();
+        // 请求体在其他线程上分发，控制器在请求体解码完成的信号中调用
+        client.post().uri("/header-body")
+                .header("X-Request-Id", fields.getRequestId())
+                .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                .header("X-Signature", fields.getSignature())
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody("{\"name\":\"tao\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("tao");
+        client.post().uri("/header-body")
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody("{\"name\":\"tao\"}")
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void verifyBody() {
+        WebTestClient client = client();
+        byte[] body = bytes("{\"name\":\"tao\"}\n");
+        bodyRequest(client, "/body", body, body).expectStatus().isOk().expectBody(String.class).isEqualTo("tao");
+        bodyRequest(client, "/body", body, bytes("{\"name\":\"tom\"}\n")).expectStatus().is5xxServerError();
+        // 控制器未读取请求体时同样比较签名
+        bodyRequest(client, "/unread", body, body).expectStatus().isOk();
+        bodyRequest(client, "/unread", body, bytes("forged")).expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void rejectBodyOverLimit() {
+        WebTestClient client = client("signature.body.max-in-memory-size=16");
+        byte[] small = bytes("{\"name\":\"tao\"}");
+        byte[] large = bytes("{\"name\":\"taotaotaotao\"}");
+        bodyRequest(client, "/body", small, small).expectStatus().isOk();
+        bodyRequest(client, "/body", large, large).expectStatus().is5xxServerError()
+                .expectBody(String.class).value(value -> assertTrue(value, value.contains("请求体过大")));
+    }
+
+    private static WebTestClient.ResponseSpec bodyRequest(WebTestClient client, String uri, byte[] signedBody, byte[] sentBody) {
+        SignedFields fields = SIGNER.sign(signedBody, 0, signedBody.length);
+        return client.post().uri(uri)
+                .header("X-Request-Id", fields.getRequestId())
+                .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                .header("X-Signature", fields.getSignature())
+                .contentType(MediaType.APPLICATION_JSON)
+                .syncBody(sentBody)
+                .exchange();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private WebTestClient client(String... properties) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.secret-keys.A", "secret");
+        for (String property : properties) {
+            int index = property.indexOf('=');
+            source.put(property.substring(0, index), property.substring(index + 1));
+        }
+        context = new AnnotationConfigReactiveWebApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(WebConfig.class, SignatureAutoConfiguration.class, SignedController.class, AsyncBodyFilter.class);
+        context.refresh();
+        return WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class WebConfig {
+    }
+
+    /**
+     * 与 Netty 一致，请求体信号不在订阅处理链的线程上分发
+     */
+    static class AsyncBodyFilter implements WebFilter, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                @Override
+                public Flux<DataBuffer> getBody() {
+                    return super.getBody().publishOn(Schedulers.elastic());
+                }
+            };
+            return chain.filter(exchange.mutate().request(request).build());
+        }
+    }
+
+    @RestController
+    public static class SignedController {
+
+        @GetMapping("/header")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String header() {
+            return "ok";
+        }
+
+        @PostMapping("/header-body")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String headerBody(@RequestBody Map<String, Object> body) {
+            return String.valueOf(body.get("name"));
+        }
+
+        @PostMapping("/body")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.BODY)
+        public String body(@RequestBody Map<String, Object> body) {
+            return String.valueOf(body.get("name"));
+        }
+
+        @PostMapping("/unread")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.BODY)
+        public String unread() {
+            return "ok";
+        }
+    }
+}
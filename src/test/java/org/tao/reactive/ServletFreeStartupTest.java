@@ -0,0 +1,187 @@
+package org.tao.reactive;
+
+import org.junit.Test;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureModeEnum;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * 仅包含 WebFlux（Netty）的应用中不存在 Servlet API，切面与过滤器不能链接 Servlet 类型
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ServletFreeStartupTest {
+
+    @Test
+    public void verifyWithoutServletApi() throws Throwable {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader loader = new ServletHidingClassLoader(classpath())) {
+            thread.setContextClassLoader(loader);
+            Class<?> application = loader.loadClass(ReactiveApplication.class.getName());
+            assertNotSame(ReactiveApplication.class, application);
+            application.getMethod("run").invoke(null);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private static URL[] classpath() throws Exception {
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        List<URL> urls = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                urls.add(new File(entry).toURI().toURL());
+            }
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    /**
+     * 独立加载全部类，javax.servlet 包下的类均不可见
+     */
+    private static final class ServletHidingClassLoader extends URLClassLoader {
+
+        ServletHidingClassLoader(URL[] urls) {
+            super(urls, ClassLoader.getSystemClassLoader().getParent());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("javax.servlet.")) {
+                throw new ClassNotFoundException(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return name.startsWith("javax/servlet/") ? null : super.getResource(name);
+        }
+    }
+
+    /**
+     * 在隐藏 Servlet API 的类加载器中启动，覆盖请求头、请求体与参数模式
+     */
+    public static final class ReactiveApplication {
+
+        private ReactiveApplication() {
+        }
+
+        public static void run() {
+            Map<String, Object> source = new HashMap<>();
+            source.put("signature.secret-keys.A", "secret");
+            source.put("signature.throttle.enabled", "true");
+            AnnotationConfigReactiveWebApplicationContext context = new AnnotationConfigReactiveWebApplicationContext();
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+            context.register(WebConfig.class, SignatureAutoConfiguration.class, SignedController.class);
+            context.refresh();
+            try {
+                WebTestClient client = WebTestClient.bindToApplicationContext(context).build();
+                ClientSigner signer = new ClientSigner("A", "secret");
+
+                SignedFields fields = signer.sign();
+                client.get().uri("/header")
+                        .header("X-Request-Id", fields.getRequestId())
+                        .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                        .header("X-Signature", fields.getSignature())
+                        .exchange()
+                        .expectStatus().isOk();
+
+                byte[] body = "{\"name\":\"tao\"}".getBytes(StandardCharsets.UTF_8);
+                fields = signer.sign(body, 0, body.length);
+                client.post().uri("/body")
+                        .header("X-Request-Id", fields.getRequestId())
+                        .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                        .header("X-Signature", fields.getSignature())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(body)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBody(String.class).isEqualTo("tao");
+                client.post().uri("/body")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(body)
+                        .exchange()
+                        .expectStatus().is5xxServerError();
+
+                fields = signer.sign();
+                Map<String, Object> params = new HashMap<>();
+                params.put("requestId", fields.getRequestId());
+                params.put("timestamp", fields.getTimestamp());
+                params.put("signature", fields.getSignature());
+                client.post().uri("/params")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(params)
+                        .exchange()
+                        .expectStatus().isOk();
+                params.put("signature", "forged");
+                client.post().uri("/params")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .syncBody(params)
+                        .exchange()
+                        .expectStatus().is5xxServerError();
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class WebConfig {
+    }
+
+    @RestController
+    public static class SignedController {
+
+        @GetMapping("/header")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String header() {
+            return "ok";
+        }
+
+        @PostMapping("/body")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.BODY)
+        public String body(@RequestBody Map<String, Object> body) {
+            return String.valueOf(body.get("name"));
+        }
+
+        @PostMapping("/params")
+        @SignatureChecker(serviceCode = "A")
+        public String params(@RequestBody @SignatureParam Map<String, Object> params) {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.tao.replay;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.ReplayFailurePolicyEnum;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 集群防重放：多个节点通过 ReplayStore 共享 requestId，Bloom 过滤器只记录共享存储确认过的 requestId，
+ * 共享存储不可用时按 failurePolicy 处理，超时取消的写入不再发出；未注册 ReplayStore 时启动失败
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ClusterNonceStoreTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    private final List<ClusterNonceStore> stores = new ArrayList<>();
+
+    @After
+    public void destroy() throws InterruptedException {
+        for (ClusterNonceStore store : stores) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void shareRequestIdAcrossNodes() {
+        InMemoryReplayStore shared = new InMemoryReplayStore();
+        ClusterNonceStore first = store(replay(true), shared);
+        ClusterNonceStore second = store(replay(true), shared);
+        long now = System.currentTimeMillis();
+        assertEquals(NonceStore.Result.ACCEPTED, first.tryAcquire("A", "r1", now));
+        // 本节点见过的 requestId 由 Bloom 过滤器直接拒绝
+        assertEquals(NonceStore.Result.DUPLICATE, first.tryAcquire("A", "r1", now));
+        assertEquals(1, first.getBloomRejected());
+        // 其他节点由共享存储判断
+        assertEquals(NonceStore.Result.DUPLICATE, second.tryAcquire("A", "r1", now));
+        assertEquals(0, second.getBloomRejected());
+        assertEquals(NonceStore.Result.ACCEPTED, second.tryAcquire("B", "r1", now));
+        assertEquals(2, shared.size());
+    }
+
+    @Test
+    public void rejectDuplicateWithoutBloom() {
+        ClusterNonceStore store = store(replay(false), new InMemoryReplayStore());
+        long now = System.currentTimeMillis();
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "r1", now));
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "r1", now));
+        assertEquals(0, store.getBloomRejected());
+        assertEquals(10 * MINUTE, store.getWindowMillis());
+    }
+
+    @Test
+    public void rejectOutsideWindow() {
+        InMemoryReplayStore shared = new InMemoryReplayStore();
+        ClusterNonceStore store = store(replay(true), shared);
+        long now = System.currentTimeMillis();
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "past", now - 10 * MINUTE - 1000));
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "future", now + 5 * MINUTE + 1000));
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "far", Long.MIN_VALUE));
+        assertEquals(0, shared.size());
+    }
+
+    @Test
+    public void failClosedAllowsRetry() {
+        FailingReplayStore failing = new FailingReplayStore();
+        ClusterNonceStore store = store(replay(true), failing);
+        long now = System.currentTimeMillis();
+        failing.fail.set(true);
+        assertEquals(NonceStore.Result.UNAVAILABLE, store.tryAcquire("A", "r1", now));
+        assertEquals(1, store.getStoreFailures());
+        // 拒绝的请求不记录在 Bloom 过滤器中，存储恢复后可使用同一 requestId 重试
+        failing.fail.set(false);
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "r1", now));
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "r1", now));
+    }
+
+    @Test
+    public void failOpenRecordsLocally() {
+        FailingReplayStore failing = new FailingReplayStore();
+        SignatureProperties.Replay replay = replay(true);
+        replay.getCluster().setFailurePolicy(ReplayFailurePolicyEnum.FAIL_OPEN);
+        ClusterNonceStore store = store(replay, failing);
+        long now = System.currentTimeMillis();
+        failing.fail.set(true);
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "r1", now));
+        // 放行的 requestId 记录在本节点，本节点内的重放依然被拒绝
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "r1", now));
+        assertEquals(1, store.getBloomRejected());
+        assertEquals(1, store.getStoreFailures());
+    }
+
+    @Test
+    public void timedOutWritesAreCancelled() throws Exception {
+        BlockingReplayStore blocking = new BlockingReplayStore();
+        SignatureProperties.Replay replay = replay(true);
+        replay.getCluster().setPipelines(1);
+        ClusterNonceStore store = store(replay, blocking);
+        long now = System.currentTimeMillis();
+        try {
+            // r1 已发出，共享存储在超时后才返回
+            assertEquals(NonceStore.Result.UNAVAILABLE, store.tryAcquire("A", "r1", now));
+            assertTrue(blocking.entered.await(10, TimeUnit.SECONDS));
+            // r2 仍在队列中等待，超时后取消
+            assertEquals(NonceStore.Result.UNAVAILABLE, store.tryAcquire("A", "r2", now));
+        } finally {
+            blocking.release.countDown();
+        }
+        assertEquals(2, store.getStoreFailures());
+        // 取消的 r2 未写入共享存储，可使用同一 requestId 重试
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "r2", now));
+        // 已发出的写入无法撤销，重试按重放处理
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "r1", now));
+        assertEquals(2, blocking.delegate.size());
+    }
+
+    @Test
+    public void startupRequiresReplayStore() {
+        try (AnnotationConfigApplicationContext context = context()) {
+            context.refresh();
+            fail();
+        } catch (BeanCreationException e) {
+            assertTrue(e.getMostSpecificCause() instanceof IllegalStateException);
+        }
+
+        try (AnnotationConfigApplicationContext context = context()) {
+            context.register(ReplayStoreConfig.class);
+            context.refresh();
+            assertTrue(context.getBean(NonceStore.class) instanceof ClusterNonceStore);
+        }
+    }
+
+    private static AnnotationConfigApplicationContext context() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.secret-keys.A", "secret");
+        source.put("signature.replay.enabled", "true");
+        source.put("signature.replay.cluster.enabled", "true");
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class);
+        return context;
+    }
+
+    private ClusterNonceStore store(SignatureProperties.Replay replay, ReplayStore replayStore) {
+        ClusterNonceStore store = new ClusterNonceStore(replay, replayStore);
+        stores.add(store);
+        return store;
+    }
+
+    private static SignatureProperties.Replay replay(boolean bloom) {
+        SignatureProperties.Replay replay = LocalNonceStoreTest.replay(10, 10, 100000);
+        replay.getCluster().setEnabled(true);
+        replay.getCluster().setBloomEnabled(bloom);
+        replay.getCluster().setTimeoutMillis(200);
+        return replay;
+    }
+
+    @Configuration
+    static class ReplayStoreConfig {
+
+        @Bean
+        public InMemoryReplayStore replayStore() {
+            return new InMemoryReplayStore();
+        }
+    }
+
+    private static final class FailingReplayStore implements ReplayStore {
+
+        private final InMemoryReplayStore delegate = new InMemoryReplayStore();
+        private final AtomicBoolean fail = new AtomicBoolean();
+
+        @Override
+        public boolean[] putIfAbsent(String[] keys, long[] ttlMillis) {
+            if (fail.get()) {
+                throw new IllegalStateException("connection refused");
+            }
+            return delegate.putIfAbsent(keys, ttlMillis);
+        }
+    }
+
+    /**
+     * 首次调用阻塞到 release，之后直接写入
+     */
+    private static final class BlockingReplayStore implements ReplayStore {
+
+        private final InMemoryReplayStore delegate = new InMemoryReplayStore();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicBoolean blocked = new AtomicBoolean();
+
+        @Override
+        public boolean[] putIfAbsent(String[] keys, long[] ttlMillis) throws InterruptedException {
+            if (blocked.compareAndSet(false, true)) {
+                entered.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            return delegate.putIfAbsent(keys, ttlMillis);
+        }
+    }
+}
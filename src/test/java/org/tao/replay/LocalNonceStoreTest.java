@@ -0,0 +1,129 @@
+package org.tao.replay;
+
+import org.junit.Test;
+import org.tao.config.SignatureProperties;
+import org.tao.enums.ReplayOverflowPolicyEnum;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 时间桶防重放：窗口内重复拒绝，窗口外（过早或超前）的时间戳既不放行也不影响窗口内的桶
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class LocalNonceStoreTest {
+
+    private static final long MINUTE = 60 * 1000L;
+
+    @Test
+    public void rejectDuplicate() {
+        LocalNonceStore store = new LocalNonceStore(replay(10, 10, 1000000));
+        long now = System.currentTimeMillis();
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "r1", now));
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "r1", now));
+        // 服务编码不同视为不同请求
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("B", "r1", now));
+        assertEquals(10 * MINUTE, store.getWindowMillis());
+    }
+
+    @Test
+    public void rejectOutsideWindow() {
+        LocalNonceStore store = new LocalNonceStore(replay(10, 10, 1000000));
+        long now = System.currentTimeMillis();
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "past", now - 10 * MINUTE - 1000));
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "future", now + 5 * MINUTE + 1000));
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "far", Long.MAX_VALUE));
+        assertEquals(NonceStore.Result.OUT_OF_WINDOW, store.tryAcquire("A", "far", Long.MIN_VALUE));
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "edge", now - 10 * MINUTE + 1000));
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "skew", now + 5 * MINUTE - 1000));
+    }
+
+    @Test
+    public void futureTimestampsKeepLiveBuckets() {
+        LocalNonceStore store = new LocalNonceStore(replay(10, 10, 1000000));
+        long now = System.currentTimeMillis();
+        long old = now - 9 * MINUTE;
+        assertEquals(NonceStore.Result.ACCEPTED, store.tryAcquire("A", "live", old));
+        // 超前的时间戳（允许偏差内及超出偏差）遍历环形数组的每个槽位
+        for (long timestamp = now; timestamp < now + 60 * MINUTE; timestamp += 1000) {
+            store.tryAcquire("A", "future-" + timestamp, timestamp);
+        }
+        assertEquals(NonceStore.Result.DUPLICATE, store.tryAcquire("A", "live", old));
+    }
+
+    @Test
+    public void overflowPolicy() {
+        // 1 分钟窗口、10 秒一桶，加上 5 分钟偏差共 37 个桶，每桶容量为 1
+        SignatureProperties.Replay replay = replay(1, 10, 37);
+        long now = System.currentTimeMillis();
+        LocalNonceStore reject = new LocalNonceStore(replay);
+        assertEquals(NonceStore.Result.ACCEPTED, reject.tryAcquire("A", "r1", now));
+        assertEquals(NonceStore.Result.OVERFLOW, reject.tryAcquire("A", "r2", now));
+
+        replay.setOverflowPolicy(ReplayOverflowPolicyEnum.ALLOW);
+        LocalNonceStore allow = new LocalNonceStore(replay);
+        assertEquals(NonceStore.Result.ACCEPTED, allow.tryAcquire("A", "r1", now));
+        assertEquals(NonceStore.Result.ACCEPTED, allow.tryAcquire("A", "r2", now));
+        // 放行但未记录
+        assertEquals(NonceStore.Result.ACCEPTED, allow.tryAcquire("A", "r2", now));
+        assertEquals(NonceStore.Result.DUPLICATE, allow.tryAcquire("A", "r1", now));
+    }
+
+    @Test
+    public void concurrentAcquireAcceptsOnce() throws Exception {
+        LocalNonceStore store = new LocalNonceStore(replay(10, 10, 1000000));
+        long now = System.currentTimeMillis();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String requestId = "r" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(threads);
+                AtomicInteger accepted = new AtomicInteger();
+                for (int i = 0; i < threads; i++) {
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            if (store.tryAcquire("A", requestId, now) == NonceStore.Result.ACCEPTED) {
+                                accepted.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                assertTrue(done.await(10, TimeUnit.SECONDS));
+                assertEquals(requestId, 1, accepted.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectInvalidConfig() {
+        new LocalNonceStore(replay(0, 10, 1000));
+    }
+
+    static SignatureProperties.Replay replay(int windowMinutes, int bucketSeconds, int capacity) {
+        SignatureProperties.Replay replay = new SignatureProperties.Replay();
+        replay.setEnabled(true);
+        replay.setWindowMinutes(windowMinutes);
+        replay.setBucketSeconds(bucketSeconds);
+        replay.setCapacity(capacity);
+        return replay;
+    }
+}
@@ -0,0 +1,137 @@
+package org.tao.replay;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 写入合并：上一批往返期间到达的请求合并为下一批（不超过 batchSize），结果按 key 顺序返回，
+ * 存储异常或结果数量不符时整批失败，关闭时队列中的请求失败
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class ReplayPipelineTest {
+
+    private ReplayPipeline pipeline;
+
+    @After
+    public void shutdown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    public void mergeQueuedWrites() throws Exception {
+        RecordingStore store = new RecordingStore();
+        pipeline = new ReplayPipeline(store, 4, 16, 1);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        futures.add(pipeline.submit("k0", 1000));
+        assertTrue(store.entered.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 6; i++) {
+            futures.add(pipeline.submit(i % 2 == 0 ? "dup" + i : "k" + i, 1000));
+        }
+        store.release.countDown();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i % 2 == 0 && i > 0 ? Boolean.FALSE : Boolean.TRUE, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        // 首个 key 单独写入，阻塞期间到达的 6 个 key 按 batchSize 分为两批
+        assertEquals(Arrays.asList(1, 4, 2), store.batchSizes);
+    }
+
+    @Test
+    public void rejectWhenQueueFull() throws Exception {
+        RecordingStore store = new RecordingStore();
+        pipeline = new ReplayPipeline(store, 4, 2, 1);
+        CompletableFuture<Boolean> first = pipeline.submit("k0", 1000);
+        assertTrue(store.entered.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> second = pipeline.submit("k1", 1000);
+        CompletableFuture<Boolean> third = pipeline.submit("k2", 1000);
+        assertNull(pipeline.submit("k3", 1000));
+        store.release.countDown();
+        assertTrue(first.get(10, TimeUnit.SECONDS) && second.get(10, TimeUnit.SECONDS) && third.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failWholeBatch() throws Exception {
+        pipeline = new ReplayPipeline((keys, ttlMillis) -> new boolean[keys.length - 1], 4, 16, 1);
+        CompletableFuture<Boolean> future = pipeline.submit("k0", 1000);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void skipCancelledWrites() throws Exception {
+        RecordingStore store = new RecordingStore();
+        pipeline = new ReplayPipeline(store, 4, 16, 1);
+        CompletableFuture<Boolean> first = pipeline.submit("k0", 1000);
+        assertTrue(store.entered.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> cancelled = pipeline.submit("k1", 1000);
+        CompletableFuture<Boolean> kept = pipeline.submit("k2", 1000);
+        assertTrue(cancelled.cancel(false));
+        store.release.countDown();
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertTrue(kept.get(10, TimeUnit.SECONDS));
+        assertFalse(store.keys.contains("k1"));
+        assertEquals(Arrays.asList(1, 1), store.batchSizes);
+    }
+
+    @Test
+    public void failPendingOnShutdown() throws Exception {
+        RecordingStore store = new RecordingStore();
+        pipeline = new ReplayPipeline(store, 4, 16, 1);
+        CompletableFuture<Boolean> first = pipeline.submit("k0", 1000);
+        assertTrue(store.entered.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = pipeline.submit("k1", 1000);
+        pipeline.shutdown();
+        pipeline = null;
+        // 进行中的批次被中断，队列中的请求不再写入
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(queued.isCompletedExceptionally());
+        assertFalse(store.keys.contains("k1"));
+    }
+
+    /**
+     * 记录每批的 key 数量，首次调用阻塞到 release；以 dup 开头的 key 视为已存在
+     */
+    private static final class RecordingStore implements ReplayStore {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<String> keys = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean[] putIfAbsent(String[] keys, long[] ttlMillis) throws InterruptedException {
+            entered.countDown();
+            release.await();
+            batchSizes.add(keys.length);
+            this.keys.addAll(Arrays.asList(keys));
+            boolean[] results = new boolean[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                results[i] = !keys[i].startsWith("dup");
+            }
+            return results;
+        }
+    }
+}
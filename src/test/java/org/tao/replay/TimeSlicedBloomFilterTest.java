@@ -0,0 +1,73 @@
+package org.tao.replay;
+
+import org.junit.Test;
+import org.tao.consts.SignatureConst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按时间戳分片的 Bloom 过滤器：写入的 requestId 一定命中，其他分片与窗口外的时间戳不命中，误判率接近配置值
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class TimeSlicedBloomFilterTest {
+
+    private static final long SLICE = 10 * 1000L;
+    private static final long WINDOW = 10 * 60 * 1000L;
+
+    @Test
+    public void containAfterPut() {
+        TimeSlicedBloomFilter filter = new TimeSlicedBloomFilter(SLICE, WINDOW, 100000, 0.000001);
+        long now = System.currentTimeMillis();
+        assertFalse(filter.mightContain("A", "r1", now));
+        filter.put("A", "r1", now);
+        assertTrue(filter.mightContain("A", "r1", now));
+        // 同一请求被重放时时间戳不变，只在该时间戳所在的分片判断
+        assertFalse(filter.mightContain("A", "r1", now - 2 * SLICE));
+        assertFalse(filter.mightContain("B", "r1", now));
+        assertFalse(filter.mightContain("A", "r2", now));
+    }
+
+    @Test
+    public void ignoreOutsideWindow() {
+        TimeSlicedBloomFilter filter = new TimeSlicedBloomFilter(SLICE, WINDOW, 100000, 0.000001);
+        long now = System.currentTimeMillis();
+        long[] timestamps = {now - WINDOW - 1000, now + SignatureConst.MAX_CLOCK_SKEW_MILLIS + 1000, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long timestamp : timestamps) {
+            filter.put("A", "r1", timestamp);
+            assertFalse(filter.mightContain("A", "r1", timestamp));
+        }
+        // 窗口外的时间戳不会替换仍在窗口内的分片
+        filter.put("A", "live", now);
+        filter.put("A", "far", now + WINDOW);
+        assertTrue(filter.mightContain("A", "live", now));
+    }
+
+    @Test
+    public void falsePositiveRate() {
+        double fpp = 0.01;
+        TimeSlicedBloomFilter filter = new TimeSlicedBloomFilter(SLICE, WINDOW, 1000000, fpp);
+        assertEquals((WINDOW + SignatureConst.MAX_CLOCK_SKEW_MILLIS + SLICE - 1) / SLICE + 1, filter.getSliceCount());
+        // 容量按分片平均分配，写满一个分片
+        int perSlice = 1000000 / filter.getSliceCount();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < perSlice; i++) {
+            filter.put("A", "r" + i, now);
+        }
+        for (int i = 0; i < perSlice; i++) {
+            assertTrue(filter.mightContain("A", "r" + i, now));
+        }
+        int probes = 100000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("A", "other" + i, now)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives => " + falsePositives, falsePositives < probes * fpp * 2);
+    }
+}
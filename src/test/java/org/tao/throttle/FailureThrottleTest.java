@@ -0,0 +1,78 @@
+package org.tao.throttle;
+
+import org.junit.Test;
+import org.tao.config.SignatureProperties;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 窗口内失败次数达到阈值后封禁，封禁按 服务编码 + 调用方 区分，窗口与封禁到期后恢复
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class FailureThrottleTest {
+
+    @Test
+    public void blockAfterThreshold() {
+        FailureThrottle throttle = new FailureThrottle(throttle(3, 60, 300));
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+        assertFalse(throttle.isBlocked("A", "1.1.1.1"));
+        assertTrue(throttle.recordFailure("A", "1.1.1.1"));
+        assertTrue(throttle.isBlocked("A", "1.1.1.1"));
+        // 封禁期间的失败不再计数
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+
+        assertFalse(throttle.isBlocked("A", "2.2.2.2"));
+        assertFalse(throttle.isBlocked("B", "1.1.1.1"));
+        assertFalse(throttle.isBlocked(null, null));
+    }
+
+    @Test
+    public void recoverAfterWindowAndBlock() throws Exception {
+        FailureThrottle throttle = new FailureThrottle(throttle(2, 1, 1));
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+        Thread.sleep(2100);
+        // 窗口已过期，重新计数
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+        assertTrue(throttle.recordFailure("A", "1.1.1.1"));
+        assertTrue(throttle.isBlocked("A", "1.1.1.1"));
+        Thread.sleep(2100);
+        assertFalse(throttle.isBlocked("A", "1.1.1.1"));
+        assertFalse(throttle.recordFailure("A", "1.1.1.1"));
+    }
+
+    @Test
+    public void reuseRejectionPerReturnType() {
+        FailureThrottle throttle = new FailureThrottle(throttle(3, 60, 300));
+        assertSame(throttle.rejection("json"), throttle.rejection("json"));
+        assertNotSame(throttle.rejection("json"), throttle.rejection("xml"));
+    }
+
+    @Test
+    public void fingerprintSeparatesServiceAndClient() {
+        assertNotEquals(FailureThrottle.fingerprint("ab", "c"), FailureThrottle.fingerprint("a", "bc"));
+        assertNotEquals(FailureThrottle.fingerprint("A", null), FailureThrottle.fingerprint(null, "A"));
+        assertNotEquals(0L, FailureThrottle.fingerprint(null, null));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectInvalidConfig() {
+        new FailureThrottle(throttle(0, 60, 300));
+    }
+
+    static SignatureProperties.Throttle throttle(int threshold, int windowSeconds, int blockSeconds) {
+        SignatureProperties.Throttle throttle = new SignatureProperties.Throttle();
+        throttle.setEnabled(true);
+        throttle.setThreshold(threshold);
+        throttle.setWindowSeconds(windowSeconds);
+        throttle.setBlockSeconds(blockSeconds);
+        return throttle;
+    }
+}
@@ -0,0 +1,134 @@
+package org.tao.verify;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.anno.SignatureChecker;
+import org.tao.anno.SignatureParam;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureFailureReasonEnum;
+import org.tao.enums.SignatureParamTypeEnum;
+import org.tao.exception.SignatureValidationException;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
+import org.tao.throttle.ClientAddress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 批量验签：串行与并行校验结果一致，并行校验时工作线程使用请求线程的调用方地址判断限流
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class BatchVerificationTest {
+
+    private static final ClientSigner SIGNER = new ClientSigner("A", "secret");
+
+    private AnnotationConfigApplicationContext context;
+
+    @After
+    public void close() {
+        ClientAddress.unbind();
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void sequentialAndParallelResultsMatch() throws Exception {
+        start();
+        SignatureVerifier verifier = context.getBean(SignatureVerifier.class);
+        SignaturePlan plan = plan();
+        for (int size : new int[]{3, 200}) {
+            List<Map<String, Object>> items = items(size);
+            items.get(1).put("signature", "forged");
+            items.get(size - 1).remove("timestamp");
+            SignatureBatchResult result = verifier.verifyAll(plan, null, items, false);
+            assertEquals(size, result.size());
+            assertEquals(2, result.getFailedCount());
+            assertEquals(1, result.getFirstFailureIndex());
+            assertEquals(SignatureFailureReasonEnum.MISSING_FIELDS, result.getFailure(size - 1).getReason());
+            assertTrue(result.isPassed(0));
+        }
+    }
+
+    @Test
+    public void parallelBatchHonoursThrottle() throws Exception {
+        start("signature.throttle.enabled=true", "signature.throttle.threshold=2");
+        SignatureVerifier verifier = context.getBean(SignatureVerifier.class);
+        SignaturePlan plan = plan();
+        ClientAddress.bind("1.2.3.4");
+        for (int i = 0; i < 2; i++) {
+            SignedFields fields = SIGNER.sign();
+            try {
+                verifier.verify(plan, null, fields.getRequestId(), String.valueOf(fields.getTimestamp()), "forged", null);
+                fail();
+            } catch (SignatureValidationException e) {
+                // 计入限流
+            }
+        }
+        SignatureBatchResult result = verifier.verifyAll(plan, null, items(200), false);
+        assertEquals(200, result.getFailedCount());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(SignatureFailureReasonEnum.THROTTLED, result.getFailure(i).getReason());
+        }
+        // 其他调用方不受影响
+        ClientAddress.bind("5.6.7.8");
+        assertTrue(verifier.verifyAll(plan, null, items(200), false).isAllPassed());
+    }
+
+    private SignaturePlan plan() throws Exception {
+        return context.getBean(SignaturePlanRegistry.class).getPlan(BatchController.class.getMethod("handle", List.class));
+    }
+
+    private static List<Map<String, Object>> items(int size) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SignedFields fields = SIGNER.sign();
+            Map<String, Object> item = new HashMap<>();
+            item.put("requestId", fields.getRequestId());
+            item.put("timestamp", fields.getTimestamp());
+            item.put("signature", fields.getSignature());
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void start(String... properties) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.secret-keys.A", "secret");
+        source.put("signature.batch.parallel-threshold", "16");
+        for (String property : properties) {
+            int index = property.indexOf('=');
+            source.put(property.substring(0, index), property.substring(index + 1));
+        }
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class, BatchController.class);
+        context.refresh();
+    }
+
+    @RestController
+    public static class BatchController {
+
+        @PostMapping("/batch")
+        @SignatureChecker(serviceCode = "A")
+        public String handle(@SignatureParam(type = SignatureParamTypeEnum.BATCH) List<Map<String, Object>> items) {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.tao.verify;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tao.algorithm.VerifiedSignatureCache;
+import org.tao.anno.SignatureChecker;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.exception.SignatureValidationException;
+import org.tao.plan.SignaturePlan;
+import org.tao.plan.SignaturePlanRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 验签缓存属于各自的应用上下文，由 SignatureVerifier 传给公钥算法的摘要器，上下文之间互不共享
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class VerifiedSignatureCacheTest {
+
+    private static final String REQUEST_ID = "r1";
+    private static final long TIMESTAMP = 1L;
+
+    private final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+
+    @After
+    public void close() {
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    public void cachePerContext() throws Exception {
+        KeyPair pair = keyPair();
+        String signature = sign(pair, REQUEST_ID + TIMESTAMP);
+        AnnotationConfigApplicationContext first = start(pair, true);
+        AnnotationConfigApplicationContext second = start(pair, true);
+        VerifiedSignatureCache firstCache = first.getBean(VerifiedSignatureCache.class);
+        VerifiedSignatureCache secondCache = second.getBean(VerifiedSignatureCache.class);
+
+        verify(first, signature);
+        verify(first, signature);
+        assertEquals(1, firstCache.getMisses());
+        assertEquals(1, firstCache.getHits());
+        assertEquals(0, secondCache.getMisses() + secondCache.getHits());
+
+        // 另一个上下文不会命中前一个上下文缓存的结果
+        verify(second, signature);
+        assertEquals(1, secondCache.getMisses());
+        assertEquals(0, secondCache.getHits());
+        assertEquals(1, firstCache.getHits());
+    }
+
+    @Test
+    public void verifyWithoutCache() throws Exception {
+        KeyPair pair = keyPair();
+        AnnotationConfigApplicationContext context = start(pair, false);
+        // 其他上下文开启缓存不影响本上下文
+        start(pair, true);
+        assertEquals(0, context.getBeansOfType(VerifiedSignatureCache.class).size());
+        verify(context, sign(pair, REQUEST_ID + TIMESTAMP));
+        try {
+            verify(context, sign(pair, "forged"));
+            fail();
+        } catch (SignatureValidationException e) {
+            // 签名与消息不匹配
+        }
+    }
+
+    private static void verify(AnnotationConfigApplicationContext context, String signature) throws Exception {
+        SignaturePlan plan = context.getBean(SignaturePlanRegistry.class).getPlan(HeaderController.class.getMethod("handle"));
+        context.getBean(SignatureVerifier.class).verify(plan, null, REQUEST_ID, String.valueOf(TIMESTAMP), signature, null);
+    }
+
+    private AnnotationConfigApplicationContext start(KeyPair pair, boolean cache) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.public-keys.A", Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+        source.put("signature.algorithms.A", "ECDSA-SHA256");
+        source.put("signature.expire-minutes", "0");
+        source.put("signature.verified-cache.enabled", String.valueOf(cache));
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        contexts.add(context);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(SignatureAutoConfiguration.class, HeaderController.class);
+        context.refresh();
+        return context;
+    }
+
+    private static KeyPair keyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String sign(KeyPair pair, String message) throws Exception {
+        Signature signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(pair.getPrivate());
+        signer.update(message.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signer.sign());
+    }
+
+    @RestController
+    public static class HeaderController {
+
+        @GetMapping("/header")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String handle() {
+            return "ok";
+        }
+    }
+}
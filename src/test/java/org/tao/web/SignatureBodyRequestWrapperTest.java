@@ -0,0 +1,115 @@
+package org.tao.web;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.tao.anno.SignatureChecker;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.enums.SignatureModeEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 请求体模式：消息转换器读取请求体时计算摘要，未读完或未读取的字节由切面补齐，请求体被篡改或未经过过滤器时拒绝
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureBodyRequestWrapperTest {
+
+    private static final ClientSigner SIGNER = new ClientSigner("A", "secret");
+
+    private AnnotationConfigWebApplicationContext context;
+
+    @After
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void verifyBody() throws Exception {
+        MockMvc mvc = mvc(true);
+        byte[] body = bytes("{\"name\":\"tao\"}");
+        mvc.perform(signed("/body", body, body)).andExpect(status().isOk()).andExpect(content().string("tao"));
+        mvc.perform(signed("/body", body, bytes("{\"name\":\"tom\"}"))).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void digestUnreadTrailingBytes() throws Exception {
+        MockMvc mvc = mvc(true);
+        // 消息转换器解析完 JSON 后不再读取末尾空白
+        byte[] body = bytes("{\"name\":\"tao\"}\n\n  ");
+        mvc.perform(signed("/body", body, body)).andExpect(status().isOk());
+        mvc.perform(signed("/body", body, bytes("{\"name\":\"tao\"}\n\n  x"))).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void digestBodyNotReadByController() throws Exception {
+        MockMvc mvc = mvc(true);
+        byte[] body = bytes("payload");
+        mvc.perform(signed("/unread", body, body)).andExpect(status().isOk());
+        mvc.perform(signed("/unread", body, bytes("forged"))).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void rejectWithoutFilter() throws Exception {
+        MockMvc mvc = mvc(false);
+        byte[] body = bytes("{\"name\":\"tao\"}");
+        mvc.perform(signed("/body", body, body)).andExpect(status().isInternalServerError());
+    }
+
+    private MockMvc mvc(boolean filter) {
+        context = SignatureInterceptorTest.start(BodyController.class);
+        FilterRegistrationBean<?> registration = context.getBean("signatureBodyFilter", FilterRegistrationBean.class);
+        return filter
+                ? MockMvcBuilders.webAppContextSetup(context).addFilters(registration.getFilter()).build()
+                : MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    private static MockHttpServletRequestBuilder signed(String uri, byte[] signedBody, byte[] sentBody) {
+        SignedFields fields = SIGNER.sign(signedBody, 0, signedBody.length);
+        return post(uri)
+                .header("X-Request-Id", fields.getRequestId())
+                .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                .header("X-Signature", fields.getSignature())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(sentBody);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @RestController
+    public static class BodyController {
+
+        @PostMapping("/body")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.BODY)
+        public String body(@RequestBody Map<String, Object> body) {
+            return String.valueOf(body.get("name"));
+        }
+
+        @PostMapping("/unread")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.BODY)
+        public String unread() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.tao.web;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.tao.anno.SignatureChecker;
+import org.tao.client.ClientSigner;
+import org.tao.client.SignedFields;
+import org.tao.config.SignatureAutoConfiguration;
+import org.tao.enums.SignatureModeEnum;
+import org.tao.exception.GlobalExceptionHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 请求头模式由拦截器校验，拦截器未执行时切面拒绝请求，拦截器重复注册时同一请求只校验一次
+ *
+ * @author: handsometaoa
+ * @description
+ * @date: 2025/3/29 11:00
+ */
+public class SignatureInterceptorTest {
+
+    private static final ClientSigner SIGNER = new ClientSigner("A", "secret");
+
+    private AnnotationConfigWebApplicationContext context;
+
+    @After
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void verifyHeaders() throws Exception {
+        context = start(HeaderController.class);
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        mvc.perform(signed(SIGNER.sign())).andExpect(status().isOk()).andExpect(content().string("ok"));
+        mvc.perform(get("/header")).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void aspectRejectsWithoutInterceptor() throws Exception {
+        context = start(HeaderController.class);
+        // 独立构建的 MockMvc 不包含 WebMvcConfigurer 注册的拦截器，合法请求也由切面拒绝
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(context.getBean(HeaderController.class))
+                .setControllerAdvice(context.getBean(GlobalExceptionHandler.class))
+                .build();
+        mvc.perform(signed(SIGNER.sign())).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void customInterceptorVerifiesOnce() throws Exception {
+        context = start(CustomInterceptorConfig.class, "signature.replay.enabled=true");
+        MockMvc mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        SignedFields fields = SIGNER.sign();
+        // 自定义拦截器由自动配置与业务配置各注册一次，不会把同一请求判定为重放
+        mvc.perform(signed(fields)).andExpect(status().isOk());
+        mvc.perform(signed(fields)).andExpect(status().isInternalServerError());
+    }
+
+    private static MockHttpServletRequestBuilder signed(SignedFields fields) {
+        return get("/header")
+                .header("X-Request-Id", fields.getRequestId())
+                .header("X-Timestamp", String.valueOf(fields.getTimestamp()))
+                .header("X-Signature", fields.getSignature());
+    }
+
+    static AnnotationConfigWebApplicationContext start(Class<?> config, String... properties) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("signature.secret-keys.A", "secret");
+        for (String property : properties) {
+            int index = property.indexOf('=');
+            source.put(property.substring(0, index), property.substring(index + 1));
+        }
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", source));
+        context.register(WebConfig.class, SignatureAutoConfiguration.class, HeaderController.class, config);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class WebConfig {
+    }
+
+    @Configuration
+    static class CustomInterceptorConfig implements WebMvcConfigurer {
+
+        @Bean
+        public SignatureInterceptor customSignatureInterceptor() {
+            return new SignatureInterceptor();
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(customSignatureInterceptor());
+        }
+    }
+
+    @RestController
+    public static class HeaderController {
+
+        @GetMapping("/header")
+        @SignatureChecker(serviceCode = "A", mode = SignatureModeEnum.HEADER)
+        public String handle() {
+            return "ok";
+        }
+    }
+}